@@ -20,11 +20,20 @@
 	private DateTimeConverterOptions options;
 	private TimestampHandler<T> timestampHandler;
 	private TemporalQuery<T> query;
+	private Iso8601Codec<T> isoCodec;
 
 	BaseTemporalAccessorConverter(DateTimeConverterOptions options, TimestampHandler<T> timestampHandler, TemporalQuery<T> query) {
+		this(options, timestampHandler, query, null);
+	}
+
+	/**
+	 * @param isoCodec used instead of the formatter when not null, it should be provided only when the default ISO formatter is in use
+	 */
+	BaseTemporalAccessorConverter(DateTimeConverterOptions options, TimestampHandler<T> timestampHandler, TemporalQuery<T> query, Iso8601Codec<T> isoCodec) {
 		this.options = options;
 		this.timestampHandler = timestampHandler;
 		this.query = query;
+		this.isoCodec = isoCodec;
 	}
 
 	@Override
@@ -45,7 +54,14 @@ public void serialize(T object, ObjectWriter writer, Context ctx) {
 			}
 		}
 		else{
-			writer.writeValue(options.getDateTimeFormatter().format(object));
+			char[] value = isoCodec == null ? null : isoCodec.format(object);
+			if(value != null){
+				// ISO-8601 values contain no char that must be escaped, the chars are written as is
+				writer.writeEscapedValue(value);
+			}
+			else{
+				writer.writeValue(options.getDateTimeFormatter().format(object));
+			}
 		}
 	}
 
@@ -68,7 +84,10 @@ public T deserialize(ObjectReader reader, Context ctx) {
 			}
 		}
 		else{
-			obj = options.getDateTimeFormatter().parse(reader.valueAsString(), query);
+			obj = isoCodec == null ? null : isoCodec.parse(reader.valueAsCharSequence());
+			if(obj == null){
+				obj = options.getDateTimeFormatter().parse(reader.valueAsString(), query);
+			}
 			if(obj instanceof OffsetDateTime){
 				obj = (T) DateTimeUtil.correctOffset((OffsetDateTime) obj, options.getZoneId());
 			}
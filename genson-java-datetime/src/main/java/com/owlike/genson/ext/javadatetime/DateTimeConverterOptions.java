@@ -6,6 +6,7 @@
 
 class DateTimeConverterOptions {
 	private final DateTimeFormatter dateTimeFormatter;
+	private final DateTimeFormatter sourceFormatter;
 	private final boolean asTimestamp;
 	private final TimestampFormat timestampFormat;
 	private final ZoneId zoneId;
@@ -19,6 +20,7 @@ class DateTimeConverterOptions {
 	 * @param zoneId The default {@link ZoneId} to use when parsing
 	 */
 	DateTimeConverterOptions(Class<?> clazz, DateTimeFormatter dateTimeFormatter, boolean asTimestamp, TimestampFormat timestampFormat, ZoneId zoneId) {
+		this.sourceFormatter = dateTimeFormatter;
 		this.dateTimeFormatter = dateTimeFormatter == null ? null : DateTimeUtil.createFormatterWithDefaults(dateTimeFormatter, zoneId);
 		this.asTimestamp = asTimestamp;
 		this.timestampFormat = timestampFormat;
@@ -30,6 +32,13 @@ public DateTimeFormatter getDateTimeFormatter() {
 		return dateTimeFormatter;
 	}
 
+	/**
+	 * @return true if the formatter that has been configured (before applying the parsing defaults) is formatter
+	 */
+	boolean usesFormatter(DateTimeFormatter formatter) {
+		return sourceFormatter == formatter;
+	}
+
 	public boolean isAsTimestamp() {
 		return asTimestamp;
 	}
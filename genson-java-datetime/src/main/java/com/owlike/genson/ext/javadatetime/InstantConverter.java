@@ -1,6 +1,7 @@
 package com.owlike.genson.ext.javadatetime;
 
 import java.time.Instant;
+import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoField;
 import java.time.temporal.TemporalField;
 import java.util.LinkedHashMap;
@@ -10,7 +11,8 @@
  */
 class InstantConverter extends BaseTemporalAccessorConverter<Instant> {
 	InstantConverter(DateTimeConverterOptions options) {
-		super(options, new InstantTimestampHandler(options), Instant::from);
+		super(options, new InstantTimestampHandler(options), Instant::from,
+				options.usesFormatter(DateTimeFormatter.ISO_INSTANT) ? Iso8601Codec.INSTANT : null);
 	}
 
 	private static class InstantTimestampHandler extends TimestampHandler<Instant> {
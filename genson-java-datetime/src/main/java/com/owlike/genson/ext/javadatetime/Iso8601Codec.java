@@ -0,0 +1,407 @@
+package com.owlike.genson.ext.javadatetime;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.time.zone.ZoneRules;
+
+/**
+ * Fixed layout ISO-8601 encoder/decoder used instead of the default {@link DateTimeFormatter}s
+ * (ISO_INSTANT, ISO_LOCAL_DATE_TIME and ISO_OFFSET_DATE_TIME).
+ *
+ * <p>Values are written to and read from chars directly, without going through the generic formatter
+ * machinery. The output is the same as the one of the corresponding formatter, {@link #format} returns it
+ * in an array of the exact length that the converter writes as is with
+ * {@link com.owlike.genson.stream.ObjectWriter#writeEscapedValue(char[])}. Only the common layout is handled (years 0 to 9999, upper case separators, valid field values), {@link #format} and {@link #parse}
+ * return null for anything else and the converter falls back to the formatter, which also takes care of
+ * reporting the errors.</p>
+ */
+abstract class Iso8601Codec<T extends TemporalAccessor> {
+	private static final long SECONDS_PER_DAY = 86400L;
+	private static final long NANOS_PER_SECOND = 1_000_000_000L;
+	private static final long NANOS_PER_MINUTE = 60 * NANOS_PER_SECOND;
+	private static final long NANOS_PER_HOUR = 60 * NANOS_PER_MINUTE;
+	private static final long DAYS_PER_CYCLE = 146097L;
+	private static final long DAYS_0000_TO_1970 = (DAYS_PER_CYCLE * 5L) - (30L * 365L + 7L);
+	// 0000-01-01T00:00:00Z and 9999-12-31T23:59:59Z
+	private static final long MIN_EPOCH_SECOND = -62167219200L;
+	private static final long MAX_EPOCH_SECOND = 253402300799L;
+	private static final int[] POWERS_OF_TEN = {1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000};
+	// yyyy-MM-ddTHH:mm:ss
+	private static final int DATE_TIME_LENGTH = 19;
+
+	static final Iso8601Codec<Instant> INSTANT = new Iso8601Codec<Instant>() {
+		@Override
+		char[] format(Instant value) {
+			long epochSecond = value.getEpochSecond();
+			if(epochSecond < MIN_EPOCH_SECOND || epochSecond > MAX_EPOCH_SECOND){
+				return null;
+			}
+			long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+			int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+			int nano = value.getNano();
+			int fractionDigits = fractionDigits(nano, true);
+			char[] buffer = new char[DATE_TIME_LENGTH + fractionLength(fractionDigits) + 1];
+			int pos = writeEpochDay(buffer, epochDay);
+			buffer[pos++] = 'T';
+			pos = writeTime(buffer, pos, secondOfDay / 3600, (secondOfDay / 60) % 60, secondOfDay % 60, nano, fractionDigits);
+			buffer[pos] = 'Z';
+			return buffer;
+		}
+
+		@Override
+		Instant parse(CharSequence value) {
+			int length = value.length();
+			if(length < 20 || value.charAt(length - 1) != 'Z'){
+				return null;
+			}
+			long date = parseDate(value);
+			long nanoOfDay = date < 0 ? -1 : parseTime(value, 11, length - 1, true);
+			if(nanoOfDay < 0){
+				return null;
+			}
+			long epochSecond = (date - DAYS_0000_TO_1970) * SECONDS_PER_DAY + nanoOfDay / NANOS_PER_SECOND;
+			return Instant.ofEpochSecond(epochSecond, nanoOfDay % NANOS_PER_SECOND);
+		}
+	};
+
+	static final Iso8601Codec<LocalDateTime> LOCAL_DATE_TIME = new Iso8601Codec<LocalDateTime>() {
+		@Override
+		char[] format(LocalDateTime value) {
+			return formatDateTime(value, null);
+		}
+
+		@Override
+		LocalDateTime parse(CharSequence value) {
+			return parseDateTime(value, value.length());
+		}
+	};
+
+	/**
+	 * The default formatter of OffsetDateTime values is used with a zone override, so values are written
+	 * with the offset of zoneId at that instant.
+	 */
+	static Iso8601Codec<OffsetDateTime> offsetDateTime(ZoneId zoneId) {
+		final ZoneRules rules = zoneId.getRules();
+		return new Iso8601Codec<OffsetDateTime>() {
+			@Override
+			char[] format(OffsetDateTime value) {
+				ZoneOffset offset = rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH) : rules.getOffset(value.toInstant());
+				if(!offset.equals(value.getOffset())){
+					value = value.withOffsetSameInstant(offset);
+				}
+				return formatDateTime(value.toLocalDateTime(), offset);
+			}
+
+			@Override
+			OffsetDateTime parse(CharSequence value) {
+				int length = value.length();
+				int offsetStart = -1;
+				for(int i = length - 1; i >= 16 && offsetStart < 0; i--){
+					char c = value.charAt(i);
+					if(c == 'Z' || c == '+' || c == '-') offsetStart = i;
+				}
+				if(offsetStart < 0){
+					return null;
+				}
+				ZoneOffset offset = parseOffset(value, offsetStart, length);
+				if(offset == null){
+					return null;
+				}
+				LocalDateTime dateTime = parseDateTime(value, offsetStart);
+				return dateTime == null ? null : OffsetDateTime.of(dateTime, offset);
+			}
+		};
+	}
+
+	/**
+	 * @return the chars of the value formatted as by the default formatter or null if this codec doesn't handle it.
+	 */
+	abstract char[] format(T value);
+
+	/**
+	 * @return the parsed value or null if the value is not in the layout handled by this codec.
+	 */
+	abstract T parse(CharSequence value);
+
+	private static char[] formatDateTime(LocalDateTime value, ZoneOffset offset) {
+		int year = value.getYear();
+		if(year < 0 || year > 9999){
+			return null;
+		}
+		int nano = value.getNano();
+		int fractionDigits = fractionDigits(nano, false);
+		int offsetSeconds = offset == null ? 0 : offset.getTotalSeconds();
+		char[] buffer = new char[DATE_TIME_LENGTH + fractionLength(fractionDigits) + (offset == null ? 0 : offsetLength(offsetSeconds))];
+		int pos = writeDate(buffer, year, value.getMonthValue(), value.getDayOfMonth());
+		buffer[pos++] = 'T';
+		pos = writeTime(buffer, pos, value.getHour(), value.getMinute(), value.getSecond(), nano, fractionDigits);
+		if(offset != null){
+			writeOffset(buffer, pos, offsetSeconds);
+		}
+		return buffer;
+	}
+
+	private static LocalDateTime parseDateTime(CharSequence value, int end) {
+		long date = parseDate(value);
+		long nanoOfDay = date < 0 ? -1 : parseTime(value, 11, end, false);
+		if(nanoOfDay < 0){
+			return null;
+		}
+		int year = digits(value, 0, 4);
+		int month = digits(value, 5, 2);
+		int day = digits(value, 8, 2);
+		int hour = (int) (nanoOfDay / NANOS_PER_HOUR);
+		int minute = (int) ((nanoOfDay / NANOS_PER_MINUTE) % 60);
+		int second = (int) ((nanoOfDay / NANOS_PER_SECOND) % 60);
+		return LocalDateTime.of(year, month, day, hour, minute, second, (int) (nanoOfDay % NANOS_PER_SECOND));
+	}
+
+	/**
+	 * Parses yyyy-MM-ddT at the start of value.
+	 *
+	 * @return the number of days since 0000-01-01 or -1 if the date is not in this layout.
+	 */
+	private static long parseDate(CharSequence value) {
+		if(value.length() < 11 || value.charAt(4) != '-' || value.charAt(7) != '-' || value.charAt(10) != 'T'){
+			return -1;
+		}
+		int year = digits(value, 0, 4);
+		int month = digits(value, 5, 2);
+		int day = digits(value, 8, 2);
+		if(year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)){
+			return -1;
+		}
+		return toEpochDay(year, month, day) + DAYS_0000_TO_1970;
+	}
+
+	/**
+	 * Parses HH:mm[:ss[.n]] (seconds being mandatory when secondsRequired is true) from start to end.
+	 *
+	 * @return the nano of day or -1 if the time is not in this layout.
+	 */
+	private static long parseTime(CharSequence value, int start, int end, boolean secondsRequired) {
+		int length = end - start;
+		if(length < 5 || value.charAt(start + 2) != ':'){
+			return -1;
+		}
+		int hour = digits(value, start, 2);
+		int minute = digits(value, start + 3, 2);
+		int second = 0;
+		int nano = 0;
+		if(length > 5){
+			if(length < 8 || value.charAt(start + 5) != ':'){
+				return -1;
+			}
+			second = digits(value, start + 6, 2);
+			if(length > 8){
+				int fractionDigits = length - 9;
+				if(value.charAt(start + 8) != '.' || fractionDigits < 1 || fractionDigits > 9){
+					return -1;
+				}
+				nano = digits(value, start + 9, fractionDigits);
+				if(nano < 0){
+					return -1;
+				}
+				nano *= POWERS_OF_TEN[9 - fractionDigits];
+			}
+		}
+		else if(secondsRequired){
+			return -1;
+		}
+		if(hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59){
+			return -1;
+		}
+		return hour * NANOS_PER_HOUR + minute * NANOS_PER_MINUTE + second * NANOS_PER_SECOND + nano;
+	}
+
+	/**
+	 * Parses Z, +HH:MM or +HH:MM:ss from start to end.
+	 */
+	private static ZoneOffset parseOffset(CharSequence value, int start, int end) {
+		int length = end - start;
+		if(length == 1){
+			return value.charAt(start) == 'Z' ? ZoneOffset.UTC : null;
+		}
+		char sign = value.charAt(start);
+		if((sign != '+' && sign != '-') || (length != 6 && length != 9) || value.charAt(start + 3) != ':'){
+			return null;
+		}
+		int hours = digits(value, start + 1, 2);
+		int minutes = digits(value, start + 4, 2);
+		int seconds = 0;
+		if(length == 9){
+			if(value.charAt(start + 6) != ':') return null;
+			seconds = digits(value, start + 7, 2);
+		}
+		if(hours < 0 || hours > 18 || minutes < 0 || minutes > 59 || seconds < 0 || seconds > 59){
+			return null;
+		}
+		int totalSeconds = hours * 3600 + minutes * 60 + seconds;
+		if(totalSeconds > 18 * 3600){
+			return null;
+		}
+		return ZoneOffset.ofTotalSeconds(sign == '-' ? -totalSeconds : totalSeconds);
+	}
+
+	/**
+	 * @return the value of count digits starting at start or -1 if there is a non digit char.
+	 */
+	private static int digits(CharSequence value, int start, int count) {
+		int result = 0;
+		for(int i = start, end = start + count; i < end; i++){
+			char c = value.charAt(i);
+			if(c < '0' || c > '9'){
+				return -1;
+			}
+			result = result * 10 + (c - '0');
+		}
+		return result;
+	}
+
+	private static int writeEpochDay(char[] buffer, long epochDay) {
+		// same computation as LocalDate.ofEpochDay, for years 0 to 9999
+		long zeroDay = epochDay + DAYS_0000_TO_1970 - 60;
+		long adjust = 0;
+		if(zeroDay < 0){
+			long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+			adjust = adjustCycles * 400;
+			zeroDay += -adjustCycles * DAYS_PER_CYCLE;
+		}
+		long yearEst = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+		long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+		if(doyEst < 0){
+			yearEst--;
+			doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+		}
+		yearEst += adjust;
+		int marchDoy0 = (int) doyEst;
+		int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+		int month = (marchMonth0 + 2) % 12 + 1;
+		int day = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
+		yearEst += marchMonth0 / 10;
+		return writeDate(buffer, (int) yearEst, month, day);
+	}
+
+	private static long toEpochDay(int year, int month, int day) {
+		// same computation as LocalDate.toEpochDay, for years 0 to 9999
+		long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+		total += (367 * month - 362) / 12;
+		total += day - 1;
+		if(month > 2){
+			total--;
+			if(!isLeapYear(year)){
+				total--;
+			}
+		}
+		return total - DAYS_0000_TO_1970;
+	}
+
+	private static boolean isLeapYear(int year) {
+		return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+	}
+
+	private static int lengthOfMonth(int year, int month) {
+		switch(month){
+			case 2:
+				return isLeapYear(year) ? 29 : 28;
+			case 4:
+			case 6:
+			case 9:
+			case 11:
+				return 30;
+			default:
+				return 31;
+		}
+	}
+
+	private static int writeDate(char[] buffer, int year, int month, int day) {
+		writeDigits(buffer, 0, year, 4);
+		buffer[4] = '-';
+		writeDigits(buffer, 5, month, 2);
+		buffer[7] = '-';
+		writeDigits(buffer, 8, day, 2);
+		return 10;
+	}
+
+	/**
+	 * @return the number of digits of the fraction, like ISO_LOCAL_TIME does when byGroupsOf3 is false
+	 * (shortest fraction) and like ISO_INSTANT does otherwise (3, 6 or 9 digits), 0 when there is no fraction.
+	 */
+	private static int fractionDigits(int nano, boolean byGroupsOf3) {
+		if(nano == 0){
+			return 0;
+		}
+		int digits = 9;
+		if(byGroupsOf3){
+			if(nano % 1_000_000 == 0) digits = 3;
+			else if(nano % 1000 == 0) digits = 6;
+		}
+		else{
+			while(digits > 1 && nano % POWERS_OF_TEN[10 - digits] == 0) digits--;
+		}
+		return digits;
+	}
+
+	private static int fractionLength(int fractionDigits) {
+		return fractionDigits == 0 ? 0 : fractionDigits + 1;
+	}
+
+	/**
+	 * @return the length of Z, +HH:MM or +HH:MM:ss as written by {@link #writeOffset}.
+	 */
+	private static int offsetLength(int totalSeconds) {
+		if(totalSeconds == 0){
+			return 1;
+		}
+		return totalSeconds % 60 != 0 ? 9 : 6;
+	}
+
+	/**
+	 * Writes HH:mm:ss followed by a fraction of fractionDigits digits, see {@link #fractionDigits}.
+	 */
+	private static int writeTime(char[] buffer, int pos, int hour, int minute, int second, int nano, int fractionDigits) {
+		writeDigits(buffer, pos, hour, 2);
+		buffer[pos + 2] = ':';
+		writeDigits(buffer, pos + 3, minute, 2);
+		buffer[pos + 5] = ':';
+		writeDigits(buffer, pos + 6, second, 2);
+		pos += 8;
+		if(fractionDigits > 0){
+			buffer[pos++] = '.';
+			writeDigits(buffer, pos, nano / POWERS_OF_TEN[9 - fractionDigits], fractionDigits);
+			pos += fractionDigits;
+		}
+		return pos;
+	}
+
+	private static int writeOffset(char[] buffer, int pos, int totalSeconds) {
+		if(totalSeconds == 0){
+			buffer[pos] = 'Z';
+			return pos + 1;
+		}
+		int absSeconds = Math.abs(totalSeconds);
+		buffer[pos] = totalSeconds < 0 ? '-' : '+';
+		writeDigits(buffer, pos + 1, absSeconds / 3600, 2);
+		buffer[pos + 3] = ':';
+		writeDigits(buffer, pos + 4, (absSeconds / 60) % 60, 2);
+		pos += 6;
+		if(absSeconds % 60 != 0){
+			buffer[pos] = ':';
+			writeDigits(buffer, pos + 1, absSeconds % 60, 2);
+			pos += 3;
+		}
+		return pos;
+	}
+
+	private static void writeDigits(char[] buffer, int pos, int value, int count) {
+		for(int i = pos + count - 1; i >= pos; i--){
+			buffer[i] = (char) ('0' + value % 10);
+			value /= 10;
+		}
+	}
+}
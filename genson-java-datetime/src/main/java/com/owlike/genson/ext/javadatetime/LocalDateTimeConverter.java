@@ -1,6 +1,7 @@
 package com.owlike.genson.ext.javadatetime;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoField;
 import java.time.temporal.TemporalField;
 import java.util.LinkedHashMap;
@@ -10,7 +11,8 @@
  */
 public class LocalDateTimeConverter extends BaseTemporalAccessorConverter<LocalDateTime> {
 	LocalDateTimeConverter(DateTimeConverterOptions options) {
-		super(options, new LocalDateTimeTimestampHandler(options), LocalDateTime::from);
+		super(options, new LocalDateTimeTimestampHandler(options), LocalDateTime::from,
+				options.usesFormatter(DateTimeFormatter.ISO_LOCAL_DATE_TIME) ? Iso8601Codec.LOCAL_DATE_TIME : null);
 	}
 
 	private static class LocalDateTimeTimestampHandler extends TimestampHandler<LocalDateTime> {
@@ -1,6 +1,7 @@
 package com.owlike.genson.ext.javadatetime;
 
 import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoField;
 import java.time.temporal.TemporalField;
 import java.util.LinkedHashMap;
@@ -10,7 +11,8 @@
  */
 public class OffsetDateTimeConverter extends BaseTemporalAccessorConverter<OffsetDateTime> {
 	OffsetDateTimeConverter(DateTimeConverterOptions options) {
-		super(options, new OffsetDateTimeTimestampHandler(options), OffsetDateTime::from);
+		super(options, new OffsetDateTimeTimestampHandler(options), OffsetDateTime::from,
+				options.usesFormatter(DateTimeFormatter.ISO_OFFSET_DATE_TIME) ? Iso8601Codec.offsetDateTime(options.getZoneId()) : null);
 	}
 
 	private static class OffsetDateTimeTimestampHandler extends TimestampHandler<OffsetDateTime> {
@@ -0,0 +1,94 @@
+package com.owlike.genson.ext.javadatetime;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class Iso8601CodecTest extends JavaDateTimeTestBase {
+	private static final int[] NANOS = {0, 1, 100_000_000, 120_000_000, 123_000_000, 123_400_000, 123_450_000, 123_456_000, 123_456_700, 999_999_999};
+	private final Random random = new Random(42);
+
+	@Test
+	public void testInstantFormatAndParseAsFormatter(){
+		DateTimeConverterOptions options = new DateTimeConverterOptions(Instant.class, DateTimeFormatter.ISO_INSTANT, false, null, torontoZoneId);
+		for(int i = 0; i < 2000; i++){
+			Instant instant = Instant.ofEpochSecond(randomEpochSecond(), NANOS[i % NANOS.length]);
+			String expected = options.getDateTimeFormatter().format(instant);
+			Assert.assertEquals(expected, new String(Iso8601Codec.INSTANT.format(instant)));
+			Assert.assertEquals(instant, Iso8601Codec.INSTANT.parse(expected));
+		}
+		Assert.assertEquals(Instant.parse("2011-12-03T10:15:30.1Z"), Iso8601Codec.INSTANT.parse("2011-12-03T10:15:30.1Z"));
+	}
+
+	@Test
+	public void testLocalDateTimeFormatAndParseAsFormatter(){
+		DateTimeConverterOptions options = new DateTimeConverterOptions(LocalDateTime.class, DateTimeFormatter.ISO_LOCAL_DATE_TIME, false, null, torontoZoneId);
+		for(int i = 0; i < 2000; i++){
+			LocalDateTime dateTime = LocalDateTime.ofEpochSecond(randomEpochSecond(), NANOS[i % NANOS.length], ZoneOffset.UTC);
+			String expected = options.getDateTimeFormatter().format(dateTime);
+			Assert.assertEquals(expected, new String(Iso8601Codec.LOCAL_DATE_TIME.format(dateTime)));
+			Assert.assertEquals(dateTime, Iso8601Codec.LOCAL_DATE_TIME.parse(expected));
+		}
+		Assert.assertEquals(LocalDateTime.of(2011, 12, 3, 10, 15), Iso8601Codec.LOCAL_DATE_TIME.parse("2011-12-03T10:15"));
+	}
+
+	@Test
+	public void testOffsetDateTimeFormatAndParseAsFormatter(){
+		List<ZoneId> zones = Arrays.asList(torontoZoneId, londonZoneId, ZoneId.of("UTC"), ZoneId.of("Asia/Kolkata"), ZoneOffset.ofHoursMinutesSeconds(-3, -20, -5));
+		for(ZoneId zoneId: zones){
+			DateTimeConverterOptions options = new DateTimeConverterOptions(OffsetDateTime.class, DateTimeFormatter.ISO_OFFSET_DATE_TIME, false, null, zoneId);
+			Iso8601Codec<OffsetDateTime> codec = Iso8601Codec.offsetDateTime(zoneId);
+			for(int i = 0; i < 500; i++){
+				ZoneOffset offset = ZoneOffset.ofTotalSeconds((random.nextInt(36 * 4) - 18 * 4) * 900);
+				OffsetDateTime dateTime = OffsetDateTime.ofInstant(Instant.ofEpochSecond(randomEpochSecond(), NANOS[i % NANOS.length]), offset);
+				String expected = options.getDateTimeFormatter().format(dateTime);
+				Assert.assertEquals(expected, new String(codec.format(dateTime)));
+				Assert.assertEquals(options.getDateTimeFormatter().parse(expected, OffsetDateTime::from), codec.parse(expected));
+			}
+		}
+	}
+
+	@Test
+	public void testValuesNotInTheFixedLayoutAreLeftToTheFormatter(){
+		Assert.assertNull(Iso8601Codec.INSTANT.parse("+12011-12-03T10:15:30Z"));
+		Assert.assertNull(Iso8601Codec.INSTANT.parse("2011-12-03T10:15Z"));
+		Assert.assertNull(Iso8601Codec.INSTANT.parse("2011-02-30T10:15:30Z"));
+		Assert.assertNull(Iso8601Codec.INSTANT.parse("2011-12-03t10:15:30z"));
+		Assert.assertNull(Iso8601Codec.LOCAL_DATE_TIME.parse("2011-12-03T24:00:00"));
+		Assert.assertNull(Iso8601Codec.LOCAL_DATE_TIME.parse("2011-12-03T10:15:30.1234567891"));
+		Assert.assertNull(Iso8601Codec.LOCAL_DATE_TIME.parse("2011-12-03"));
+		Assert.assertNull(Iso8601Codec.offsetDateTime(londonZoneId).parse("2011-12-03T10:15:30+19:00"));
+		Assert.assertNull(Iso8601Codec.INSTANT.format(Instant.ofEpochSecond(253402300800L)));
+		Assert.assertNull(Iso8601Codec.LOCAL_DATE_TIME.format(LocalDateTime.of(-1, 1, 1, 0, 0)));
+
+		Assert.assertEquals(Instant.parse("+12011-12-03T10:15:30Z"),
+				createFormatterGenson().deserialize(toJsonQuotedString("+12011-12-03T10:15:30Z"), Instant.class));
+		Assert.assertEquals(toJsonQuotedString("+12011-12-03T10:15:30Z"),
+				createFormatterGenson().serialize(Instant.parse("+12011-12-03T10:15:30Z")));
+	}
+
+	@Test
+	public void testRoundTripWithGenson(){
+		Instant instant = Instant.ofEpochSecond(1322907330L, 123_000_000);
+		Assert.assertEquals(toJsonQuotedString("2011-12-03T10:15:30.123Z"), createFormatterGenson().serialize(instant));
+		Assert.assertEquals(instant, createFormatterGenson().deserialize(toJsonQuotedString("2011-12-03T10:15:30.123Z"), Instant.class));
+
+		LocalDateTime dateTime = LocalDateTime.of(2011, 12, 3, 10, 15, 30, 120_000_000);
+		Assert.assertEquals(toJsonQuotedString("2011-12-03T10:15:30.12"), createFormatterGenson().serialize(dateTime));
+		Assert.assertEquals(dateTime, createFormatterGenson().deserialize(toJsonQuotedString("2011-12-03T10:15:30.12"), LocalDateTime.class));
+	}
+
+	private long randomEpochSecond(){
+		// years 0 to 9999
+		return -62167219200L + (long) (random.nextDouble() * (253402300799L + 62167219200L));
+	}
+}
@@ -0,0 +1,35 @@
+package com.owlike.genson.ext.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A converter has been built by the chained factories, because it was not in Genson converter cache.
+ *
+ * @author eugen
+ */
+@Name("com.owlike.genson.ConverterBuild")
+@Label("Genson Converter Build")
+@Category({"Genson"})
+@Description("A converter has been built by the chain of factories")
+@StackTrace(false)
+public class ConverterBuildEvent extends jdk.jfr.Event {
+  @Label("Type")
+  String type;
+
+  @Label("Converter Class")
+  Class<?> converterClass;
+
+  @Label("Chain Depth")
+  @Description("Number of converters stacked by the chained factories, 1 if the converter is not decorated")
+  int chainDepth;
+
+  @Label("Build Time")
+  @Description("Including the converters and bean descriptors of nested types")
+  @Timespan(Timespan.NANOSECONDS)
+  long elapsed;
+}
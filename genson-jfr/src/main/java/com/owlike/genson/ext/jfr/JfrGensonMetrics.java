@@ -0,0 +1,105 @@
+package com.owlike.genson.ext.jfr;
+
+import java.lang.reflect.Type;
+
+import com.owlike.genson.Converter;
+import com.owlike.genson.GensonMetrics;
+import com.owlike.genson.Wrapper;
+import com.owlike.genson.reflect.TypeUtil;
+
+/**
+ * Emits Java Flight Recorder events for the converter builds, the parameter names read from the bytecode and the
+ * serializations and deserializations slower than a threshold. The events are only recorded while a recording
+ * with them enabled is running (they are all enabled in the default settings), for example:
+ * <p/>
+ * <pre>
+ * Genson genson = new GensonBuilder().useMetrics(new JfrGensonMetrics(50)).create();
+ * </pre>
+ * <p/>
+ * and then start the application with -XX:StartFlightRecording or start a recording with jcmd. This requires a JVM
+ * providing the jdk.jfr API (OpenJDK 8u262+ or 11+).
+ *
+ * @author eugen
+ * @see ConverterBuildEvent
+ * @see ParameterNamesEvent
+ * @see SlowSerializationEvent
+ * @see SlowDeserializationEvent
+ */
+public class JfrGensonMetrics extends GensonMetrics {
+  private final long thresholdNanos;
+
+  /**
+   * @param slowThresholdMillis serializations and deserializations taking at least this number of milliseconds
+   *                            are recorded.
+   */
+  public JfrGensonMetrics(long slowThresholdMillis) {
+    if (slowThresholdMillis < 0) throw new IllegalArgumentException("The threshold must be positive or zero.");
+    this.thresholdNanos = slowThresholdMillis * 1000000;
+  }
+
+  @Override
+  public void serialized(Type type, long nanos, long chars) {
+    if (nanos < thresholdNanos) return;
+    SlowSerializationEvent event = new SlowSerializationEvent();
+    if (event.isEnabled()) {
+      event.rootType = typeName(type);
+      event.elapsed = nanos;
+      event.chars = chars;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void deserialized(Type type, long nanos, long chars) {
+    if (nanos < thresholdNanos) return;
+    SlowDeserializationEvent event = new SlowDeserializationEvent();
+    if (event.isEnabled()) {
+      event.rootType = typeName(type);
+      event.elapsed = nanos;
+      event.chars = chars;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void converterCacheMiss(Type type, Converter<?> converter, long nanos) {
+    ConverterBuildEvent event = new ConverterBuildEvent();
+    if (event.isEnabled()) {
+      event.type = typeName(type);
+      event.converterClass = converter.getClass();
+      event.chainDepth = chainDepth(converter);
+      event.elapsed = nanos;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void parameterNamesResolved(Class<?> ofClass, long nanos) {
+    ParameterNamesEvent event = new ParameterNamesEvent();
+    if (event.isEnabled()) {
+      event.resolvedClass = ofClass;
+      event.elapsed = nanos;
+      event.commit();
+    }
+  }
+
+  public long slowThresholdNanos() {
+    return thresholdNanos;
+  }
+
+  /**
+   * @return the number of converters the chained factories have stacked on top of each other.
+   */
+  static int chainDepth(Object converter) {
+    int depth = 1;
+    while (converter instanceof Wrapper && ((Wrapper<?>) converter).unwrap() != null) {
+      converter = ((Wrapper<?>) converter).unwrap();
+      depth++;
+    }
+    return depth;
+  }
+
+  private static String typeName(Type type) {
+    return type instanceof Class ? ((Class<?>) type).getName() : String.valueOf(type);
+  }
+}
@@ -0,0 +1,28 @@
+package com.owlike.genson.ext.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The parameter names of a class constructors and methods have been read from its bytecode.
+ *
+ * @author eugen
+ * @see com.owlike.genson.reflect.ASMCreatorParameterNameResolver
+ */
+@Name("com.owlike.genson.ParameterNames")
+@Label("Genson Parameter Names Resolution")
+@Category({"Genson"})
+@Description("Parameter names read from the debug symbols of a class with ASM")
+@StackTrace(false)
+public class ParameterNamesEvent extends jdk.jfr.Event {
+  @Label("Class")
+  Class<?> resolvedClass;
+
+  @Label("Read Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long elapsed;
+}
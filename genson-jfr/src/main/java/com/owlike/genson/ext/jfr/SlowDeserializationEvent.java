@@ -0,0 +1,29 @@
+package com.owlike.genson.ext.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A deserialization took longer than the threshold configured in {@link JfrGensonMetrics}.
+ *
+ * @author eugen
+ */
+@Name("com.owlike.genson.SlowDeserialization")
+@Label("Genson Slow Deserialization")
+@Category({"Genson"})
+@Description("A deserialization slower than the configured threshold")
+public class SlowDeserializationEvent extends jdk.jfr.Event {
+  @Label("Root Type")
+  String rootType;
+
+  @Label("Elapsed Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long elapsed;
+
+  @Label("Chars")
+  @Description("Number of json chars, -1 if unknown")
+  long chars;
+}
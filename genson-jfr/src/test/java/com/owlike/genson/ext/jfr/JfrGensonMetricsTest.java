@@ -0,0 +1,91 @@
+package com.owlike.genson.ext.jfr;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import com.owlike.genson.Genson;
+import com.owlike.genson.GensonBuilder;
+
+import static org.junit.Assert.*;
+
+public class JfrGensonMetricsTest {
+  @Test
+  public void testRecordEvents() throws Exception {
+    Genson genson = new GensonBuilder().useMetrics(new JfrGensonMetrics(0)).useConstructorWithArguments(true)
+      .create();
+
+    List<RecordedEvent> events;
+    Recording recording = new Recording();
+    try {
+      recording.enable(ConverterBuildEvent.class);
+      recording.enable(ParameterNamesEvent.class);
+      recording.enable(SlowSerializationEvent.class);
+      recording.enable(SlowDeserializationEvent.class);
+      recording.start();
+
+      String json = genson.serialize(new Pojo("a", 1));
+      genson.deserialize(json, Pojo.class);
+
+      recording.stop();
+      File file = File.createTempFile("genson", ".jfr");
+      try {
+        recording.dump(file.toPath());
+        events = RecordingFile.readAllEvents(file.toPath());
+      } finally {
+        file.delete();
+      }
+    } finally {
+      recording.close();
+    }
+
+    RecordedEvent build = find(events, "com.owlike.genson.ConverterBuild", Pojo.class.getName());
+    assertTrue(build.getInt("chainDepth") > 1);
+    assertTrue(build.getLong("elapsed") > 0);
+
+    boolean parameterNames = false;
+    for (RecordedEvent event : filter(events, "com.owlike.genson.ParameterNames")) {
+      parameterNames |= Pojo.class.getName().equals(event.getClass("resolvedClass").getName());
+    }
+    assertTrue(parameterNames);
+
+    assertEquals(22, find(events, "com.owlike.genson.SlowSerialization", Pojo.class.getName()).getLong("chars"));
+    assertEquals(22, find(events, "com.owlike.genson.SlowDeserialization", Pojo.class.getName()).getLong("chars"));
+  }
+
+  @Test
+  public void testThreshold() {
+    assertEquals(5000000, new JfrGensonMetrics(5).slowThresholdNanos());
+  }
+
+  private RecordedEvent find(List<RecordedEvent> events, String name, String type) {
+    for (RecordedEvent event : filter(events, name)) {
+      if (type.equals(event.getString(event.hasField("rootType") ? "rootType" : "type"))) return event;
+    }
+    fail("No event " + name + " for " + type);
+    return null;
+  }
+
+  private List<RecordedEvent> filter(List<RecordedEvent> events, String name) {
+    List<RecordedEvent> filtered = new ArrayList<RecordedEvent>();
+    for (RecordedEvent event : events) {
+      if (event.getEventType().getName().equals(name)) filtered.add(event);
+    }
+    return filtered;
+  }
+
+  public static class Pojo {
+    public final String name;
+    public final int value;
+
+    public Pojo(String name, int value) {
+      this.name = name;
+      this.value = value;
+    }
+  }
+}
@@ -0,0 +1,487 @@
+package com.owlike.genson.processor;
+
+import com.owlike.genson.annotation.JsonConverter;
+import com.owlike.genson.annotation.JsonDateFormat;
+import com.owlike.genson.annotation.JsonDeduplicateStrings;
+import com.owlike.genson.annotation.JsonIgnore;
+import com.owlike.genson.annotation.JsonProperty;
+import com.owlike.genson.processor.ConverterProcessor.InvalidBeanException;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the properties of a class annotated with {@link GenerateConverter} and generates the source of its
+ * converter. The properties are resolved like the default BeanMutatorAccessorResolver and PropertyNameResolver
+ * do at runtime, but on the compile time model of the class.
+ *
+ * @author eugen
+ */
+final class ConverterGenerator {
+  private final static Comparator<Property> _propertiesComparator = new Comparator<Property>() {
+    public int compare(Property o1, Property o2) {
+      return o1.name.compareToIgnoreCase(o2.name);
+    }
+  };
+
+  // they change how a property is converted at runtime, the generated code only knows the default conversions
+  private final static List<String> UNSUPPORTED_ANNOTATIONS = Arrays.asList(JsonConverter.class.getName(),
+    JsonDateFormat.class.getName(), JsonDeduplicateStrings.class.getName(),
+    "javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter");
+
+  private final Types types;
+  private final Elements elements;
+  private final TypeElement beanElement;
+  private final DeclaredType beanType;
+  private final String beanName;
+  private final String packageName;
+  private final String simpleName;
+
+  private final Map<String, Property> properties = new LinkedHashMap<String, Property>();
+  // converter field name by the type it converts, properties of the same type share the converter
+  private final Map<String, String> converterFields = new LinkedHashMap<String, String>();
+  private final Map<String, String> converterTypes = new LinkedHashMap<String, String>();
+
+  ConverterGenerator(ProcessingEnvironment env, TypeElement beanElement) {
+    this.types = env.getTypeUtils();
+    this.elements = env.getElementUtils();
+    this.beanElement = beanElement;
+    this.beanType = (DeclaredType) beanElement.asType();
+    this.beanName = beanElement.getQualifiedName().toString();
+    this.packageName = elements.getPackageOf(beanElement).getQualifiedName().toString();
+
+    StringBuilder name = new StringBuilder("GensonConverter");
+    for (Element e = beanElement; e instanceof TypeElement; e = e.getEnclosingElement()) {
+      name.insert(0, '_').insert(0, e.getSimpleName());
+    }
+    this.simpleName = name.toString();
+  }
+
+  String packageName() {
+    return packageName;
+  }
+
+  String simpleName() {
+    return simpleName;
+  }
+
+  String qualifiedName() {
+    return ConverterProcessor.qualify(packageName, simpleName);
+  }
+
+  String generate() {
+    checkBean();
+    resolveProperties();
+
+    List<Property> accessible = new ArrayList<Property>();
+    Map<String, Property> mutable = new HashMap<String, Property>();
+    for (Property property : properties.values()) {
+      if (property.accessor != null) {
+        property.accessor.converter = converterField(property.accessor.type, property.accessor.element);
+        accessible.add(property);
+      }
+      if (property.mutator != null) {
+        property.mutator.converter = converterField(property.mutator.type, property.mutator.element);
+        for (String key : property.keys()) {
+          Property previous = mutable.put(key, property);
+          if (previous != null && previous != property) {
+            throw new InvalidBeanException("Properties " + previous.name + " and " + property.name
+              + " are both deserialized from key " + key, property.mutator.element);
+          }
+        }
+      }
+    }
+    Collections.sort(accessible, _propertiesComparator);
+
+    StringBuilder sb = new StringBuilder();
+    if (!packageName.isEmpty()) sb.append("package ").append(packageName).append(";\n\n");
+    sb.append("/**\n")
+      .append(" * Converter generated for {@link ").append(beanName).append("}, do not edit.\n")
+      .append(" */\n")
+      .append("final class ").append(simpleName).append(" implements com.owlike.genson.Converter<")
+      .append(beanName).append("> {\n");
+
+    // the factory
+    sb.append("  static final class Factory implements com.owlike.genson.Factory<com.owlike.genson.Converter<")
+      .append(beanName).append(">> {\n")
+      .append("    @Override\n")
+      .append("    public com.owlike.genson.Converter<").append(beanName)
+      .append("> create(java.lang.reflect.Type type, com.owlike.genson.Genson genson) {\n")
+      .append("      // subclasses have properties this converter does not know about\n")
+      .append("      if (com.owlike.genson.reflect.TypeUtil.getRawClass(type) != ").append(beanName)
+      .append(".class) return null;\n")
+      .append("      return new ").append(simpleName).append("(genson);\n")
+      .append("    }\n")
+      .append("  }\n\n");
+
+    // fields
+    for (int i = 0; i < accessible.size(); i++) {
+      sb.append("  private static final char[] NAME_").append(i)
+        .append(" = com.owlike.genson.stream.JsonWriter.escapeString(")
+        .append(literal(accessible.get(i).name)).append(");\n");
+    }
+    if (!accessible.isEmpty()) sb.append('\n');
+    for (Map.Entry<String, String> entry : converterFields.entrySet()) {
+      sb.append("  private final com.owlike.genson.Converter<").append(entry.getKey()).append("> ")
+        .append(entry.getValue()).append(";\n");
+    }
+    sb.append("  private final boolean failOnMissingProperty;\n\n");
+
+    // constructor
+    sb.append("  ").append(simpleName).append("(com.owlike.genson.Genson genson) {\n");
+    for (Map.Entry<String, String> entry : converterFields.entrySet()) {
+      sb.append("    ").append(entry.getValue()).append(" = genson.provideConverter(")
+        .append(converterTypes.get(entry.getKey())).append(");\n");
+    }
+    sb.append("    failOnMissingProperty = genson.failOnMissingProperty();\n")
+      .append("  }\n\n");
+
+    // serialization
+    sb.append("  @Override\n")
+      .append("  public void serialize(").append(beanName)
+      .append(" object, com.owlike.genson.stream.ObjectWriter writer, com.owlike.genson.Context ctx)")
+      .append(" throws Exception {\n")
+      .append("    writer.beginObject();\n");
+    for (int i = 0; i < accessible.size(); i++) {
+      Accessor accessor = accessible.get(i).accessor;
+      sb.append("    writer.writeEscapedName(NAME_").append(i).append(");\n")
+        .append("    ").append(accessor.converter).append(".serialize(object.").append(accessor.expression)
+        .append(", writer, ctx);\n");
+    }
+    sb.append("    writer.endObject();\n")
+      .append("  }\n\n");
+
+    // deserialization
+    sb.append("  @Override\n")
+      .append("  public ").append(beanName)
+      .append(" deserialize(com.owlike.genson.stream.ObjectReader reader, com.owlike.genson.Context ctx)")
+      .append(" throws Exception {\n")
+      .append("    ").append(beanName).append(" object = new ").append(beanName).append("();\n")
+      .append("    reader.beginObject();\n")
+      .append("    while (reader.hasNext()) {\n")
+      .append("      reader.next();\n")
+      .append("      String name = reader.name();\n")
+      .append("      switch (name) {\n");
+    for (Property property : properties.values()) {
+      Mutator mutator = property.mutator;
+      if (mutator == null) continue;
+      for (String key : property.keys()) {
+        sb.append("        case ").append(literal(key)).append(":\n");
+      }
+      String value = mutator.converter + ".deserialize(reader, ctx)";
+      if (mutator.type.getKind().isPrimitive()) {
+        // a json null can not be assigned to a primitive, the property keeps its default value
+        sb.append("        {\n")
+          .append("          ").append(boxedName(mutator.type)).append(" value = ").append(value).append(";\n")
+          .append("          if (value != null) object.").append(mutator.assignment("value")).append(";\n")
+          .append("          break;\n")
+          .append("        }\n");
+      } else {
+        sb.append("          object.").append(mutator.assignment(value)).append(";\n")
+          .append("          break;\n");
+      }
+    }
+    sb.append("        default:\n")
+      .append("          if (failOnMissingProperty) {\n")
+      .append("            throw new com.owlike.genson.JsonBindingException(\"No matching property in \" + ")
+      .append(beanName).append(".class + \" for key \" + name);\n")
+      .append("          }\n")
+      .append("          reader.skipValue();\n")
+      .append("      }\n")
+      .append("    }\n")
+      .append("    reader.endObject();\n")
+      .append("    return object;\n")
+      .append("  }\n")
+      .append("}\n");
+    return sb.toString();
+  }
+
+  private void checkBean() {
+    Element e = beanElement;
+    for (; e instanceof TypeElement; e = e.getEnclosingElement()) {
+      TypeElement type = (TypeElement) e;
+      if (type.getModifiers().contains(Modifier.PRIVATE))
+        throw new InvalidBeanException(type.getQualifiedName() + " must not be private", beanElement);
+      if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC))
+        throw new InvalidBeanException(type.getQualifiedName() + " must be static", beanElement);
+      if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS)
+        throw new InvalidBeanException("Converters can not be generated for local classes", beanElement);
+    }
+    if (beanElement.getModifiers().contains(Modifier.ABSTRACT))
+      throw new InvalidBeanException("Converters can not be generated for abstract classes", beanElement);
+    if (!beanElement.getTypeParameters().isEmpty())
+      throw new InvalidBeanException("Converters can not be generated for generic classes", beanElement);
+
+    for (ExecutableElement constructor : ElementFilter.constructorsIn(beanElement.getEnclosedElements())) {
+      if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) return;
+    }
+    throw new InvalidBeanException(beanName + " must have a no arg constructor that is not private", beanElement);
+  }
+
+  private void resolveProperties() {
+    LinkedList<TypeElement> hierarchy = new LinkedList<TypeElement>();
+    for (TypeElement type = beanElement; type != null
+      && !type.getQualifiedName().contentEquals(Object.class.getName()); ) {
+      hierarchy.addFirst(type);
+      TypeMirror superclass = type.getSuperclass();
+      type = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) types.asElement(superclass) : null;
+    }
+
+    // the most specific class wins and in a class methods win over fields, as in BeanDescriptorProvider
+    for (TypeElement type : hierarchy) {
+      for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) continue;
+        if (!isVisible(field)) continue;
+
+        TypeMirror fieldType = types.asMemberOf(beanType, field);
+        String name = field.getSimpleName().toString();
+        if (isAccessor(field)) {
+          accessor(name, field, new Accessor(field, name, fieldType));
+        }
+        if (!modifiers.contains(Modifier.FINAL) && isMutator(field)) {
+          mutator(name, field, new Mutator(field, name, false, fieldType));
+        }
+      }
+
+      for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+        Set<Modifier> modifiers = method.getModifiers();
+        if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.NATIVE)) continue;
+        String methodName = method.getSimpleName().toString();
+        int paramCount = method.getParameters().size();
+        ExecutableType methodType = (ExecutableType) types.asMemberOf(beanType, method);
+
+        if (paramCount == 0 && method.getReturnType().getKind() != TypeKind.VOID
+          && ((methodName.length() > 3 && methodName.startsWith("get"))
+          || (methodName.length() > 2 && methodName.startsWith("is") && isBoolean(methodType.getReturnType())))) {
+          if (isVisible(method) && isAccessor(method)) {
+            accessor(propertyName(methodName), method, new Accessor(method, methodName + "()",
+              methodType.getReturnType()));
+          }
+        } else if (paramCount == 1 && methodName.length() > 3 && methodName.startsWith("set")) {
+          if (isVisible(method) && isMutator(method)) {
+            mutator(propertyName(methodName), method, new Mutator(method, methodName, true,
+              methodType.getParameterTypes().get(0)));
+          }
+        }
+      }
+    }
+  }
+
+  private void accessor(String defaultName, Element element, Accessor accessor) {
+    property(name(defaultName, element)).accessor = accessor;
+  }
+
+  private void mutator(String defaultName, Element element, Mutator mutator) {
+    Property property = property(name(defaultName, element));
+    property.mutator = mutator;
+    JsonProperty ann = element.getAnnotation(JsonProperty.class);
+    property.aliases = ann != null ? ann.aliases() : new String[0];
+  }
+
+  private Property property(String name) {
+    Property property = properties.get(name);
+    if (property == null) {
+      property = new Property(name);
+      properties.put(name, property);
+    }
+    return property;
+  }
+
+  private boolean isVisible(Element element) {
+    // checked before the visibility as the annotations of a private field also apply to its getter and setter
+    for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+      TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+      if (UNSUPPORTED_ANNOTATIONS.contains(annotationType.getQualifiedName().toString())) {
+        throw new InvalidBeanException("@" + annotationType.getSimpleName()
+          + " is not supported by generated converters", element);
+      }
+    }
+
+    Set<Modifier> modifiers = element.getModifiers();
+    boolean visible = !modifiers.contains(Modifier.PRIVATE) && !modifiers.contains(Modifier.PROTECTED);
+    if (!visible) {
+      if (element.getAnnotation(JsonProperty.class) != null) {
+        throw new InvalidBeanException(element.getSimpleName() + " is annotated with @JsonProperty but is not"
+          + " accessible from the generated converter, it must be public or package private", element);
+      }
+      return false;
+    }
+    if (!modifiers.contains(Modifier.PUBLIC)
+      && !elements.getPackageOf(element).getQualifiedName().contentEquals(packageName)) {
+      throw new InvalidBeanException(element.getSimpleName() + " is package private in another package than "
+        + beanName + " and is not accessible from the generated converter", element);
+    }
+    return true;
+  }
+
+  private boolean isAccessor(Element element) {
+    JsonIgnore ignore = element.getAnnotation(JsonIgnore.class);
+    if (ignore != null && !ignore.serialize()) return false;
+    JsonProperty property = element.getAnnotation(JsonProperty.class);
+    return property == null || property.serialize();
+  }
+
+  private boolean isMutator(Element element) {
+    JsonIgnore ignore = element.getAnnotation(JsonIgnore.class);
+    if (ignore != null && !ignore.deserialize()) return false;
+    JsonProperty property = element.getAnnotation(JsonProperty.class);
+    return property == null || property.deserialize();
+  }
+
+  private String name(String defaultName, Element element) {
+    JsonProperty property = element.getAnnotation(JsonProperty.class);
+    return property != null && !property.value().isEmpty() ? property.value() : defaultName;
+  }
+
+  private String propertyName(String methodName) {
+    int length = methodName.startsWith("is") ? 2 : 3;
+    return Character.toLowerCase(methodName.charAt(length)) + methodName.substring(length + 1);
+  }
+
+  private boolean isBoolean(TypeMirror type) {
+    return type.getKind() == TypeKind.BOOLEAN
+      || types.isSameType(type, elements.getTypeElement(Boolean.class.getName()).asType());
+  }
+
+  private String converterField(TypeMirror type, Element element) {
+    if (hasTypeVariable(type)) {
+      throw new InvalidBeanException("The type of " + element.getSimpleName() + " can not be resolved", element);
+    }
+    String key = boxedName(type);
+    String field = converterFields.get(key);
+    if (field == null) {
+      field = "converter" + converterFields.size();
+      converterFields.put(key, field);
+      converterTypes.put(key, typeLiteral(type));
+    }
+    return field;
+  }
+
+  private String boxedName(TypeMirror type) {
+    if (type.getKind().isPrimitive()) {
+      return types.boxedClass((PrimitiveType) type).getQualifiedName().toString();
+    }
+    return type.toString();
+  }
+
+  private String typeLiteral(TypeMirror type) {
+    TypeMirror erasure = types.erasure(type);
+    if (types.isSameType(type, erasure)) return erasure + ".class";
+    return "new com.owlike.genson.GenericType<" + type + ">() {}.getType()";
+  }
+
+  private boolean hasTypeVariable(TypeMirror type) {
+    switch (type.getKind()) {
+      case TYPEVAR:
+        return true;
+      case ARRAY:
+        return hasTypeVariable(((ArrayType) type).getComponentType());
+      case WILDCARD:
+        WildcardType wildcard = (WildcardType) type;
+        return (wildcard.getExtendsBound() != null && hasTypeVariable(wildcard.getExtendsBound()))
+          || (wildcard.getSuperBound() != null && hasTypeVariable(wildcard.getSuperBound()));
+      case DECLARED:
+        for (TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+          if (hasTypeVariable(argument)) return true;
+        }
+        return hasTypeVariable(((DeclaredType) type).getEnclosingType());
+      default:
+        return false;
+    }
+  }
+
+  private static String literal(String value) {
+    StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') sb.append('\\').append(c);
+      else if (c == '\n') sb.append("\\n");
+      else if (c == '\r') sb.append("\\r");
+      else if (c == '\t') sb.append("\\t");
+      else if (c == '\b') sb.append("\\b");
+      else if (c == '\f') sb.append("\\f");
+      // javac translates the unicode escapes before parsing, an escaped line break would end the literal
+      else if (c < 0x20) sb.append(String.format("\\%03o", (int) c));
+      else if (c > 0x7e) sb.append(String.format("\\u%04x", (int) c));
+      else sb.append(c);
+    }
+    return sb.append('"').toString();
+  }
+
+  private static class Property {
+    final String name;
+    Accessor accessor;
+    Mutator mutator;
+    String[] aliases = new String[0];
+
+    Property(String name) {
+      this.name = name;
+    }
+
+    List<String> keys() {
+      List<String> keys = new ArrayList<String>(aliases.length + 1);
+      keys.add(name);
+      Collections.addAll(keys, aliases);
+      return keys;
+    }
+  }
+
+  private static class Accessor {
+    final Element element;
+    final String expression;
+    final TypeMirror type;
+    String converter;
+
+    Accessor(Element element, String expression, TypeMirror type) {
+      this.element = element;
+      this.expression = expression;
+      this.type = type;
+    }
+  }
+
+  private static class Mutator {
+    final Element element;
+    final String member;
+    final boolean setter;
+    final TypeMirror type;
+    String converter;
+
+    Mutator(Element element, String member, boolean setter, TypeMirror type) {
+      this.element = element;
+      this.member = member;
+      this.setter = setter;
+      this.type = type;
+    }
+
+    String assignment(String value) {
+      return setter ? member + "(" + value + ")" : member + " = " + value;
+    }
+  }
+}
@@ -0,0 +1,135 @@
+package com.owlike.genson.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Generates a Converter for each class annotated with {@link GenerateConverter} and, for each package
+ * containing such classes, a GeneratedConvertersBundle registering them. See {@link GenerateConverter} for the
+ * supported classes.
+ * <p/>
+ * The processor is registered as a service, having genson-processor on the compilation classpath is enough to
+ * enable it.
+ *
+ * @author eugen
+ */
+@SupportedAnnotationTypes("com.owlike.genson.processor.GenerateConverter")
+public class ConverterProcessor extends AbstractProcessor {
+  static final String BUNDLE_NAME = "GeneratedConvertersBundle";
+
+  private final Set<String> bundledPackages = new HashSet<String>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    Map<String, List<String>> convertersByPackage = new TreeMap<String, List<String>>();
+    Map<String, Element> originatingElements = new TreeMap<String, Element>();
+
+    for (Element element : roundEnv.getElementsAnnotatedWith(GenerateConverter.class)) {
+      if (element.getKind() != ElementKind.CLASS) {
+        error("@GenerateConverter can only be used on classes", element);
+        continue;
+      }
+
+      try {
+        ConverterGenerator generator = new ConverterGenerator(processingEnv, (TypeElement) element);
+        String source = generator.generate();
+        write(generator.qualifiedName(), source, element);
+
+        String packageName = generator.packageName();
+        List<String> converters = convertersByPackage.get(packageName);
+        if (converters == null) {
+          converters = new ArrayList<String>();
+          convertersByPackage.put(packageName, converters);
+          originatingElements.put(packageName, element);
+        }
+        converters.add(generator.simpleName());
+      } catch (InvalidBeanException e) {
+        error(e.getMessage(), e.element);
+      }
+    }
+
+    for (Map.Entry<String, List<String>> entry : convertersByPackage.entrySet()) {
+      String packageName = entry.getKey();
+      Element element = originatingElements.get(packageName);
+      if (!bundledPackages.add(packageName)) {
+        error("Converters for package " + packageName + " have already been bundled in a previous round, "
+          + "@GenerateConverter can not be used on generated classes", element);
+        continue;
+      }
+      write(qualify(packageName, BUNDLE_NAME), bundleSource(packageName, entry.getValue()), element);
+    }
+
+    return true;
+  }
+
+  private String bundleSource(String packageName, List<String> converters) {
+    StringBuilder sb = new StringBuilder();
+    if (!packageName.isEmpty()) sb.append("package ").append(packageName).append(";\n\n");
+    sb.append("/**\n")
+      .append(" * Registers the converters generated for the classes of this package annotated with\n")
+      .append(" * {@link com.owlike.genson.processor.GenerateConverter}.\n")
+      .append(" */\n")
+      .append("public final class ").append(BUNDLE_NAME).append(" extends com.owlike.genson.ext.GensonBundle {\n")
+      .append("  @Override\n")
+      .append("  public void configure(com.owlike.genson.GensonBuilder builder) {\n");
+    for (String converter : converters) {
+      sb.append("    builder.withConverterFactory(new ").append(converter).append(".Factory());\n");
+    }
+    sb.append("  }\n")
+      .append("}\n");
+    return sb.toString();
+  }
+
+  private void write(String qualifiedName, String source, Element originatingElement) {
+    try {
+      JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, originatingElement);
+      Writer writer = file.openWriter();
+      try {
+        writer.write(source);
+      } finally {
+        writer.close();
+      }
+    } catch (IOException e) {
+      error("Could not write " + qualifiedName + ": " + e.getMessage(), originatingElement);
+    }
+  }
+
+  private void error(String message, Element element) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+  }
+
+  static String qualify(String packageName, String simpleName) {
+    return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+  }
+
+  static class InvalidBeanException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    final Element element;
+
+    InvalidBeanException(String message, Element element) {
+      super(message);
+      this.element = element;
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package com.owlike.genson.processor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class for which {@link ConverterProcessor} will generate a Converter at compile time. The
+ * generated converter reads and writes the properties directly (fields, getters and setters) and selects
+ * the property to deserialize with a switch over the property names, so no introspection happens when Genson
+ * is created and no reflection is used while serializing or deserializing.
+ * <p/>
+ * The generated converters of a package are registered by the GeneratedConvertersBundle created in the same
+ * package:
+ * <p/>
+ * <pre>
+ * Genson genson = new GensonBuilder().withBundle(new GeneratedConvertersBundle()).create();
+ * </pre>
+ * <p/>
+ * The annotated class must be a non abstract, non private, static (if nested) and non generic class with a
+ * no arg constructor that is not private. The properties are resolved as with the default Genson
+ * configuration: public and package private fields and get/is/set methods, methods having precedence over
+ * fields, {@link com.owlike.genson.annotation.JsonProperty JsonProperty} and
+ * {@link com.owlike.genson.annotation.JsonIgnore JsonIgnore} are supported. Bean views and
+ * {@link com.owlike.genson.reflect.RuntimePropertyFilter RuntimePropertyFilter} are not applied to generated
+ * converters.
+ *
+ * @author eugen
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+@Documented
+public @interface GenerateConverter {
+}
@@ -0,0 +1,14 @@
+package com.owlike.genson.processor;
+
+public class BaseBean {
+  public long id;
+  private String owner;
+
+  public String getOwner() {
+    return owner;
+  }
+
+  public void setOwner(String owner) {
+    this.owner = owner;
+  }
+}
@@ -0,0 +1,13 @@
+package com.owlike.genson.processor;
+
+import com.owlike.genson.annotation.JsonProperty;
+
+@GenerateConverter
+public class ControlCharacters {
+  @JsonProperty("a\nb")
+  public String lineFeed;
+  @JsonProperty(value = "c\rd", aliases = {"c\r\nd"})
+  public String carriageReturn;
+  @JsonProperty("\t\b\f\u0001\u001f\u007fé")
+  public String others;
+}
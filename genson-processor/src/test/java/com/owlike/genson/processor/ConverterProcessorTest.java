@@ -0,0 +1,127 @@
+package com.owlike.genson.processor;
+
+import com.owlike.genson.Genson;
+import com.owlike.genson.GensonBuilder;
+import com.owlike.genson.JsonBindingException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ConverterProcessorTest {
+  private final Genson genson = new GensonBuilder().withBundle(new GeneratedConvertersBundle()).create();
+  private final Genson reflectionGenson = new Genson();
+
+  @Test
+  public void generatedConverterShouldProduceSameJsonAsReflection() {
+    Person person = createPerson();
+
+    String json = genson.serialize(person);
+    assertEquals(reflectionGenson.serialize(person), json);
+    assertTrue(json.contains("\"e-mail\":\"j@doe.com\""));
+    assertFalse(json.contains("secret"));
+    assertFalse(json.contains("cache"));
+  }
+
+  @Test
+  public void generatedConverterShouldReadWhatReflectionWrites() {
+    Person person = createPerson();
+    Person actual = genson.deserialize(reflectionGenson.serialize(person), Person.class);
+
+    assertEquals(person.name, actual.name);
+    assertEquals(person.age, actual.age);
+    assertEquals(person.id, actual.id);
+    assertEquals(person.getOwner(), actual.getOwner());
+    assertEquals(person.nicknames, actual.nicknames);
+    assertEquals(person.scores, actual.scores);
+    assertEquals(person.email, actual.email);
+    assertTrue(actual.isActive());
+    assertArrayEquals(person.getWeights(), actual.getWeights(), 0);
+    assertEquals("Main street", actual.address.street);
+    assertEquals(5, actual.address.number);
+    assertEquals("Jane", actual.partner.name);
+    assertNull(actual.partner.partner);
+    assertNull(actual.password);
+  }
+
+  @Test
+  public void generatedConverterShouldHandleAliasesNullsAndUnknownProperties() {
+    Person person = genson.deserialize("{\"mail\":\"a@b.c\",\"age\":null,\"unknown\":[1,{\"a\":2}],\"password\":\"x\"}",
+      Person.class);
+    assertEquals("a@b.c", person.email);
+    assertEquals(0, person.age);
+    assertNull(person.password);
+
+    Genson strict = new GensonBuilder().withBundle(new GeneratedConvertersBundle()).failOnMissingProperty(true).create();
+    try {
+      strict.deserialize("{\"unknown\":1}", Person.class);
+      fail();
+    } catch (JsonBindingException e) {
+    }
+  }
+
+  @Test
+  public void generatedConverterShouldHonorSkipNull() {
+    Genson skipNull = new GensonBuilder().withBundle(new GeneratedConvertersBundle()).setSkipNull(true).create();
+    Person.Address address = new Person.Address(null, 1);
+    assertEquals("{\"number\":1}", skipNull.serialize(address));
+    assertEquals("{\"number\":1,\"street\":null}", genson.serialize(address));
+  }
+
+  @Test
+  public void factoryShouldOnlyCreateConvertersForTheAnnotatedClass() {
+    assertNotNull(new Person_GensonConverter.Factory().create(Person.class, genson));
+    assertNull(new Person_GensonConverter.Factory().create(SubPerson.class, genson));
+    assertNotNull(new Person_Address_GensonConverter.Factory().create(Person.Address.class, genson));
+
+    SubPerson sub = new SubPerson();
+    sub.nickname = "JD";
+    assertEquals(reflectionGenson.serialize(sub), genson.serialize(sub));
+  }
+
+  @Test
+  public void generatedConverterShouldHandleControlCharactersInNames() {
+    ControlCharacters value = new ControlCharacters();
+    value.lineFeed = "1";
+    value.carriageReturn = "2";
+    value.others = "3";
+
+    String json = genson.serialize(value);
+    assertEquals(reflectionGenson.serialize(value), json);
+    ControlCharacters actual = genson.deserialize(json, ControlCharacters.class);
+    assertEquals("1", actual.lineFeed);
+    assertEquals("2", actual.carriageReturn);
+    assertEquals("3", actual.others);
+    assertEquals("4", genson.deserialize("{\"c\\r\\nd\":\"4\"}", ControlCharacters.class).carriageReturn);
+  }
+
+  private Person createPerson() {
+    Person partner = new Person();
+    partner.name = "Jane";
+
+    Person person = new Person();
+    person.id = 7;
+    person.setOwner("admin");
+    person.name = "John";
+    person.age = 42;
+    person.nicknames = Arrays.asList("J", "Johnny");
+    Map<String, Integer> scores = new HashMap<String, Integer>();
+    scores.put("math", 12);
+    person.scores = scores;
+    person.address = new Person.Address("Main street", 5);
+    person.partner = partner;
+    person.email = "j@doe.com";
+    person.password = "secret";
+    person.cache = "cache";
+    person.setActive(true);
+    person.setWeights(new double[]{1.5, 2});
+    return person;
+  }
+
+  public static class SubPerson extends Person {
+    public String nickname;
+  }
+}
@@ -0,0 +1,58 @@
+package com.owlike.genson.processor;
+
+import com.owlike.genson.annotation.JsonIgnore;
+import com.owlike.genson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+
+@GenerateConverter
+public class Person extends BaseBean {
+  public String name;
+  int age;
+  public List<String> nicknames;
+  public Map<String, Integer> scores;
+  public Address address;
+  public Person partner;
+  @JsonProperty(value = "e-mail", aliases = {"mail"})
+  public String email;
+  @JsonIgnore
+  public String password;
+  public transient String cache;
+  private boolean active;
+  private double[] weights;
+
+  public boolean isActive() {
+    return active;
+  }
+
+  public void setActive(boolean active) {
+    this.active = active;
+  }
+
+  public double[] getWeights() {
+    return weights;
+  }
+
+  public void setWeights(double[] weights) {
+    this.weights = weights;
+  }
+
+  public String getDisplayName() {
+    return name + " (" + age + ")";
+  }
+
+  @GenerateConverter
+  public static class Address {
+    public String street;
+    public int number;
+
+    Address() {
+    }
+
+    public Address(String street, int number) {
+      this.street = street;
+      this.number = number;
+    }
+  }
+}
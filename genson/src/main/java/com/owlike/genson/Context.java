@@ -1,6 +1,7 @@
 package com.owlike.genson;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +25,13 @@
  * try-store-finally-remove block if you stick with ThreadLocalHolder.
  * <p/>
  * <p/>
+ * Values can also be stored using a typed {@link ContextKey}, this is the preferred way for values
+ * accessed frequently as it avoids hashing a string and casting the value on each access.
+ * The storage is allocated only when something is stored, so creating a Context is cheap. A Context can
+ * also be reused for a batch of calls to genson, for example to share the values computed once per context
+ * (like the properties included by a {@link com.owlike.genson.reflect.CompilableRuntimePropertyFilter}),
+ * use {@link #clear()} if you want to remove the stored values between two calls.
+ * <p/>
  * This class stores also the views present in the current context, those views will be applied to
  * the matching objects during serialization and deserialization.
  *
@@ -31,11 +39,14 @@
  * @see com.owlike.genson.BeanView BeanView
  * @see com.owlike.genson.convert.BeanViewConverter BeanViewConverter
  * @see com.owlike.genson.ThreadLocalHolder ThreadLocalHolder
+ * @see com.owlike.genson.ContextKey ContextKey
  */
 public class Context {
   public final Genson genson;
   private List<Class<? extends BeanView<?>>> views;
-  private Map<String, Object> _ctxData = new HashMap<String, Object>();
+  // both are lazily allocated as most contexts never store anything
+  private Map<String, Object> _ctxData;
+  private Object[] _slots;
 
   public Context(Genson genson) {
     this(genson, null);
@@ -70,9 +81,8 @@ public List<Class<? extends BeanView<?>>> views() {
    */
   public Object store(String key, Object o) {
     checkNotNull(key);
-    Object old = _ctxData.get(key);
-    _ctxData.put(key, o);
-    return old;
+    if (_ctxData == null) _ctxData = new HashMap<String, Object>();
+    return _ctxData.put(key, o);
   }
 
   /**
@@ -86,7 +96,7 @@ public Object store(String key, Object o) {
    */
   public <T> T get(String key, Class<T> valueType) {
     checkNotNull(key, valueType);
-    return valueType.cast(_ctxData.get(key));
+    return _ctxData != null ? valueType.cast(_ctxData.get(key)) : null;
   }
 
   /**
@@ -102,8 +112,61 @@ public <T> T get(String key, Class<T> valueType) {
    */
   public <T> T remove(String key, Class<T> valueType) {
     checkNotNull(key, valueType);
+    if (_ctxData == null) return null;
     T value = valueType.cast(_ctxData.get(key));
     _ctxData.remove(key);
     return value;
   }
+
+  /**
+   * Puts the value in the current context for this key.
+   *
+   * @param key   must be not null
+   * @param value
+   * @return the old value associated with that key or null.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T store(ContextKey<T> key, T value) {
+    int index = key.index;
+    if (_slots == null) _slots = new Object[Math.max(8, index + 1)];
+    else if (index >= _slots.length) {
+      Object[] newSlots = new Object[Math.max(_slots.length * 2, index + 1)];
+      System.arraycopy(_slots, 0, newSlots, 0, _slots.length);
+      _slots = newSlots;
+    }
+    T old = (T) _slots[index];
+    _slots[index] = value;
+    return old;
+  }
+
+  /**
+   * @param key must be not null
+   * @return the value associated to this key or null.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(ContextKey<T> key) {
+    int index = key.index;
+    return _slots != null && index < _slots.length ? (T) _slots[index] : null;
+  }
+
+  /**
+   * Removes the value associated to this key from the context.
+   *
+   * @param key must be not null
+   * @return the removed value or null.
+   */
+  public <T> T remove(ContextKey<T> key) {
+    T value = get(key);
+    if (value != null) _slots[key.index] = null;
+    return value;
+  }
+
+  /**
+   * Removes all the values stored in this context, the views are kept. Useful when the same context is reused
+   * across several calls.
+   */
+  public void clear() {
+    if (_ctxData != null) _ctxData.clear();
+    if (_slots != null) Arrays.fill(_slots, null);
+  }
 }
@@ -0,0 +1,47 @@
+package com.owlike.genson;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.owlike.genson.Operations.checkNotNull;
+
+/**
+ * A typed key used to store and retrieve values from a {@link Context}. Values stored with a ContextKey are kept in
+ * a small array indexed by the key, which is much cheaper than the string keyed {@link Context#store(String, Object)}
+ * and doesn't require to cast the retrieved values.
+ * <p/>
+ * Each key gets its own slot, so keys should be created once and kept in static final fields, for example:
+ * <p/>
+ * <pre>
+ * private final static ContextKey&lt;Integer&gt; DEPTH = new ContextKey&lt;Integer&gt;(&quot;depth&quot;);
+ *
+ * Integer depth = ctx.get(DEPTH);
+ * ctx.store(DEPTH, depth == null ? 1 : depth + 1);
+ * </pre>
+ *
+ * @param <T> the type of the values associated with this key.
+ * @author eugen
+ */
+public final class ContextKey<T> {
+  private final static AtomicInteger nextIndex = new AtomicInteger();
+
+  private final String name;
+  final int index;
+
+  /**
+   * @param name used only for debugging purpose, it does not need to be unique.
+   */
+  public ContextKey(String name) {
+    checkNotNull(name);
+    this.name = name;
+    this.index = nextIndex.getAndIncrement();
+  }
+
+  public String name() {
+    return name;
+  }
+
+  @Override
+  public String toString() {
+    return "ContextKey(" + name + ")";
+  }
+}
@@ -6,6 +6,7 @@
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
+import com.owlike.genson.reflect.AbstractBeanDescriptorProvider;
 import com.owlike.genson.reflect.BeanDescriptor;
 import com.owlike.genson.reflect.BeanDescriptorProvider;
 import com.owlike.genson.reflect.RuntimePropertyFilter;
@@ -72,6 +73,9 @@ public final class Genson {
   private final EncodingAwareReaderFactory readerFactory = new EncodingAwareReaderFactory();
   private final Map<Class<?>, Object> defaultValues;
   private final RuntimePropertyFilter runtimePropertyFilter;
+  private final boolean deduplicateStrings;
+  private final StringCache stringCache = new StringCache();
+  private final GensonMetrics metrics;
 
   /**
    * The default constructor will use the default configuration provided by the {@link GensonBuilder}.
@@ -81,7 +85,33 @@ public Genson() {
     this(_default.converterFactory, _default.beanDescriptorFactory,
       _default.skipNull, _default.htmlSafe, _default.aliasClassMap,
       _default.withClassMetadata, _default.strictDoubleParse, _default.indent,
-      _default.withMetadata, _default.failOnMissingProperty, _default.defaultValues, _default.runtimePropertyFilter);
+      _default.withMetadata, _default.failOnMissingProperty, _default.defaultValues, _default.runtimePropertyFilter,
+      _default.deduplicateStrings, _default.metrics);
+  }
+
+  /**
+   * @deprecated use {@link GensonBuilder} or the constructor taking the deduplicateStrings and metrics parameters.
+   */
+  @Deprecated
+  public Genson(Factory<Converter<?>> converterFactory, BeanDescriptorProvider beanDescProvider,
+                boolean skipNull, boolean htmlSafe, Map<String, Class<?>> classAliases, boolean withClassMetadata,
+                boolean strictDoubleParse, boolean indent, boolean withMetadata, boolean failOnMissingProperty,
+                Map<Class<?>, Object> defaultValues, RuntimePropertyFilter runtimePropertyFilter) {
+    this(converterFactory, beanDescProvider, skipNull, htmlSafe, classAliases, withClassMetadata, strictDoubleParse,
+      indent, withMetadata, failOnMissingProperty, defaultValues, runtimePropertyFilter, false, null);
+  }
+
+  /**
+   * @deprecated use {@link GensonBuilder} or the constructor taking the metrics parameter.
+   */
+  @Deprecated
+  public Genson(Factory<Converter<?>> converterFactory, BeanDescriptorProvider beanDescProvider,
+                boolean skipNull, boolean htmlSafe, Map<String, Class<?>> classAliases, boolean withClassMetadata,
+                boolean strictDoubleParse, boolean indent, boolean withMetadata, boolean failOnMissingProperty,
+                Map<Class<?>, Object> defaultValues, RuntimePropertyFilter runtimePropertyFilter,
+                boolean deduplicateStrings) {
+    this(converterFactory, beanDescProvider, skipNull, htmlSafe, classAliases, withClassMetadata, strictDoubleParse,
+      indent, withMetadata, failOnMissingProperty, defaultValues, runtimePropertyFilter, deduplicateStrings, null);
   }
 
   /**
@@ -108,11 +138,14 @@ public Genson() {
    * @param failOnMissingProperty throw a JsonBindingException when a key in the json stream does not match a property in the Java Class.
    * @param defaultValues contains a mapping from the raw class to the default value that should be used when the property is missing.
    * @param runtimePropertyFilter is used to define what bean properties should be excluded from ser/de at runtime.
+   * @param deduplicateStrings true if equal names and string values read from the stream should share the same instance.
+   * @param metrics receives the measurements of this instance, null to measure nothing.
    */
   public Genson(Factory<Converter<?>> converterFactory, BeanDescriptorProvider beanDescProvider,
                 boolean skipNull, boolean htmlSafe, Map<String, Class<?>> classAliases, boolean withClassMetadata,
                 boolean strictDoubleParse, boolean indent, boolean withMetadata, boolean failOnMissingProperty,
-                Map<Class<?>, Object> defaultValues, RuntimePropertyFilter runtimePropertyFilter) {
+                Map<Class<?>, Object> defaultValues, RuntimePropertyFilter runtimePropertyFilter,
+                boolean deduplicateStrings, GensonMetrics metrics) {
     this.converterFactory = converterFactory;
     this.beanDescriptorFactory = beanDescProvider;
     this.skipNull = skipNull;
@@ -129,6 +162,8 @@ public Genson(Factory<Converter<?>> converterFactory, BeanDescriptorProvider bea
     this.indent = indent;
     this.withMetadata = withClassMetadata || withMetadata;
     this.failOnMissingProperty = failOnMissingProperty;
+    this.deduplicateStrings = deduplicateStrings;
+    this.metrics = metrics;
   }
 
   /**
@@ -140,15 +175,19 @@ public Genson(Factory<Converter<?>> converterFactory, BeanDescriptorProvider bea
    */
   @SuppressWarnings("unchecked")
   public <T> Converter<T> provideConverter(Type forType) {
-    if (Boolean.TRUE.equals(ThreadLocalHolder.get("__GENSON$DO_NOT_CACHE_CONVERTER", Boolean.class))) {
+    if (AbstractBeanDescriptorProvider.isCreatingContextualConverter()) {
       return (Converter<T>) converterFactory.create(forType, this);
     } else {
       Converter<T> converter = (Converter<T>) converterCache.get(forType);
       if (converter == null) {
+        long start = metrics != null ? System.nanoTime() : 0;
         converter = (Converter<T>) converterFactory.create(forType, this);
         if (converter == null)
           throw new JsonBindingException("No converter found for type " + forType);
         converterCache.putIfAbsent(forType, converter);
+        if (metrics != null) metrics.converterCacheMiss(forType, converter, System.nanoTime() - start);
+      } else if (metrics != null && metrics.sample()) {
+        metrics.converterCacheHit(forType);
       }
       return converter;
     }
@@ -163,7 +202,7 @@ public <T> Converter<T> provideConverter(Type forType) {
    * @throws JsonStreamException                    if there was a problem during writing of the object to the output.
    */
   public String serialize(Object object) {
-    StringWriter sw = new StringWriter();
+    StringBuilderWriter sw = new StringBuilderWriter();
     ObjectWriter writer = createWriter(sw);
 
     if (object == null) serializeNull(writer);
@@ -182,7 +221,7 @@ public String serialize(Object object) {
    * @throws JsonStreamException
    */
   public String serialize(Object object, GenericType<?> type) {
-    StringWriter sw = new StringWriter();
+    StringBuilderWriter sw = new StringBuilderWriter();
     ObjectWriter writer = createWriter(sw);
 
     if (object == null) serializeNull(writer);
@@ -202,7 +241,7 @@ public String serialize(Object object, GenericType<?> type) {
    * @see BeanView
    */
   public String serialize(Object object, Class<? extends BeanView<?>> firstView, Class<? extends BeanView<?>>... withViews) {
-    StringWriter sw = new StringWriter();
+    StringBuilderWriter sw = new StringBuilderWriter();
     ObjectWriter writer = createWriter(sw);
 
     List<Class<? extends BeanView<?>>> views = new ArrayList(withViews.length);
@@ -270,6 +309,19 @@ public void serialize(Object object, ObjectWriter writer, Context ctx) {
    */
   public void serialize(Object object, Type type, ObjectWriter writer, Context ctx) {
     Serializer<Object> ser = provideConverter(type);
+    if (metrics != null && metrics.sample()) {
+      long chars = writer instanceof JsonWriter ? ((JsonWriter) writer).charsWritten() : -1;
+      long start = System.nanoTime();
+      serialize(ser, object, type, writer, ctx);
+      long nanos = System.nanoTime() - start;
+      if (chars >= 0) chars = ((JsonWriter) writer).charsWritten() - chars;
+      metrics.serialized(type, nanos, chars);
+    } else {
+      serialize(ser, object, type, writer, ctx);
+    }
+  }
+
+  private void serialize(Serializer<Object> ser, Object object, Type type, ObjectWriter writer, Context ctx) {
     try {
       ser.serialize(object, writer, ctx);
       writer.flush();
@@ -378,6 +430,19 @@ public <T> T deserialize(GenericType<T> type, Reader reader, Class<? extends Bea
 
   public <T> T deserialize(GenericType<T> type, ObjectReader reader, Context ctx) {
     Deserializer<T> deser = provideConverter(type.getType());
+    if (metrics != null && metrics.sample()) {
+      long chars = reader instanceof JsonReader ? ((JsonReader) reader).charsRead() : -1;
+      long start = System.nanoTime();
+      T value = deserialize(deser, type, reader, ctx);
+      long nanos = System.nanoTime() - start;
+      if (chars >= 0) chars = ((JsonReader) reader).charsRead() - chars;
+      metrics.deserialized(type.getType(), nanos, chars);
+      return value;
+    }
+    return deserialize(deser, type, reader, ctx);
+  }
+
+  private <T> T deserialize(Deserializer<T> deser, GenericType<T> type, ObjectReader reader, Context ctx) {
     try {
       return deser.deserialize(reader, ctx);
     } catch (Exception e) {
@@ -385,6 +450,54 @@ public <T> T deserialize(GenericType<T> type, ObjectReader reader, Context ctx)
     }
   }
 
+  /**
+   * Converts from into an instance of toClass, as if from was serialized and the json deserialized to toClass,
+   * but without producing any json text. Maps, collections, strings, numbers and booleans are read as they are,
+   * other values (pojos, enums, dates, etc) are first serialized to an in memory tree.
+   *
+   * @see #convert(Object, java.lang.reflect.Type)
+   */
+  public <T> T convert(Object from, Class<T> toClass) {
+    return convert(from, (Type) toClass);
+  }
+
+  /**
+   * @see #convert(Object, java.lang.reflect.Type)
+   */
+  public <T> T convert(Object from, GenericType<T> toType) {
+    return convert(from, toType.getType());
+  }
+
+  /**
+   * Converts from into an instance of toType. This is useful to bind a Map (or a JsonObject when the JSR 353
+   * bundle is registered) to a pojo and a pojo to a Map or to another pojo.
+   *
+   * @see TreeReader
+   * @see TreeWriter
+   */
+  public <T> T convert(Object from, Type toType) {
+    final Context ctx = new Context(this);
+    Object tree = TreeReader.valueTypeOf(from) != null ? from : toTree(from, ctx);
+    ObjectReader reader = new TreeReader(tree, withMetadata) {
+      @Override
+      protected Object toTreeNode(Object node) {
+        return toTree(node, ctx);
+      }
+    };
+    Deserializer<T> deser = provideConverter(toType);
+    try {
+      return deser.deserialize(reader, ctx);
+    } catch (Exception e) {
+      throw new JsonBindingException("Could not convert value to type " + toType, e);
+    }
+  }
+
+  private Object toTree(Object value, Context ctx) {
+    TreeWriter writer = new TreeWriter(skipNull);
+    serialize(value, writer, ctx);
+    return writer.root();
+  }
+
   /**
    * @see #deserializeInto(com.owlike.genson.stream.ObjectReader, Object, Context)
    */
@@ -575,7 +688,7 @@ public ObjectReader createReader(InputStream is, Charset charset) {
    * Creates a new ObjectReader with this Genson instance configuration.
    */
   public ObjectReader createReader(Reader reader) {
-    return new JsonReader(reader, strictDoubleParse, withMetadata);
+    return new JsonReader(reader, strictDoubleParse, withMetadata, deduplicateStrings ? stringCache : null);
   }
 
   public boolean isSkipNull() {
@@ -609,6 +722,28 @@ public RuntimePropertyFilter runtimePropertyFilter() {
     return runtimePropertyFilter;
   }
 
+  /**
+   * @return true if the readers created by this instance deduplicate names and string values.
+   */
+  public boolean isDeduplicateStrings() {
+    return deduplicateStrings;
+  }
+
+  /**
+   * @return the metrics receiving the measurements of this instance or null.
+   */
+  public GensonMetrics metrics() {
+    return metrics;
+  }
+
+  /**
+   * @return the cache used to deduplicate strings, it is shared by all the readers created by this instance and by
+   * the properties annotated with {@link com.owlike.genson.annotation.JsonDeduplicateStrings}. Intended for internal use.
+   */
+  public StringCache stringCache() {
+    return stringCache;
+  }
+
   /**
    * @deprecated use GensonBuilder
    */
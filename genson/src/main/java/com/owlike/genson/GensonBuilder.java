@@ -77,6 +77,9 @@ public class GensonBuilder {
   private final Map<Class<?>, Object> defaultValues = new HashMap<Class<?>, Object>();
   private boolean failOnNullPrimitive = false;
   private RuntimePropertyFilter runtimePropertyFilter = RuntimePropertyFilter.noFilter;
+  private boolean deduplicateStrings = false;
+  private boolean compactUntypedCollections = false;
+  private GensonMetrics metrics = null;
 
   public GensonBuilder() {
     defaultValues.put(int.class, 0);
@@ -696,6 +699,17 @@ public GensonBuilder acceptSingleValueAsList(boolean enable) {
     return this;
   }
 
+  /**
+   * When enabled, json objects and arrays deserialized to Object (for example the values of a Map&lt;String, Object&gt;
+   * or the result of genson.deserialize(json, Object.class)) will be immutable {@link com.owlike.genson.convert.CompactMap CompactMap}
+   * and {@link com.owlike.genson.convert.CompactList CompactList} instead of HashMap and ArrayList. They use a lot less
+   * memory, which is interesting when keeping large schemaless documents in memory. Disabled by default.
+   */
+  public GensonBuilder useCompactUntypedCollections(boolean enable) {
+    this.compactUntypedCollections = enable;
+    return this;
+  }
+
   /**
    * Uses the passed value as the default value for this type.
    */
@@ -748,6 +762,42 @@ public GensonBuilder useRuntimePropertyFilter(RuntimePropertyFilter filter) {
     return this;
   }
 
+  /**
+   * If true, equal property names and string values read from the stream will share the same String instance.
+   * This reduces the memory retained when deserializing lots of data with repeated keys and values
+   * (for example into Map&lt;String, Object&gt;), at the cost of a small overhead during parsing.
+   * The strings are deduplicated using a bounded cache, so high cardinality values will not make it grow.
+   * False by default, you can also enable it only for some properties with
+   * {@link com.owlike.genson.annotation.JsonDeduplicateStrings JsonDeduplicateStrings}.
+   *
+   * @see com.owlike.genson.stream.StringCache
+   */
+  public GensonBuilder useStringDeduplication(boolean enabled) {
+    this.deduplicateStrings = enabled;
+    return this;
+  }
+
+  /**
+   * Reports the time spent serializing and deserializing each type, the size of the json, the converter cache
+   * hits and misses and the time spent building converters, bean descriptors and resolving parameter names to
+   * metrics. Nothing is measured by default.
+   *
+   * @see InMemoryGensonMetrics
+   */
+  public GensonBuilder useMetrics(GensonMetrics metrics) {
+    this.metrics = metrics;
+    return this;
+  }
+
+  /**
+   * Same as {@link #useMetrics(GensonMetrics)} but only measures on average one serialization, deserialization
+   * and converter cache hit out of sampleOneIn, to reduce the overhead on hot paths.
+   */
+  public GensonBuilder useMetrics(GensonMetrics metrics, int sampleOneIn) {
+    this.metrics = GensonMetrics.sampled(metrics, sampleOneIn);
+    return this;
+  }
+
   /**
    * Creates an instance of Genson. You may use this method as many times you want. It wont
    * change the state of the builder, in sense that the returned instance will have always the
@@ -833,7 +883,8 @@ protected Genson create(Factory<Converter<?>> converterFactory,
                           Map<String, Class<?>> classAliases) {
     return new Genson(converterFactory, getBeanDescriptorProvider(),
       isSkipNull(), isHtmlSafe(), classAliases, withClassMetadata,
-      strictDoubleParse, indent, metadata, failOnMissingProperty, defaultValues, runtimePropertyFilter);
+      strictDoubleParse, indent, metadata, failOnMissingProperty, defaultValues, runtimePropertyFilter,
+      deduplicateStrings, metrics);
   }
 
   /**
@@ -894,7 +945,7 @@ protected PropertyNameResolver createPropertyNameResolver() {
     resolvers.add(new PropertyNameResolver.AnnotationPropertyNameResolver());
     resolvers.add(new PropertyNameResolver.ConventionalBeanPropertyNameResolver());
     if (withDebugInfoPropertyNameResolver)
-      resolvers.add(new ASMCreatorParameterNameResolver(isThrowExceptionOnNoDebugInfo()));
+      resolvers.add(new ASMCreatorParameterNameResolver(isThrowExceptionOnNoDebugInfo(), metrics));
 
     return new PropertyNameResolver.CompositePropertyNameResolver(resolvers);
   }
@@ -928,9 +979,11 @@ protected List<Converter<?>> getDefaultConverters() {
   protected void addDefaultConverterFactories(List<Factory<? extends Converter<?>>> factories) {
     factories.add(DefaultConverters.ArrayConverterFactory.instance);
     factories.add(DefaultConverters.CollectionConverterFactory.instance);
+    factories.add(DefaultConverters.IterationConverterFactory.instance);
     factories.add(DefaultConverters.MapConverterFactory.instance);
     factories.add(DefaultConverters.EnumConverterFactory.instance);
     factories.add(DefaultConverters.PrimitiveConverterFactory.instance);
+    if (compactUntypedCollections) factories.add(CompactUntypedConverter.CompactUntypedConverterFactory.instance);
     factories.add(DefaultConverters.UntypedConverterFactory.instance);
     factories.add(new DefaultConverters.CalendarConverterFactory(
       new DefaultConverters.DateConverter(dateFormat, useDateAsTimestamp)
@@ -940,6 +993,7 @@ protected void addDefaultConverterFactories(List<Factory<? extends Converter<?>>
   protected void addDefaultContextualFactories(List<ContextualFactory<?>> factories) {
     factories.add(new DefaultConverters.DateContextualFactory());
     factories.add(new DefaultConverters.PropertyConverterFactory());
+    factories.add(new DefaultConverters.StringDeduplicationContextualFactory());
   }
 
   protected List<Serializer<?>> getDefaultSerializers() {
@@ -0,0 +1,132 @@
+package com.owlike.genson;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Receives measurements from a Genson instance, install it with
+ * {@link GensonBuilder#useMetrics(GensonMetrics)}. All the methods do nothing by default, so you only need to
+ * override the ones you are interested in. Implementations are called concurrently from the threads using Genson
+ * and must be thread safe and fast, as they run inline with serialization and deserialization.
+ * <p/>
+ * When no metrics are installed Genson does not measure anything. {@link #sampled(GensonMetrics, int)} can be used
+ * to measure only a fraction of the serializations, deserializations and converter cache hits, converter and
+ * {@link com.owlike.genson.reflect.BeanDescriptor BeanDescriptor} creations are always reported as they happen
+ * only once per type.
+ * <p/>
+ * {@link InMemoryGensonMetrics} is a simple implementation aggregating the measurements per type.
+ *
+ * @author eugen
+ */
+public abstract class GensonMetrics {
+  /**
+   * Called before measuring a serialization, deserialization or converter cache hit.
+   *
+   * @return true if the operation must be measured and reported.
+   */
+  public boolean sample() {
+    return true;
+  }
+
+  /**
+   * An object of type has been serialized.
+   *
+   * @param nanos time spent serializing it, including flushing the writer.
+   * @param chars number of chars written, -1 if the writer does not count them.
+   */
+  public void serialized(Type type, long nanos, long chars) {
+  }
+
+  /**
+   * An object of type has been deserialized.
+   *
+   * @param nanos time spent deserializing it.
+   * @param chars number of chars consumed from the underlying source, -1 if the reader does not count them.
+   */
+  public void deserialized(Type type, long nanos, long chars) {
+  }
+
+  /**
+   * The converter for type was already in the converter cache.
+   */
+  public void converterCacheHit(Type type) {
+  }
+
+  /**
+   * The converter for type was not in the converter cache and has been built by the chain of factories.
+   *
+   * @param converter the converter that has been built, usually decorated by some of the chained factories.
+   * @param nanos     time spent building the converter, including the nested converters and bean descriptors.
+   */
+  public void converterCacheMiss(Type type, Converter<?> converter, long nanos) {
+  }
+
+  /**
+   * The parameter names of the constructors and methods of ofClass have been read from its bytecode by
+   * {@link com.owlike.genson.reflect.ASMCreatorParameterNameResolver ASMCreatorParameterNameResolver}.
+   */
+  public void parameterNamesResolved(Class<?> ofClass, long nanos) {
+  }
+
+  /**
+   * A BeanDescriptor has been built for type.
+   *
+   * @param nanos time spent building it, including the converters of its properties.
+   */
+  public void beanDescriptorBuilt(Type type, long nanos) {
+  }
+
+  /**
+   * @return metrics measuring on average one serialization, deserialization and converter cache hit out of
+   * oneIn and reporting them to delegate.
+   */
+  public static GensonMetrics sampled(GensonMetrics delegate, int oneIn) {
+    if (oneIn < 1) throw new IllegalArgumentException("The sampling rate must be strictly positive.");
+    return oneIn == 1 ? delegate : new SampledMetrics(delegate, oneIn);
+  }
+
+  private static class SampledMetrics extends GensonMetrics {
+    private final GensonMetrics delegate;
+    private final int oneIn;
+
+    SampledMetrics(GensonMetrics delegate, int oneIn) {
+      this.delegate = delegate;
+      this.oneIn = oneIn;
+    }
+
+    @Override
+    public boolean sample() {
+      return ThreadLocalRandom.current().nextInt(oneIn) == 0 && delegate.sample();
+    }
+
+    @Override
+    public void serialized(Type type, long nanos, long chars) {
+      delegate.serialized(type, nanos, chars);
+    }
+
+    @Override
+    public void deserialized(Type type, long nanos, long chars) {
+      delegate.deserialized(type, nanos, chars);
+    }
+
+    @Override
+    public void converterCacheHit(Type type) {
+      delegate.converterCacheHit(type);
+    }
+
+    @Override
+    public void converterCacheMiss(Type type, Converter<?> converter, long nanos) {
+      delegate.converterCacheMiss(type, converter, nanos);
+    }
+
+    @Override
+    public void parameterNamesResolved(Class<?> ofClass, long nanos) {
+      delegate.parameterNamesResolved(ofClass, nanos);
+    }
+
+    @Override
+    public void beanDescriptorBuilt(Type type, long nanos) {
+      delegate.beanDescriptorBuilt(type, nanos);
+    }
+  }
+}
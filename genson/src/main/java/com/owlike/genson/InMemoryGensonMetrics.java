@@ -0,0 +1,154 @@
+package com.owlike.genson;
+
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates the measurements reported by Genson per type, in memory. It is meant to be read periodically and
+ * exported to your monitoring system, for example:
+ * <p/>
+ * <pre>
+ * InMemoryGensonMetrics metrics = new InMemoryGensonMetrics();
+ * Genson genson = new GensonBuilder().useMetrics(metrics, 100).create();
+ *
+ * for (Map.Entry&lt;Type, InMemoryGensonMetrics.Stats&gt; e : metrics.serializations().entrySet()) {
+ *   report(e.getKey(), e.getValue().count(), e.getValue().meanNanos());
+ * }
+ * </pre>
+ *
+ * @author eugen
+ */
+public class InMemoryGensonMetrics extends GensonMetrics {
+  private final ConcurrentHashMap<Type, Stats> serializations = new ConcurrentHashMap<Type, Stats>();
+  private final ConcurrentHashMap<Type, Stats> deserializations = new ConcurrentHashMap<Type, Stats>();
+  private final ConcurrentHashMap<Type, Stats> converterBuilds = new ConcurrentHashMap<Type, Stats>();
+  private final ConcurrentHashMap<Type, Stats> descriptorBuilds = new ConcurrentHashMap<Type, Stats>();
+  private final LongAdder converterCacheHits = new LongAdder();
+
+  @Override
+  public void serialized(Type type, long nanos, long chars) {
+    stats(serializations, type).add(nanos, chars);
+  }
+
+  @Override
+  public void deserialized(Type type, long nanos, long chars) {
+    stats(deserializations, type).add(nanos, chars);
+  }
+
+  @Override
+  public void converterCacheHit(Type type) {
+    converterCacheHits.increment();
+  }
+
+  @Override
+  public void converterCacheMiss(Type type, Converter<?> converter, long nanos) {
+    stats(converterBuilds, type).add(nanos, -1);
+  }
+
+  @Override
+  public void beanDescriptorBuilt(Type type, long nanos) {
+    stats(descriptorBuilds, type).add(nanos, -1);
+  }
+
+  public Map<Type, Stats> serializations() {
+    return snapshot(serializations);
+  }
+
+  public Map<Type, Stats> deserializations() {
+    return snapshot(deserializations);
+  }
+
+  /**
+   * @return the converters built per type, their count is the number of converter cache misses.
+   */
+  public Map<Type, Stats> converterBuilds() {
+    return snapshot(converterBuilds);
+  }
+
+  public Map<Type, Stats> beanDescriptorBuilds() {
+    return snapshot(descriptorBuilds);
+  }
+
+  /**
+   * @return the number of converter cache hits that have been sampled.
+   */
+  public long converterCacheHits() {
+    return converterCacheHits.sum();
+  }
+
+  public void reset() {
+    serializations.clear();
+    deserializations.clear();
+    converterBuilds.clear();
+    descriptorBuilds.clear();
+    converterCacheHits.reset();
+  }
+
+  private Stats stats(ConcurrentHashMap<Type, Stats> statsByType, Type type) {
+    Stats stats = statsByType.get(type);
+    if (stats == null) {
+      stats = new Stats();
+      Stats previous = statsByType.putIfAbsent(type, stats);
+      if (previous != null) stats = previous;
+    }
+    return stats;
+  }
+
+  private Map<Type, Stats> snapshot(ConcurrentHashMap<Type, Stats> statsByType) {
+    return Collections.unmodifiableMap(new HashMap<Type, Stats>(statsByType));
+  }
+
+  /**
+   * Statistics of an operation on a type, the values are updated concurrently and may be slightly inconsistent
+   * with each other while they are read.
+   */
+  public static class Stats {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final LongAdder totalChars = new LongAdder();
+
+    void add(long nanos, long chars) {
+      count.increment();
+      totalNanos.add(nanos);
+      long max = maxNanos.get();
+      while (nanos > max && !maxNanos.compareAndSet(max, nanos)) max = maxNanos.get();
+      if (chars > 0) totalChars.add(chars);
+    }
+
+    public long count() {
+      return count.sum();
+    }
+
+    public long totalNanos() {
+      return totalNanos.sum();
+    }
+
+    public long maxNanos() {
+      return maxNanos.get();
+    }
+
+    public long meanNanos() {
+      long c = count.sum();
+      return c > 0 ? totalNanos.sum() / c : 0;
+    }
+
+    /**
+     * @return the number of chars written or read, when it was known.
+     */
+    public long totalChars() {
+      return totalChars.sum();
+    }
+
+    @Override
+    public String toString() {
+      return "Stats{count=" + count() + ", meanNanos=" + meanNanos() + ", maxNanos=" + maxNanos()
+        + ", totalChars=" + totalChars() + "}";
+    }
+  }
+}
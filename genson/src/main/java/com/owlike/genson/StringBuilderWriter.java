@@ -0,0 +1,72 @@
+package com.owlike.genson;
+
+import java.io.Writer;
+
+/**
+ * Same as java.io.StringWriter but backed by a StringBuilder instead of a StringBuffer, as the
+ * writer is used by a single thread there is no need to synchronize each write.
+ *
+ * @author eugen
+ */
+final class StringBuilderWriter extends Writer {
+  private final StringBuilder sb;
+
+  StringBuilderWriter() {
+    this(64);
+  }
+
+  StringBuilderWriter(int initialCapacity) {
+    sb = new StringBuilder(initialCapacity);
+  }
+
+  @Override
+  public void write(int c) {
+    sb.append((char) c);
+  }
+
+  @Override
+  public void write(char[] cbuf, int off, int len) {
+    sb.append(cbuf, off, len);
+  }
+
+  @Override
+  public void write(String str) {
+    sb.append(str);
+  }
+
+  @Override
+  public void write(String str, int off, int len) {
+    sb.append(str, off, off + len);
+  }
+
+  @Override
+  public Writer append(CharSequence csq) {
+    sb.append(csq);
+    return this;
+  }
+
+  @Override
+  public Writer append(CharSequence csq, int start, int end) {
+    sb.append(csq, start, end);
+    return this;
+  }
+
+  @Override
+  public Writer append(char c) {
+    sb.append(c);
+    return this;
+  }
+
+  @Override
+  public void flush() {
+  }
+
+  @Override
+  public void close() {
+  }
+
+  @Override
+  public String toString() {
+    return sb.toString();
+  }
+}
@@ -10,6 +10,9 @@
  * If you only want to share data across serializers and deserializers prefer using {@link Context}.
  * Internally Genson uses it for the spring webmvc integration, so it can pass method signatures and
  * extract its annotations, etc.
+ * <p/>
+ * The map of a thread is allocated when something is stored and released as soon as it is empty, so threads
+ * (for example short lived virtual threads) don't keep it once the data has been removed.
  *
  * @author eugen
  * @see Context
@@ -26,15 +29,18 @@ public static Object store(String key, Object parameter) {
 
   public static <T> T remove(String key, Class<T> valueType) {
     checkNotNull(key, valueType);
-    Map<String, Object> map = getPutIfMissing();
+    Map<String, Object> map = _data.get();
+    if (map == null) return null;
     T value = valueType.cast(map.get(key));
     map.remove(key);
+    if (map.isEmpty()) _data.remove();
     return value;
   }
 
   public static <T> T get(String key, Class<T> valueType) {
     checkNotNull(key, valueType);
-    return valueType.cast(getPutIfMissing().get(key));
+    Map<String, Object> map = _data.get();
+    return map != null ? valueType.cast(map.get(key)) : null;
   }
 
   private static Map<String, Object> getPutIfMissing() {
@@ -0,0 +1,25 @@
+package com.owlike.genson.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Can be used on a property to indicate that equal names and string values read while deserializing
+ * its value should share the same String instance. This is useful for properties holding large
+ * structures with many repeated keys and values, for example a Map&lt;String, Object&gt; or a list
+ * of beans, when string deduplication is not enabled globally with
+ * {@link com.owlike.genson.GensonBuilder#useStringDeduplication(boolean)}.
+ *
+ * @author eugen
+ * @see com.owlike.genson.stream.StringCache
+ */
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface JsonDeduplicateStrings {
+}
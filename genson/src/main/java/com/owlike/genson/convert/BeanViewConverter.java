@@ -2,6 +2,7 @@
 
 import java.lang.reflect.Type;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.owlike.genson.BeanView;
 import com.owlike.genson.Context;
@@ -44,8 +45,14 @@ protected Converter<?> create(Type type, Genson genson, Converter<?> nextConvert
     }
   }
 
+  private final static Object NO_MATCH = new Object();
+
   private final BeanViewDescriptorProvider provider;
   private final Type type;
+  // view class -> descriptor to use for this type with that view or NO_MATCH
+  private final ConcurrentHashMap<Class<?>, Object> descriptorsByView = new ConcurrentHashMap<Class<?>, Object>();
+  // the same list of views is usually used for all the objects of a context, so we remember the last result
+  private volatile ResolvedViews lastResolvedViews;
 
   public BeanViewConverter(Type type, BeanViewDescriptorProvider provider, Converter<T> next) {
     super(next);
@@ -57,10 +64,7 @@ public BeanViewConverter(Type type, BeanViewDescriptorProvider provider, Convert
   protected Class<? extends BeanView<T>> findViewFor(Type type,
                                                      List<Class<? extends BeanView<?>>> views) {
     for (Class<? extends BeanView<?>> v : views) {
-      Type searchedType = TypeUtil.lookupGenericType(BeanView.class, v);
-      searchedType = TypeUtil.expandType(searchedType, v);
-      searchedType = TypeUtil.typeOf(0, searchedType);
-      if (TypeUtil.match(type, searchedType, false)) {
+      if (isViewFor(type, v)) {
         return (Class<? extends BeanView<T>>) v;
       }
     }
@@ -68,37 +72,66 @@ protected Class<? extends BeanView<T>> findViewFor(Type type,
   }
 
   public void serialize(T obj, ObjectWriter writer, Context ctx) throws Exception {
-    boolean handled = false;
-    List<Class<? extends BeanView<?>>> views = ctx.views();
-    if (views != null && views.size() > 0) {
-      Class<? extends BeanView<T>> viewClass = findViewFor(type, views);
-      if (viewClass != null) {
-        Type viewForType = TypeUtil.expandType(BeanView.class.getTypeParameters()[0],
-          viewClass);
-        @SuppressWarnings("unchecked")
-        Class<T> viewForClass = (Class<T>) TypeUtil.getRawClass(viewForType);
-        BeanDescriptor<T> descriptor = provider
-          .provide(viewForClass, viewClass, ctx.genson);
-        descriptor.serialize(obj, writer, ctx);
-        handled = true;
-      }
-    }
-    if (!handled) wrapped.serialize(obj, writer, ctx);
+    BeanDescriptor<T> descriptor = ctx.hasViews() ? descriptorFor(ctx.views(), ctx.genson) : null;
+    if (descriptor != null) descriptor.serialize(obj, writer, ctx);
+    else wrapped.serialize(obj, writer, ctx);
   }
 
   public T deserialize(ObjectReader reader, Context ctx) throws Exception {
-    if (ctx.hasViews()) {
-      Class<? extends BeanView<T>> viewClass = findViewFor(type, ctx.views());
-      if (viewClass != null) {
-        Type viewForType = TypeUtil.expandType(BeanView.class.getTypeParameters()[0],
-          viewClass);
-        @SuppressWarnings("unchecked")
-        Class<T> viewForClass = (Class<T>) TypeUtil.getRawClass(viewForType);
-        BeanDescriptor<T> descriptor = provider
-          .provide(viewForClass, viewClass, ctx.genson);
-        return descriptor.deserialize(reader, ctx);
+    BeanDescriptor<T> descriptor = ctx.hasViews() ? descriptorFor(ctx.views(), ctx.genson) : null;
+    if (descriptor != null) return descriptor.deserialize(reader, ctx);
+    return wrapped.deserialize(reader, ctx);
+  }
+
+  /**
+   * @return the descriptor of the first view applicable to this type or null if there is none.
+   */
+  @SuppressWarnings("unchecked")
+  protected BeanDescriptor<T> descriptorFor(List<Class<? extends BeanView<?>>> views, Genson genson) {
+    ResolvedViews last = lastResolvedViews;
+    if (last != null && last.views == views && last.size == views.size())
+      return (BeanDescriptor<T>) last.descriptor;
+
+    BeanDescriptor<T> descriptor = null;
+    for (Class<? extends BeanView<?>> view : views) {
+      Object viewDescriptor = descriptorsByView.get(view);
+      if (viewDescriptor == null) {
+        viewDescriptor = isViewFor(type, view) ? createDescriptor(view, genson) : NO_MATCH;
+        descriptorsByView.put(view, viewDescriptor);
+      }
+      if (viewDescriptor != NO_MATCH) {
+        descriptor = (BeanDescriptor<T>) viewDescriptor;
+        break;
       }
     }
-    return wrapped.deserialize(reader, ctx);
+
+    lastResolvedViews = new ResolvedViews(views, descriptor);
+    return descriptor;
+  }
+
+  @SuppressWarnings("unchecked")
+  private BeanDescriptor<T> createDescriptor(Class<? extends BeanView<?>> viewClass, Genson genson) {
+    Type viewForType = TypeUtil.expandType(BeanView.class.getTypeParameters()[0], viewClass);
+    Class<T> viewForClass = (Class<T>) TypeUtil.getRawClass(viewForType);
+    return provider.provide(viewForClass, viewClass, genson);
+  }
+
+  private static boolean isViewFor(Type type, Class<? extends BeanView<?>> view) {
+    Type searchedType = TypeUtil.lookupGenericType(BeanView.class, view);
+    searchedType = TypeUtil.expandType(searchedType, view);
+    searchedType = TypeUtil.typeOf(0, searchedType);
+    return TypeUtil.match(type, searchedType, false);
+  }
+
+  private final static class ResolvedViews {
+    final List<?> views;
+    final int size;
+    final BeanDescriptor<?> descriptor;
+
+    ResolvedViews(List<?> views, BeanDescriptor<?> descriptor) {
+      this.views = views;
+      this.size = views.size();
+      this.descriptor = descriptor;
+    }
   }
 }
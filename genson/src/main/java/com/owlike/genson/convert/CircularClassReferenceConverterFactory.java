@@ -56,13 +56,13 @@ public Converter<?> create(Type type, Genson genson) {
       _circularConverters.set(map);
     }
 
-    if (_circularConverters.get().containsKey(type)) {
-      return _circularConverters.get().get(type);
+    if (map.containsKey(type)) {
+      return map.get(type);
     } else {
       try {
         CircularConverter circularConverter = new CircularConverter();
         try {
-          _circularConverters.get().put(type, circularConverter);
+          map.put(type, circularConverter);
           Converter converter = next().create(type, genson);
           circularConverter.setDelegateConverter(converter);
           return converter;
@@ -70,7 +70,9 @@ public Converter<?> create(Type type, Genson genson) {
           circularConverter.initLatch.countDown();
         }
       } finally {
-        _circularConverters.get().remove(type);
+        map.remove(type);
+        // converters are created rarely, don't keep a map for each thread that once created one
+        if (map.isEmpty()) _circularConverters.remove();
       }
     }
   }
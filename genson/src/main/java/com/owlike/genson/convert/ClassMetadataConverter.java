@@ -1,6 +1,7 @@
 package com.owlike.genson.convert;
 
 import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.owlike.genson.*;
 import com.owlike.genson.annotation.HandleClassMetadata;
@@ -30,6 +31,10 @@
  * // json value will be {&quot;@class&quot;:&quot;Foo&quot;}
  * Foo foo = (Foo) genson.deserialize(json, Object.class);
  * </pre>
+ * <p/>
+ * Aliases are also a good way to reduce the size of the generated json, as they are usually much shorter than
+ * the full class name. Each ClassMetadataConverter remembers the converters of the aliases (or class names) it has
+ * already seen, so reading the metadata of a known type goes directly to its converter.
  *
  * @param <T>
  * @author eugen
@@ -78,6 +83,8 @@ protected Converter<?> create(Type type, Genson genson, Converter<?> nextConvert
   private final Class<T> tClass;
   private final boolean writeClassMetadata;
   private final boolean readClassMetadata;
+  // alias or class name -> converter of the class it maps to, filled the first time we see each of them
+  private final ConcurrentHashMap<String, Converter<T>> convertersByAlias = new ConcurrentHashMap<String, Converter<T>>();
 
   public ClassMetadataConverter(Class<T> tClass, Converter<T> delegate,
                                 boolean classMetadataWithStaticType,
@@ -103,18 +110,25 @@ public T deserialize(ObjectReader reader, Context ctx) throws Exception {
     if (readClassMetadata && ValueType.OBJECT.equals(reader.getValueType())) {
       String className = reader.nextObjectMetadata().metadata("class");
       if (className != null) {
-        try {
-          Class<?> classFromMetadata = ctx.genson.classFor(className);
-          if (!classFromMetadata.equals(tClass)) {
-            Converter<T> deser = ctx.genson.provideConverter(classFromMetadata);
-            return deser.deserialize(reader, ctx);
-          }
-        } catch (ClassNotFoundException e) {
-          throw new JsonBindingException(
-            "Could not use @class metadata, no such class: " + className);
+        Converter<T> deser = convertersByAlias.get(className);
+        if (deser == null) {
+          deser = converterFor(className, ctx.genson);
+          convertersByAlias.put(className, deser);
         }
+        return deser.deserialize(reader, ctx);
       }
     }
     return wrapped.deserialize(reader, ctx);
   }
+
+  private Converter<T> converterFor(String className, Genson genson) {
+    try {
+      Class<?> classFromMetadata = genson.classFor(className);
+      if (classFromMetadata.equals(tClass)) return wrapped;
+      return genson.provideConverter(classFromMetadata);
+    } catch (ClassNotFoundException e) {
+      throw new JsonBindingException(
+        "Could not use @class metadata, no such class: " + className);
+    }
+  }
 }
@@ -0,0 +1,34 @@
+package com.owlike.genson.convert;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list produced when deserializing json arrays to Object with the compact mode enabled
+ * (see {@link com.owlike.genson.GensonBuilder#useCompactUntypedCollections(boolean)}). The
+ * values are stored in an array of the exact size and numbers are kept as primitives, they are
+ * boxed each time they are accessed.
+ *
+ * @author eugen
+ */
+public final class CompactList extends AbstractList<Object> implements RandomAccess {
+  private final Object[] values;
+  private final long[] primitives;
+
+  CompactList(Object[] values, long[] primitives) {
+    this.values = values;
+    this.primitives = primitives;
+  }
+
+  @Override
+  public Object get(int index) {
+    if (index < 0 || index >= values.length)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + values.length);
+    return CompactValues.get(values, primitives, index);
+  }
+
+  @Override
+  public int size() {
+    return values.length;
+  }
+}
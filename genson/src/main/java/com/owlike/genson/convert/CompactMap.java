@@ -0,0 +1,177 @@
+package com.owlike.genson.convert;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable map produced when deserializing json objects to Object with the compact mode enabled
+ * (see {@link com.owlike.genson.GensonBuilder#useCompactUntypedCollections(boolean)}). Keys and
+ * values are stored in parallel arrays of the exact size, preserving the order in which they
+ * appeared in the stream. Numbers are kept as primitives and boxed each time they are accessed.
+ * <p/>
+ * Small maps are searched linearly, larger ones use an open addressing index built once. If a key
+ * appears more than once, the last value wins as with HashMap.
+ *
+ * @author eugen
+ */
+public final class CompactMap extends AbstractMap<String, Object> {
+  // under this size a linear search is faster than hashing the key
+  private final static int LINEAR_SEARCH_MAX_SIZE = 8;
+
+  private final String[] keys;
+  private final Object[] values;
+  private final long[] primitives;
+  private final int[] index;
+  private Set<Map.Entry<String, Object>> entrySet;
+
+  private CompactMap(String[] keys, Object[] values, long[] primitives, int[] index) {
+    this.keys = keys;
+    this.values = values;
+    this.primitives = primitives;
+    this.index = index;
+  }
+
+  /**
+   * Creates the map from the first size elements of the arrays, the arrays may be modified and
+   * should not be used anymore.
+   */
+  static CompactMap create(String[] keys, Object[] values, long[] primitives, int size) {
+    int[] index = null;
+    int unique = 0;
+    if (size > LINEAR_SEARCH_MAX_SIZE) {
+      index = new int[Integer.highestOneBit(size - 1) << 2];
+      int mask = index.length - 1;
+      for (int i = 0; i < size; i++) {
+        int slot = spread(keys[i].hashCode()) & mask;
+        int existing;
+        while ((existing = index[slot]) != 0 && !keys[existing - 1].equals(keys[i]))
+          slot = (slot + 1) & mask;
+        if (existing != 0) moveTo(existing - 1, i, keys, values, primitives);
+        else {
+          moveTo(unique, i, keys, values, primitives);
+          index[slot] = ++unique;
+        }
+      }
+    } else {
+      for (int i = 0; i < size; i++) {
+        int existing = indexOf(keys[i], keys, unique);
+        if (existing >= 0) moveTo(existing, i, keys, values, primitives);
+        else moveTo(unique++, i, keys, values, primitives);
+      }
+    }
+
+    return new CompactMap(trim(keys, unique), trim(values, unique),
+      primitives != null ? trim(primitives, unique) : null, index);
+  }
+
+  @Override
+  public Object get(Object key) {
+    int i = indexOf(key);
+    return i < 0 ? null : CompactValues.get(values, primitives, i);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return indexOf(key) >= 0;
+  }
+
+  @Override
+  public int size() {
+    return keys.length;
+  }
+
+  @Override
+  public Set<Map.Entry<String, Object>> entrySet() {
+    if (entrySet == null) entrySet = new EntrySet();
+    return entrySet;
+  }
+
+  private int indexOf(Object key) {
+    if (!(key instanceof String)) return -1;
+    if (index == null) return indexOf((String) key, keys, keys.length);
+
+    int mask = index.length - 1;
+    int slot = spread(key.hashCode()) & mask;
+    int i;
+    while ((i = index[slot]) != 0) {
+      if (keys[i - 1].equals(key)) return i - 1;
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private static int indexOf(String key, String[] keys, int size) {
+    for (int i = 0; i < size; i++) {
+      String k = keys[i];
+      if (k == key || k.equals(key)) return i;
+    }
+    return -1;
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  private static void moveTo(int to, int from, String[] keys, Object[] values, long[] primitives) {
+    if (to == from) return;
+    keys[to] = keys[from];
+    values[to] = values[from];
+    if (primitives != null) primitives[to] = primitives[from];
+  }
+
+  private static String[] trim(String[] array, int size) {
+    if (array.length == size) return array;
+    String[] trimmed = new String[size];
+    System.arraycopy(array, 0, trimmed, 0, size);
+    return trimmed;
+  }
+
+  private static Object[] trim(Object[] array, int size) {
+    if (array.length == size) return array;
+    Object[] trimmed = new Object[size];
+    System.arraycopy(array, 0, trimmed, 0, size);
+    return trimmed;
+  }
+
+  private static long[] trim(long[] array, int size) {
+    if (array.length == size) return array;
+    long[] trimmed = new long[size];
+    System.arraycopy(array, 0, trimmed, 0, size);
+    return trimmed;
+  }
+
+  private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+    @Override
+    public Iterator<Map.Entry<String, Object>> iterator() {
+      return new Iterator<Map.Entry<String, Object>>() {
+        private int position = 0;
+
+        @Override
+        public boolean hasNext() {
+          return position < keys.length;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+          if (position >= keys.length) throw new NoSuchElementException();
+          int i = position++;
+          return new SimpleImmutableEntry<String, Object>(keys[i], CompactValues.get(values, primitives, i));
+        }
+
+        @Override
+        public void remove() {
+          throw new UnsupportedOperationException();
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return keys.length;
+    }
+  }
+}
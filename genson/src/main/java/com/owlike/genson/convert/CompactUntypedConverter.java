@@ -0,0 +1,163 @@
+package com.owlike.genson.convert;
+
+import java.lang.reflect.Type;
+
+import com.owlike.genson.Context;
+import com.owlike.genson.Converter;
+import com.owlike.genson.Factory;
+import com.owlike.genson.Genson;
+import com.owlike.genson.annotation.HandleClassMetadata;
+import com.owlike.genson.reflect.TypeUtil;
+import com.owlike.genson.stream.ObjectReader;
+import com.owlike.genson.stream.ObjectWriter;
+import com.owlike.genson.stream.ValueType;
+
+/**
+ * Used instead of the default untyped converter when deserializing to Object with
+ * {@link com.owlike.genson.GensonBuilder#useCompactUntypedCollections(boolean)} enabled. Json
+ * objects are deserialized to {@link CompactMap} and arrays to {@link CompactList}, that use much
+ * less memory than HashMap and ArrayList. Literals are deserialized as with the default untyped
+ * converter and serialization is left unchanged.
+ *
+ * @author eugen
+ */
+@HandleClassMetadata(serialization = true, deserialization = false)
+public class CompactUntypedConverter implements Converter<Object> {
+  public final static class CompactUntypedConverterFactory implements Factory<Converter<Object>> {
+    public final static CompactUntypedConverterFactory instance = new CompactUntypedConverterFactory();
+
+    private CompactUntypedConverterFactory() {
+    }
+
+    @Override
+    public Converter<Object> create(Type type, Genson genson) {
+      if (TypeUtil.match(type, Object.class, true)) {
+        return new CompactUntypedConverter(DefaultConverters.UntypedConverterFactory.instance.create(type, genson));
+      }
+      return null;
+    }
+  }
+
+  private final static int INITIAL_CAPACITY = 8;
+
+  private final Converter<Object> untypedConverter;
+  // the complete converter chain for Object, used for nested objects and arrays so metadata is still handled
+  private volatile Converter<Object> objectConverter;
+
+  public CompactUntypedConverter(Converter<Object> untypedConverter) {
+    this.untypedConverter = untypedConverter;
+  }
+
+  public void serialize(Object object, ObjectWriter writer, Context ctx) throws Exception {
+    untypedConverter.serialize(object, writer, ctx);
+  }
+
+  public Object deserialize(ObjectReader reader, Context ctx) throws Exception {
+    ValueType valueType = reader.getValueType();
+    if (ValueType.OBJECT == valueType) return deserializeObject(reader, ctx);
+    if (ValueType.ARRAY == valueType) return deserializeArray(reader, ctx);
+    return untypedConverter.deserialize(reader, ctx);
+  }
+
+  private CompactMap deserializeObject(ObjectReader reader, Context ctx) throws Exception {
+    String[] keys = new String[INITIAL_CAPACITY];
+    Values values = new Values();
+    int size = 0;
+
+    reader.beginObject();
+    while (reader.hasNext()) {
+      ValueType valueType = reader.next();
+      if (size == keys.length) {
+        String[] newKeys = new String[size * 2];
+        System.arraycopy(keys, 0, newKeys, 0, size);
+        keys = newKeys;
+      }
+      keys[size++] = reader.name();
+      values.add(valueType, reader, ctx);
+    }
+    reader.endObject();
+
+    return CompactMap.create(keys, values.values, values.primitives, size);
+  }
+
+  private CompactList deserializeArray(ObjectReader reader, Context ctx) throws Exception {
+    Values values = new Values();
+
+    reader.beginArray();
+    while (reader.hasNext()) {
+      values.add(reader.next(), reader, ctx);
+    }
+    reader.endArray();
+
+    values.trim();
+    return new CompactList(values.values, values.primitives);
+  }
+
+  private Converter<Object> objectConverter(Genson genson) {
+    Converter<Object> converter = objectConverter;
+    if (converter == null) {
+      converter = genson.provideConverter(Object.class);
+      objectConverter = converter;
+    }
+    return converter;
+  }
+
+  private final class Values {
+    Object[] values = new Object[INITIAL_CAPACITY];
+    long[] primitives;
+    int size;
+
+    void add(ValueType valueType, ObjectReader reader, Context ctx) throws Exception {
+      if (size == values.length) grow();
+      switch (valueType) {
+        case INTEGER:
+          setPrimitive(CompactValues.LONG, reader.valueAsLong());
+          break;
+        case DOUBLE:
+          setPrimitive(CompactValues.DOUBLE, Double.doubleToRawLongBits(reader.valueAsDouble()));
+          break;
+        case STRING:
+          values[size] = reader.valueAsString();
+          break;
+        case BOOLEAN:
+          values[size] = reader.valueAsBoolean();
+          break;
+        case NULL:
+          values[size] = null;
+          break;
+        default:
+          values[size] = objectConverter(ctx.genson).deserialize(reader, ctx);
+      }
+      size++;
+    }
+
+    void trim() {
+      if (size == values.length) return;
+      Object[] newValues = new Object[size];
+      System.arraycopy(values, 0, newValues, 0, size);
+      values = newValues;
+      if (primitives != null) {
+        long[] newPrimitives = new long[size];
+        System.arraycopy(primitives, 0, newPrimitives, 0, size);
+        primitives = newPrimitives;
+      }
+    }
+
+    private void setPrimitive(Object marker, long value) {
+      if (primitives == null) primitives = new long[values.length];
+      primitives[size] = value;
+      values[size] = marker;
+    }
+
+    private void grow() {
+      Object[] newValues = new Object[size * 2];
+      System.arraycopy(values, 0, newValues, 0, size);
+      values = newValues;
+      if (primitives != null) {
+        long[] newPrimitives = new long[size * 2];
+        System.arraycopy(primitives, 0, newPrimitives, 0, size);
+        primitives = newPrimitives;
+      }
+    }
+  }
+}
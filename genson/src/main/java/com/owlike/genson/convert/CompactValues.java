@@ -0,0 +1,24 @@
+package com.owlike.genson.convert;
+
+/**
+ * Storage shared by {@link CompactMap} and {@link CompactList}: values are kept in an Object array,
+ * except numbers that are stored in a parallel long array (doubles as their raw long bits) and
+ * boxed only when accessed. The corresponding slot of the Object array then contains one of the
+ * markers.
+ *
+ * @author eugen
+ */
+final class CompactValues {
+  final static Object LONG = new Object();
+  final static Object DOUBLE = new Object();
+
+  private CompactValues() {
+  }
+
+  static Object get(Object[] values, long[] primitives, int index) {
+    Object value = values[index];
+    if (value == LONG) return Long.valueOf(primitives[index]);
+    if (value == DOUBLE) return Double.valueOf(Double.longBitsToDouble(primitives[index]));
+    return value;
+  }
+}
@@ -0,0 +1,74 @@
+package com.owlike.genson.convert;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * DateFormat instances are not thread safe, instead of sharing a single one behind a lock this
+ * pool hands out clones of a prototype DateFormat. A format is taken from a slot with an atomic
+ * swap and put back in a free slot after use, so threads never wait on each other. When all the
+ * slots are empty (more concurrent threads than slots) a new clone is created and dropped after
+ * use if there is no room to put it back.
+ * <p/>
+ * The prototype is cloned when the pool is created, so it behaves exactly as the DateFormat that
+ * has been configured (pattern, locale, time zone, leniency...).
+ *
+ * @author eugen
+ */
+final class DateFormatPool {
+  private final DateFormat prototype;
+  private final AtomicReferenceArray<DateFormat> formats;
+  private final int mask;
+
+  DateFormatPool(DateFormat prototype) {
+    this(prototype, Runtime.getRuntime().availableProcessors() * 2);
+  }
+
+  DateFormatPool(DateFormat prototype, int size) {
+    this.prototype = (DateFormat) prototype.clone();
+    int capacity = Integer.highestOneBit(Math.max(1, Math.min(size, 64)));
+    if (capacity < size && capacity < 64) capacity <<= 1;
+    this.formats = new AtomicReferenceArray<DateFormat>(capacity);
+    this.mask = capacity - 1;
+  }
+
+  String format(Date date) {
+    DateFormat format = acquire();
+    try {
+      return format.format(date);
+    } finally {
+      release(format);
+    }
+  }
+
+  Date parse(String value) throws ParseException {
+    DateFormat format = acquire();
+    try {
+      return format.parse(value);
+    } finally {
+      release(format);
+    }
+  }
+
+  private DateFormat acquire() {
+    // start at a slot depending on the thread so concurrent threads don't all compete for slot 0
+    int start = (int) Thread.currentThread().getId();
+    for (int i = 0; i <= mask; i++) {
+      int index = (start + i) & mask;
+      if (formats.get(index) != null) {
+        DateFormat format = formats.getAndSet(index, null);
+        if (format != null) return format;
+      }
+    }
+    return (DateFormat) prototype.clone();
+  }
+
+  private void release(DateFormat format) {
+    int start = (int) Thread.currentThread().getId();
+    for (int i = 0; i <= mask; i++) {
+      if (formats.compareAndSet((start + i) & mask, null, format)) return;
+    }
+  }
+}
@@ -1,6 +1,8 @@
 package com.owlike.genson.convert;
 
+import java.io.Closeable;
 import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
@@ -17,15 +19,21 @@
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.owlike.genson.*;
 import com.owlike.genson.annotation.*;
 import com.owlike.genson.annotation.HandleBeanView;
 import com.owlike.genson.reflect.BeanProperty;
 import com.owlike.genson.reflect.TypeUtil;
+import com.owlike.genson.stream.JsonReader;
+import com.owlike.genson.stream.JsonStreamException;
 import com.owlike.genson.stream.JsonType;
+import com.owlike.genson.stream.JsonWriter;
 import com.owlike.genson.stream.ObjectReader;
 import com.owlike.genson.stream.ObjectWriter;
+import com.owlike.genson.stream.StringCache;
 import com.owlike.genson.stream.ValueType;
 
 import static com.owlike.genson.reflect.TypeUtil.*;
@@ -379,6 +387,232 @@ public Converter<Object> create(Type forType, Genson genson) {
     }
   }
 
+  /**
+   * Serializes the elements of an Iterator as a json array, pulling them one at a time so they never need to
+   * be all in memory. When the {@link #FLUSH_INTERVAL} key is set in the context, the writer is flushed each
+   * time this number of elements has been written, allowing to stream large results (for example from a
+   * database cursor) to the client as they are produced.
+   * <p/>
+   * When deserializing a root array the returned iterator is lazy: it reads the elements from the stream as
+   * they are requested, the reader must thus remain open until the iteration is over and is closed once the
+   * end of the array has been read. Nested arrays are read eagerly, as are root arrays when {@link #LAZY_ROOT}
+   * is set to false in the context (for example when the input is closed as soon as the deserialization returns).
+   */
+  @HandleClassMetadata
+  public static class IteratorConverter<E> implements Converter<Iterator<E>> {
+    /**
+     * Number of elements after which the writer is flushed, none or zero disables intermediate flushes.
+     */
+    public final static ContextKey<Integer> FLUSH_INTERVAL = new ContextKey<Integer>("flushInterval");
+    /**
+     * Set to false to read root arrays eagerly, by default they are read lazily.
+     */
+    public final static ContextKey<Boolean> LAZY_ROOT = new ContextKey<Boolean>("lazyRoot");
+
+    private final Class<E> eClass;
+    private final Converter<E> elementConverter;
+
+    public IteratorConverter(Class<E> eClass, Converter<E> elementConverter) {
+      this.eClass = eClass;
+      this.elementConverter = elementConverter;
+    }
+
+    public void serialize(Iterator<E> it, ObjectWriter writer, Context ctx) throws Exception {
+      Integer flushInterval = ctx.get(FLUSH_INTERVAL);
+      int interval = flushInterval != null ? flushInterval : 0;
+      int count = 0;
+      writer.beginArray();
+      while (it.hasNext()) {
+        elementConverter.serialize(it.next(), writer, ctx);
+        if (interval > 0 && ++count == interval) {
+          writer.flush();
+          count = 0;
+        }
+      }
+      writer.endArray();
+    }
+
+    public Iterator<E> deserialize(final ObjectReader reader, final Context ctx) throws Exception {
+      if (!isLazy(reader, ctx)) {
+        List<E> elements = new ArrayList<E>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+          reader.next();
+          elements.add(elementConverter.deserialize(reader, ctx));
+        }
+        reader.endArray();
+        return elements.iterator();
+      }
+
+      reader.beginArray();
+      return new RootArrayIterator<E>(reader, ctx, elementConverter, eClass);
+    }
+
+    private boolean isLazy(ObjectReader reader, Context ctx) {
+      return reader.enclosingType() == JsonType.EMPTY && !Boolean.FALSE.equals(ctx.get(LAZY_ROOT));
+    }
+  }
+
+  /**
+   * Reads the elements of a root array as they are requested and closes the reader once the end of the array
+   * has been reached, when an element could not be read or when closed before the end.
+   */
+  private static class RootArrayIterator<E> implements Iterator<E>, Closeable {
+    private final ObjectReader reader;
+    private final Context ctx;
+    private final Converter<E> elementConverter;
+    private final Class<E> eClass;
+    private boolean ended = false;
+
+    RootArrayIterator(ObjectReader reader, Context ctx, Converter<E> elementConverter, Class<E> eClass) {
+      this.reader = reader;
+      this.ctx = ctx;
+      this.elementConverter = elementConverter;
+      this.eClass = eClass;
+    }
+
+    public boolean hasNext() {
+      if (ended) return false;
+      boolean hasNext;
+      try {
+        hasNext = reader.hasNext();
+        if (!hasNext) reader.endArray();
+      } catch (RuntimeException e) {
+        close();
+        throw e;
+      }
+      if (!hasNext) close();
+      return hasNext;
+    }
+
+    public E next() {
+      if (!hasNext()) throw new NoSuchElementException();
+      try {
+        reader.next();
+        return elementConverter.deserialize(reader, ctx);
+      } catch (Exception e) {
+        close();
+        throw new JsonBindingException("Could not deserialize to type " + eClass, e);
+      }
+    }
+
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    public void close() {
+      if (ended) return;
+      ended = true;
+      try {
+        reader.close();
+      } catch (IOException e) {
+        throw new JsonStreamException(e);
+      }
+    }
+  }
+
+  /**
+   * Serializes Iterables that are not collections (for example lazily computed results) element by element,
+   * see {@link IteratorConverter}. Deserialization produces a list.
+   */
+  @HandleClassMetadata
+  public static class IterableConverter<E> implements Converter<Iterable<E>> {
+    private final IteratorConverter<E> iteratorConverter;
+
+    public IterableConverter(IteratorConverter<E> iteratorConverter) {
+      this.iteratorConverter = iteratorConverter;
+    }
+
+    public void serialize(Iterable<E> iterable, ObjectWriter writer, Context ctx) throws Exception {
+      iteratorConverter.serialize(iterable.iterator(), writer, ctx);
+    }
+
+    public Iterable<E> deserialize(ObjectReader reader, Context ctx) throws Exception {
+      List<E> elements = new ArrayList<E>();
+      for (Iterator<E> it = iteratorConverter.deserialize(reader, ctx); it.hasNext(); ) {
+        elements.add(it.next());
+      }
+      return elements;
+    }
+  }
+
+  /**
+   * Serializes a Stream element by element and closes it once written, see
+   * {@link IteratorConverter}. Root arrays are deserialized to a lazy sequential stream, closing it closes the
+   * underlying reader.
+   */
+  @HandleClassMetadata
+  public static class StreamConverter<E> implements Converter<Stream<E>> {
+    private final IteratorConverter<E> iteratorConverter;
+
+    public StreamConverter(IteratorConverter<E> iteratorConverter) {
+      this.iteratorConverter = iteratorConverter;
+    }
+
+    public void serialize(Stream<E> stream, ObjectWriter writer, Context ctx) throws Exception {
+      try {
+        iteratorConverter.serialize(stream.iterator(), writer, ctx);
+      } finally {
+        stream.close();
+      }
+    }
+
+    public Stream<E> deserialize(ObjectReader reader, Context ctx) throws Exception {
+      final Iterator<E> it = iteratorConverter.deserialize(reader, ctx);
+      Stream<E> stream = StreamSupport.stream(Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED), false);
+      if (it instanceof Closeable) {
+        // a lazy stream owns the reader, closing the stream before the end closes it
+        stream = stream.onClose(new Runnable() {
+          @Override
+          public void run() {
+            try {
+              ((Closeable) it).close();
+            } catch (IOException e) {
+              throw new JsonStreamException(e);
+            }
+          }
+        });
+      }
+      return stream;
+    }
+  }
+
+  public final static class IterationConverterFactory implements Factory<Converter<?>> {
+    public final static IterationConverterFactory instance = new IterationConverterFactory();
+
+    private IterationConverterFactory() {
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public Converter<?> create(Type forType, Genson genson) {
+      Class<?> rawClass = getRawClass(forType);
+      Class<?> iterationClass;
+      // other Iterables are collections or beans, they are handled by their own converters
+      if (Iterator.class.isAssignableFrom(rawClass)) iterationClass = Iterator.class;
+      else if (Stream.class.isAssignableFrom(rawClass)) iterationClass = Stream.class;
+      else if (Iterable.class.equals(rawClass)) iterationClass = Iterable.class;
+      else return null;
+
+      Type elementType = elementType(iterationClass, rawClass, forType);
+      IteratorConverter iteratorConverter = new IteratorConverter(getRawClass(elementType),
+        genson.provideConverter(elementType));
+
+      if (iterationClass == Iterator.class) return iteratorConverter;
+      if (iterationClass == Iterable.class) return new IterableConverter(iteratorConverter);
+      return new StreamConverter(iteratorConverter);
+    }
+
+    private Type elementType(Class<?> iterationClass, Class<?> rawClass, Type forType) {
+      if (iterationClass == rawClass) return typeOf(0, forType);
+      try {
+        return typeOf(0, expandType(lookupGenericType(iterationClass, rawClass), forType));
+      } catch (IllegalArgumentException e) {
+        // type variables declared by an enclosing class (inner or anonymous iterators) can not be resolved
+        return Object.class;
+      }
+    }
+  }
+
   @HandleClassMetadata
   @HandleBeanView
   public final static class StringConverter implements Converter<String> {
@@ -521,8 +755,8 @@ public Number deserialize(ObjectReader reader, Context ctx) {
       else if (ValueType.DOUBLE.equals(vt))
         return reader.valueAsDouble();
       else {
-        String value = reader.valueAsString();
-        return "".equals(value) ? null : parse(value, vt);
+        CharSequence value = reader.valueAsCharSequence();
+        return value == null || value.length() == 0 ? null : parse(value.toString(), vt);
       }
     }
 
@@ -569,7 +803,7 @@ public void serialize(Character obj, ObjectWriter writer, Context ctx) {
     }
 
     public Character deserialize(ObjectReader reader, Context ctx) {
-      String str = reader.valueAsString();
+      CharSequence str = reader.valueAsCharSequence();
       if (str.length() > 1) throw new JsonBindingException(
         "Could not convert a string with length greater than 1 to a single char."
       );
@@ -828,7 +1062,7 @@ public void serialize(Map<K, V> object, ObjectWriter writer, Context ctx) throws
 
     @Override
     public Map<K, V> deserialize(ObjectReader reader, Context ctx) throws Exception {
-      Map<K, V> map = new HashMap<K, V>();
+      Map<K, V> map = create();
       reader.beginArray();
       while (reader.hasNext()) {
         reader.next();
@@ -837,9 +1071,10 @@ public Map<K, V> deserialize(ObjectReader reader, Context ctx) throws Exception
         V value = null;
         while (reader.hasNext()) {
           reader.next();
-          if ("key".equals(reader.name())) {
+          CharSequence name = reader.nameAsCharSequence();
+          if ("key".contentEquals(name)) {
             key = keyConverter.deserialize(reader, ctx);
-          } else if ("value".equals(reader.name())) {
+          } else if ("value".contentEquals(name)) {
             value = valueConverter.deserialize(reader, ctx);
           }
         }
@@ -849,8 +1084,30 @@ public Map<K, V> deserialize(ObjectReader reader, Context ctx) throws Exception
       reader.endArray();
       return map;
     }
+
+    protected Map<K, V> create() {
+      return new HashMap<K, V>();
+    }
   }
 
+  /**
+   * Enum keys are serialized as for other complex keys, but are deserialized directly into an EnumMap.
+   */
+  public static class EnumMapConverter<K extends Enum<K>, V> extends ComplexMapConverter<K, V> {
+    private final Class<K> keyClass;
+
+    public EnumMapConverter(Class<K> keyClass, Converter<K> keyConverter, Converter<V> valueConverter) {
+      super(keyConverter, valueConverter);
+      this.keyClass = keyClass;
+    }
+
+    @Override
+    protected Map<K, V> create() {
+      return new EnumMap<K, V>(keyClass);
+    }
+  }
+
+
   public final static class MapConverterFactory implements Factory<Converter<? extends Map<?, ?>>> {
     public final static MapConverterFactory instance = new MapConverterFactory();
 
@@ -871,6 +1128,8 @@ private MapConverterFactory() {
       Class<?> keyRawClass = getRawClass(keyType);
       KeyAdapter<?> keyAdapter = keyAdapter(keyRawClass);
 
+      if (EnumMap.class.isAssignableFrom(getRawClass(type)) && keyRawClass.isEnum())
+        return new EnumMapConverter(keyRawClass, genson.provideConverter(keyType), genson.provideConverter(valueType));
       if (keyAdapter != null)
         return createConverter(getRawClass(type), keyAdapter, genson.provideConverter(valueType));
       else
@@ -933,10 +1192,54 @@ public Converter create(BeanProperty property, Genson genson) {
     }
   }
 
+  public static class StringDeduplicationContextualFactory implements ContextualFactory<Object> {
+    @Override
+    public Converter<Object> create(BeanProperty property, Genson genson) {
+      if (property.getAnnotation(JsonDeduplicateStrings.class) != null) {
+        Converter<Object> converter = genson.provideConverter(property.getType());
+        return new StringDeduplicationConverter<Object>(converter, genson.stringCache());
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Enables string deduplication on the reader while the wrapped converter deserializes the value.
+   */
+  public static class StringDeduplicationConverter<T> extends Wrapper<Converter<T>> implements Converter<T> {
+    private final StringCache stringCache;
+
+    public StringDeduplicationConverter(Converter<T> wrappedConverter, StringCache stringCache) {
+      super(wrappedConverter);
+      this.stringCache = stringCache;
+    }
+
+    @Override
+    public void serialize(T object, ObjectWriter writer, Context ctx) throws Exception {
+      wrapped.serialize(object, writer, ctx);
+    }
+
+    @Override
+    public T deserialize(ObjectReader reader, Context ctx) throws Exception {
+      if (reader instanceof JsonReader) {
+        JsonReader jsonReader = (JsonReader) reader;
+        if (jsonReader.getStringCache() == null) {
+          jsonReader.setStringCache(stringCache);
+          try {
+            return wrapped.deserialize(reader, ctx);
+          } finally {
+            jsonReader.setStringCache(null);
+          }
+        }
+      }
+      return wrapped.deserialize(reader, ctx);
+    }
+  }
+
   @HandleClassMetadata
   @HandleBeanView
   public static class DateConverter implements Converter<Date> {
-    private DateFormat dateFormat;
+    private final DateFormatPool dateFormats;
     private final boolean asTimeInMillis;
 
     public DateConverter() {
@@ -945,7 +1248,8 @@ public DateConverter() {
 
     public DateConverter(DateFormat dateFormat, boolean asTimeInMillis) {
       if (dateFormat == null) dateFormat = SimpleDateFormat.getDateTimeInstance();
-      this.dateFormat = dateFormat;
+      // DateFormat is not thread safe, each thread works on its own copy taken from the pool
+      this.dateFormats = new DateFormatPool(dateFormat);
       this.asTimeInMillis = asTimeInMillis;
     }
 
@@ -956,8 +1260,8 @@ public void serialize(Date obj, ObjectWriter writer, Context ctx) {
         writer.writeUnsafeValue(format(obj));
     }
 
-    protected synchronized String format(Date date) {
-      return dateFormat.format(date);
+    protected String format(Date date) {
+      return dateFormats.format(date);
     }
 
     public Date deserialize(ObjectReader reader, Context ctx) {
@@ -975,8 +1279,8 @@ else throw new JsonBindingException(String.format("Can not deserialize type %s t
       }
     }
 
-    protected synchronized Date read(String dateString) throws ParseException {
-      return dateFormat.parse(dateString);
+    protected Date read(String dateString) throws ParseException {
+      return dateFormats.parse(dateString);
     }
   }
 
@@ -988,27 +1292,30 @@ private UntypedConverterFactory() {
 
     @HandleClassMetadata(serialization = true, deserialization = false)
     public final static class UntypedConverter implements Converter<Object> {
-      final static UntypedConverter instance = new UntypedConverter();
+      // remembers the converters of the last seen classes, so we don't have to look them up for each value
+      private final InlineConverterCache serializers = new InlineConverterCache(8);
+      private final InlineConverterCache deserializers = new InlineConverterCache(ValueType.values().length);
 
       private UntypedConverter() {
       }
 
-      public Object deserialize(ObjectReader reader, Context ctx) {
-        return ctx.genson.deserialize(GenericType.of(reader.getValueType().toClass()),
-          reader, ctx);
+      public Object deserialize(ObjectReader reader, Context ctx) throws Exception {
+        Converter<Object> converter = deserializers.get(reader.getValueType().toClass(), ctx.genson);
+        return converter.deserialize(reader, ctx);
       }
 
-      public void serialize(Object obj, ObjectWriter writer, Context ctx) {
+      public void serialize(Object obj, ObjectWriter writer, Context ctx) throws Exception {
         if (Object.class.equals(obj.getClass()))
           throw new UnsupportedOperationException(
             "Serialization of type Object is not supported by default serializers.");
-        ctx.genson.serialize(obj, obj.getClass(), writer, ctx);
+        Converter<Object> converter = serializers.get(obj.getClass(), ctx.genson);
+        converter.serialize(obj, writer, ctx);
       }
     }
 
     public Converter<Object> create(Type type, Genson genson) {
       if (TypeUtil.match(type, Object.class, true)) {
-        return UntypedConverter.instance;
+        return new UntypedConverter();
       }
       return null;
     }
@@ -1018,35 +1325,79 @@ public Converter<Object> create(Type type, Genson genson) {
   @HandleBeanView
   public static class EnumConverter<T extends Enum<T>> implements Converter<T> {
     private final Class<T> eClass;
-    private final Map<String, T> deserializationNames;
     private final boolean caseSensitive;
+    // all indexed by ordinal
+    private final T[] values;
+    private final char[][] escapedNames;
+    // the names as they are matched on input (upper cased when not case sensitive)
+    private final String[] names;
+    private final int[] nameHashes;
+    // open addressing table from the hash of a name to its ordinal + 1, 0 marking an empty slot
+    private final int[] index;
 
+    @SuppressWarnings("unchecked")
     public EnumConverter(Class<T> eClass, boolean caseSensitive) {
       this.eClass = eClass;
       this.caseSensitive = caseSensitive;
-      deserializationNames = new HashMap<String, T>();
-      for (Field f : eClass.getFields()) {
-        try {
-          if (!f.isEnumConstant()) {
-            continue;
-          }
-          String name = caseSensitive ? f.getName(): f.getName().toUpperCase();
-          deserializationNames.put(name, (T) f.get(null));
-        } catch (IllegalAccessException e) {
-          throw new JsonBindingException("Failed to get enum value " + f.getName(), e);
-        }
+      // constants with a body are instances of an anonymous subclass of the enum
+      Class<T> enumClass = eClass.isEnum() ? eClass : (Class<T>) eClass.getSuperclass();
+      values = enumClass.getEnumConstants();
+      escapedNames = new char[values.length][];
+      names = new String[values.length];
+      nameHashes = new int[values.length];
+
+      int capacity = Integer.highestOneBit(Math.max(values.length, 1)) << 2;
+      index = new int[capacity];
+      for (T value : values) {
+        int ordinal = value.ordinal();
+        escapedNames[ordinal] = JsonWriter.escapeString(value.name());
+        names[ordinal] = caseSensitive ? value.name() : toUpperCase(value.name());
+        nameHashes[ordinal] = names[ordinal].hashCode();
+
+        // when names are equal ignoring the case the last one wins
+        int slot = nameHashes[ordinal] & (capacity - 1);
+        while (index[slot] != 0 && !names[index[slot] - 1].equals(names[ordinal]))
+          slot = (slot + 1) & (capacity - 1);
+        index[slot] = ordinal + 1;
       }
     }
 
     public void serialize(T obj, ObjectWriter writer, Context ctx) {
-      writer.writeUnsafeValue(obj.name());
+      writer.writeEscapedValue(escapedNames[obj.ordinal()]);
     }
 
     public T deserialize(ObjectReader reader, Context ctx) {
-      String name = caseSensitive ? reader.valueAsString(): reader.valueAsString().toUpperCase();
-      T value = deserializationNames.get(name);
-      if (value == null) throw new JsonBindingException("No enum constant " + eClass.getCanonicalName() + "." + name);
-      return value;
+      int mask = index.length - 1;
+      if (caseSensitive) {
+        int hash = reader.valueHashCode();
+        for (int slot = hash & mask, ordinal; (ordinal = index[slot] - 1) >= 0; slot = (slot + 1) & mask) {
+          if (nameHashes[ordinal] == hash && reader.valueEquals(names[ordinal])) return values[ordinal];
+        }
+      } else {
+        // compare directly the chars of the reader, upper casing them as we go
+        CharSequence value = reader.valueAsCharSequence();
+        int length = value.length();
+        int hash = 0;
+        for (int i = 0; i < length; i++) hash = 31 * hash + Character.toUpperCase(value.charAt(i));
+        for (int slot = hash & mask, ordinal; (ordinal = index[slot] - 1) >= 0; slot = (slot + 1) & mask) {
+          if (nameHashes[ordinal] == hash && equalsUpperCased(names[ordinal], value)) return values[ordinal];
+        }
+      }
+      throw new JsonBindingException("No enum constant " + eClass.getCanonicalName() + "." + reader.valueAsString());
+    }
+
+    private static boolean equalsUpperCased(String upperCasedName, CharSequence value) {
+      if (upperCasedName.length() != value.length()) return false;
+      for (int i = 0; i < upperCasedName.length(); i++) {
+        if (upperCasedName.charAt(i) != Character.toUpperCase(value.charAt(i))) return false;
+      }
+      return true;
+    }
+
+    private static String toUpperCase(String name) {
+      char[] chars = name.toCharArray();
+      for (int i = 0; i < chars.length; i++) chars[i] = Character.toUpperCase(chars[i]);
+      return new String(chars);
     }
   }
 
@@ -1114,6 +1465,10 @@ private BigDecimalConverter() {
 
     @Override
     public BigDecimal deserialize(ObjectReader reader, Context ctx) {
+      // same result as parsing the string representation of the value, but without creating it
+      ValueType valueType = reader.getValueType();
+      if (valueType == ValueType.INTEGER) return BigDecimal.valueOf(reader.valueAsLong());
+      if (valueType == ValueType.DOUBLE) return BigDecimal.valueOf(reader.valueAsDouble());
       return new BigDecimal(reader.valueAsString());
     }
 
@@ -1133,6 +1488,7 @@ private BigIntegerConverter() {
 
     @Override
     public BigInteger deserialize(ObjectReader reader, Context ctx) {
+      if (reader.getValueType() == ValueType.INTEGER) return BigInteger.valueOf(reader.valueAsLong());
       return new BigInteger(reader.valueAsString());
     }
 
@@ -1176,7 +1532,29 @@ public void serialize(UUID object, ObjectWriter writer, Context ctx) {
 
     @Override
     public UUID deserialize(ObjectReader reader, Context ctx) {
-      return UUID.fromString(reader.valueAsString());
+      CharSequence value = reader.valueAsCharSequence();
+      UUID uuid = parseCanonical(value);
+      return uuid != null ? uuid : UUID.fromString(value.toString());
+    }
+
+    /**
+     * Parses UUIDs in their canonical form (8-4-4-4-12 hex digits) directly from the chars,
+     * returns null if value is not in this form so we can fallback to UUID.fromString.
+     */
+    private UUID parseCanonical(CharSequence value) {
+      if (value.length() != 36 || value.charAt(8) != '-' || value.charAt(13) != '-'
+        || value.charAt(18) != '-' || value.charAt(23) != '-') return null;
+
+      long mostSigBits = 0;
+      long leastSigBits = 0;
+      for (int i = 0, digits = 0; i < 36; i++) {
+        if (i == 8 || i == 13 || i == 18 || i == 23) continue;
+        int digit = Character.digit(value.charAt(i), 16);
+        if (digit < 0) return null;
+        if (digits++ < 16) mostSigBits = (mostSigBits << 4) | digit;
+        else leastSigBits = (leastSigBits << 4) | digit;
+      }
+      return new UUID(mostSigBits, leastSigBits);
     }
 
   }
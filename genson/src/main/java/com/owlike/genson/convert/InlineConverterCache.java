@@ -0,0 +1,72 @@
+package com.owlike.genson.convert;
+
+import com.owlike.genson.Converter;
+import com.owlike.genson.Genson;
+
+/**
+ * A small class to converter cache used by converters that dispatch on the runtime type of the
+ * values (such as {@link RuntimeTypeConverter} or the UntypedConverter). Most of the time a given
+ * converter will see only a few distinct classes, remembering their converters allows to call them
+ * directly instead of going through {@link Genson#provideConverter(java.lang.reflect.Type)} for
+ * each value. When more than maxEntries classes are seen the remaining ones are resolved from
+ * Genson as usual.
+ * <p/>
+ * The entries are replaced as a whole (copy on write) so reads don't need any lock, concurrent
+ * updates might lose an entry which is fine as it will just be added again on next call.
+ *
+ * @author eugen
+ */
+final class InlineConverterCache {
+  private final int maxEntries;
+  private volatile Entries entries;
+
+  InlineConverterCache(int maxEntries) {
+    this.maxEntries = maxEntries;
+  }
+
+  @SuppressWarnings("unchecked")
+  <T> Converter<T> get(Class<?> clazz, Genson genson) {
+    Entries current = entries;
+    if (current != null) {
+      // should not happen as converters are created for a single Genson instance, but be safe
+      if (current.genson != genson) return genson.provideConverter(clazz);
+
+      Class<?>[] classes = current.classes;
+      for (int i = 0; i < classes.length; i++) {
+        if (classes[i] == clazz) return (Converter<T>) current.converters[i];
+      }
+      if (classes.length >= maxEntries) return genson.provideConverter(clazz);
+    }
+
+    Converter<T> converter = genson.provideConverter(clazz);
+    entries = current == null ? new Entries(genson, clazz, converter) : current.add(clazz, converter);
+    return converter;
+  }
+
+  private final static class Entries {
+    final Genson genson;
+    final Class<?>[] classes;
+    final Converter<?>[] converters;
+
+    Entries(Genson genson, Class<?> clazz, Converter<?> converter) {
+      this(genson, new Class<?>[]{clazz}, new Converter<?>[]{converter});
+    }
+
+    private Entries(Genson genson, Class<?>[] classes, Converter<?>[] converters) {
+      this.genson = genson;
+      this.classes = classes;
+      this.converters = converters;
+    }
+
+    Entries add(Class<?> clazz, Converter<?> converter) {
+      int length = classes.length;
+      Class<?>[] newClasses = new Class<?>[length + 1];
+      Converter<?>[] newConverters = new Converter<?>[length + 1];
+      System.arraycopy(classes, 0, newClasses, 0, length);
+      System.arraycopy(converters, 0, newConverters, 0, length);
+      newClasses[length] = clazz;
+      newConverters[length] = converter;
+      return new Entries(genson, newClasses, newConverters);
+    }
+  }
+}
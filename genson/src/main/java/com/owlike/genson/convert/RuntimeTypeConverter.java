@@ -30,6 +30,7 @@ protected Converter<?> create(Type type, Genson genson, Converter<?> nextConvert
   }
 
   private final Class<T> tClass;
+  private final InlineConverterCache runtimeConverters = new InlineConverterCache(4);
 
   public RuntimeTypeConverter(Class<T> tClass, Converter<T> next) {
     super(next);
@@ -37,9 +38,10 @@ public RuntimeTypeConverter(Class<T> tClass, Converter<T> next) {
   }
 
   public void serialize(T obj, ObjectWriter writer, Context ctx) throws Exception {
-    if (obj != null && !tClass.equals(obj.getClass()))
-      ctx.genson.serialize(obj, obj.getClass(), writer, ctx);
-    else
+    if (obj != null && !tClass.equals(obj.getClass())) {
+      Converter<T> converter = runtimeConverters.get(obj.getClass(), ctx.genson);
+      converter.serialize(obj, writer, ctx);
+    } else
       wrapped.serialize(obj, writer, ctx);
   }
 
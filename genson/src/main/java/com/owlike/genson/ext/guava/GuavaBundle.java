@@ -8,6 +8,9 @@ public class GuavaBundle extends GensonBundle {
   @Override
   public void configure(GensonBuilder builder) {
     builder.useDefaultValue(Optional.absent(), Optional.class)
-      .withConverterFactory(new OptionalConverter.OptionalConverterFactory());
+      .withConverterFactory(new OptionalConverter.OptionalConverterFactory())
+      .withConverterFactory(new ImmutableCollectionConverter.ImmutableCollectionConverterFactory())
+      .withConverterFactory(new ImmutableMapConverter.ImmutableMapConverterFactory())
+      .withConverterFactory(new MultimapConverter.MultimapConverterFactory());
   }
 }
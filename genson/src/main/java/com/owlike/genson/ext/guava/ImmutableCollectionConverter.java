@@ -0,0 +1,115 @@
+package com.owlike.genson.ext.guava;
+
+import com.google.common.collect.ImmutableCollection;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMultiset;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedMultiset;
+import com.google.common.collect.ImmutableSortedSet;
+import com.owlike.genson.*;
+import com.owlike.genson.annotation.HandleClassMetadata;
+import com.owlike.genson.reflect.TypeUtil;
+import com.owlike.genson.stream.ObjectReader;
+import com.owlike.genson.stream.ObjectWriter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Converter for Guava immutable collections. Elements are deserialized directly into the builder of the
+ * collection instead of being collected in an ArrayList and then copied.
+ *
+ * @author eugen
+ */
+@HandleClassMetadata
+public abstract class ImmutableCollectionConverter<E> implements Converter<ImmutableCollection<E>> {
+  static class ImmutableCollectionConverterFactory implements Factory<Converter<ImmutableCollection<Object>>> {
+
+    @Override
+    public Converter<ImmutableCollection<Object>> create(Type type, Genson genson) {
+      Converter<Object> elementConverter = genson.provideConverter(TypeUtil.getCollectionType(type));
+      Class<?> rawClass = TypeUtil.getRawClass(type);
+
+      if (rawClass.isAssignableFrom(ImmutableList.class)) {
+        return new ImmutableCollectionConverter<Object>(elementConverter) {
+          @Override
+          protected ImmutableCollection.Builder<Object> newBuilder() {
+            return ImmutableList.builder();
+          }
+        };
+      }
+      if (ImmutableSortedSet.class.isAssignableFrom(rawClass)) {
+        return new ImmutableCollectionConverter<Object>(elementConverter) {
+          @SuppressWarnings({"unchecked", "rawtypes"})
+          @Override
+          protected ImmutableCollection.Builder<Object> newBuilder() {
+            return (ImmutableCollection.Builder) ImmutableSortedSet.naturalOrder();
+          }
+        };
+      }
+      if (ImmutableSet.class.isAssignableFrom(rawClass)) {
+        return new ImmutableCollectionConverter<Object>(elementConverter) {
+          @Override
+          protected ImmutableCollection.Builder<Object> newBuilder() {
+            return ImmutableSet.builder();
+          }
+        };
+      }
+      if (ImmutableSortedMultiset.class.isAssignableFrom(rawClass)) {
+        return new ImmutableCollectionConverter<Object>(elementConverter) {
+          @SuppressWarnings({"unchecked", "rawtypes"})
+          @Override
+          protected ImmutableCollection.Builder<Object> newBuilder() {
+            return (ImmutableCollection.Builder) ImmutableSortedMultiset.naturalOrder();
+          }
+        };
+      }
+      if (ImmutableMultiset.class.isAssignableFrom(rawClass)) {
+        return new ImmutableCollectionConverter<Object>(elementConverter) {
+          @Override
+          protected ImmutableCollection.Builder<Object> newBuilder() {
+            return ImmutableMultiset.builder();
+          }
+        };
+      }
+
+      throw new JsonBindingException("Unsupported immutable collection type " + type);
+    }
+  }
+
+  private final Converter<E> elementConverter;
+
+  public ImmutableCollectionConverter(Converter<E> elementConverter) {
+    this.elementConverter = elementConverter;
+  }
+
+  @Override
+  public void serialize(ImmutableCollection<E> object, ObjectWriter writer, Context ctx) throws Exception {
+    writer.beginArray();
+    if (object instanceof ImmutableList) {
+      // avoids creating an iterator, immutable lists are random access
+      ImmutableList<E> list = (ImmutableList<E>) object;
+      for (int i = 0, size = list.size(); i < size; i++) {
+        elementConverter.serialize(list.get(i), writer, ctx);
+      }
+    } else {
+      for (E e : object) {
+        elementConverter.serialize(e, writer, ctx);
+      }
+    }
+    writer.endArray();
+  }
+
+  @Override
+  public ImmutableCollection<E> deserialize(ObjectReader reader, Context ctx) throws Exception {
+    ImmutableCollection.Builder<E> builder = newBuilder();
+    reader.beginArray();
+    while (reader.hasNext()) {
+      reader.next();
+      builder.add(elementConverter.deserialize(reader, ctx));
+    }
+    reader.endArray();
+    return builder.build();
+  }
+
+  protected abstract ImmutableCollection.Builder<E> newBuilder();
+}
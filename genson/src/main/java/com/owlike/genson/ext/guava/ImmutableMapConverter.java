@@ -0,0 +1,102 @@
+package com.owlike.genson.ext.guava;
+
+import com.google.common.collect.ImmutableBiMap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+import com.owlike.genson.*;
+import com.owlike.genson.annotation.HandleClassMetadata;
+import com.owlike.genson.convert.DefaultConverters.KeyAdapter;
+import com.owlike.genson.convert.DefaultConverters.MapConverterFactory;
+import com.owlike.genson.reflect.TypeUtil;
+import com.owlike.genson.stream.ObjectReader;
+import com.owlike.genson.stream.ObjectWriter;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * Converter for Guava immutable maps, the entries are deserialized directly into the builder of the map.
+ * As for Multimaps, only the keys that can be represented as json property names are handled (see
+ * {@link MapConverterFactory#keyAdapter(Class)}).
+ *
+ * @author eugen
+ */
+@HandleClassMetadata
+public abstract class ImmutableMapConverter<K, V> implements Converter<ImmutableMap<K, V>> {
+  static class ImmutableMapConverterFactory implements Factory<Converter<ImmutableMap<Object, Object>>> {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Converter<ImmutableMap<Object, Object>> create(Type type, Genson genson) {
+      Type expandedType = type;
+      if (TypeUtil.getRawClass(type).getTypeParameters().length == 0) {
+        expandedType = TypeUtil.expandType(TypeUtil.lookupGenericType(Map.class, TypeUtil.getRawClass(type)), type);
+      }
+      Class<?> keyClass = TypeUtil.getRawClass(TypeUtil.typeOf(0, expandedType));
+      KeyAdapter<Object> keyAdapter = (KeyAdapter<Object>) MapConverterFactory.keyAdapter(keyClass);
+      // the default map converters would build a HashMap that can't be assigned to an ImmutableMap
+      if (keyAdapter == null) {
+        throw new JsonBindingException("Immutable maps with keys of type " + keyClass.getName() + " are not supported.");
+      }
+
+      Converter<Object> valueConverter = genson.provideConverter(TypeUtil.typeOf(1, expandedType));
+      Class<?> rawClass = TypeUtil.getRawClass(type);
+
+      if (ImmutableSortedMap.class.isAssignableFrom(rawClass)) {
+        return new ImmutableMapConverter<Object, Object>(keyAdapter, valueConverter) {
+          @SuppressWarnings({"rawtypes"})
+          @Override
+          protected ImmutableMap.Builder<Object, Object> newBuilder() {
+            return (ImmutableMap.Builder) ImmutableSortedMap.naturalOrder();
+          }
+        };
+      }
+      if (ImmutableBiMap.class.isAssignableFrom(rawClass)) {
+        return new ImmutableMapConverter<Object, Object>(keyAdapter, valueConverter) {
+          @Override
+          protected ImmutableMap.Builder<Object, Object> newBuilder() {
+            return ImmutableBiMap.builder();
+          }
+        };
+      }
+      return new ImmutableMapConverter<Object, Object>(keyAdapter, valueConverter) {
+        @Override
+        protected ImmutableMap.Builder<Object, Object> newBuilder() {
+          return ImmutableMap.builder();
+        }
+      };
+    }
+  }
+
+  private final KeyAdapter<K> keyAdapter;
+  private final Converter<V> valueConverter;
+
+  public ImmutableMapConverter(KeyAdapter<K> keyAdapter, Converter<V> valueConverter) {
+    this.keyAdapter = keyAdapter;
+    this.valueConverter = valueConverter;
+  }
+
+  @Override
+  public void serialize(ImmutableMap<K, V> object, ObjectWriter writer, Context ctx) throws Exception {
+    writer.beginObject();
+    for (Map.Entry<K, V> entry : object.entrySet()) {
+      writer.writeName(keyAdapter.adapt(entry.getKey()));
+      valueConverter.serialize(entry.getValue(), writer, ctx);
+    }
+    writer.endObject();
+  }
+
+  @Override
+  public ImmutableMap<K, V> deserialize(ObjectReader reader, Context ctx) throws Exception {
+    ImmutableMap.Builder<K, V> builder = newBuilder();
+    reader.beginObject();
+    while (reader.hasNext()) {
+      reader.next();
+      builder.put(keyAdapter.adapt(reader.name()), valueConverter.deserialize(reader, ctx));
+    }
+    reader.endObject();
+    return builder.build();
+  }
+
+  protected abstract ImmutableMap.Builder<K, V> newBuilder();
+}
@@ -0,0 +1,186 @@
+package com.owlike.genson.ext.guava;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.Multimap;
+import com.owlike.genson.*;
+import com.owlike.genson.annotation.HandleClassMetadata;
+import com.owlike.genson.convert.DefaultConverters.KeyAdapter;
+import com.owlike.genson.convert.DefaultConverters.MapConverterFactory;
+import com.owlike.genson.reflect.TypeUtil;
+import com.owlike.genson.stream.ObjectReader;
+import com.owlike.genson.stream.ObjectWriter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Converter for Guava multimaps, they are represented as a json object where each key has an array of values,
+ * {"key1": [v1, v2], "key2": [v3]}. The values are written without going through the asMap view of the multimap
+ * and read directly into the multimap (or into its builder for immutable multimaps).
+ * <p/>
+ * As for Maps, only the keys that can be represented as json property names are handled (see
+ * {@link MapConverterFactory#keyAdapter(Class)}).
+ *
+ * @author eugen
+ */
+@HandleClassMetadata
+public abstract class MultimapConverter<K, V> implements Converter<Multimap<K, V>> {
+  static class MultimapConverterFactory implements Factory<Converter<Multimap<Object, Object>>> {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Converter<Multimap<Object, Object>> create(Type type, Genson genson) {
+      Type expandedType = type;
+      if (TypeUtil.getRawClass(type).getTypeParameters().length == 0) {
+        expandedType = TypeUtil.expandType(TypeUtil.lookupGenericType(Multimap.class, TypeUtil.getRawClass(type)), type);
+      }
+      Class<?> keyClass = TypeUtil.getRawClass(TypeUtil.typeOf(0, expandedType));
+      KeyAdapter<Object> keyAdapter = (KeyAdapter<Object>) MapConverterFactory.keyAdapter(keyClass);
+      if (keyAdapter == null) {
+        throw new JsonBindingException("Multimaps with keys of type " + keyClass.getName() + " are not supported.");
+      }
+      Converter<Object> valueConverter = genson.provideConverter(TypeUtil.typeOf(1, expandedType));
+      Class<?> rawClass = TypeUtil.getRawClass(type);
+
+      if (ImmutableMultimap.class.isAssignableFrom(rawClass)) {
+        if (ImmutableSetMultimap.class.isAssignableFrom(rawClass)) {
+          return new ImmutableMultimapConverter<Object, Object>(keyAdapter, valueConverter) {
+            @Override
+            protected ImmutableMultimap.Builder<Object, Object> newBuilder() {
+              return ImmutableSetMultimap.builder();
+            }
+          };
+        }
+        return new ImmutableMultimapConverter<Object, Object>(keyAdapter, valueConverter) {
+          @Override
+          protected ImmutableMultimap.Builder<Object, Object> newBuilder() {
+            return ImmutableListMultimap.builder();
+          }
+        };
+      }
+
+      if (rawClass.isAssignableFrom(ArrayListMultimap.class)) {
+        return new MutableMultimapConverter<Object, Object>(keyAdapter, valueConverter) {
+          @Override
+          protected Multimap<Object, Object> create() {
+            return ArrayListMultimap.create();
+          }
+        };
+      }
+      if (rawClass.isAssignableFrom(LinkedListMultimap.class)) {
+        return new MutableMultimapConverter<Object, Object>(keyAdapter, valueConverter) {
+          @Override
+          protected Multimap<Object, Object> create() {
+            return LinkedListMultimap.create();
+          }
+        };
+      }
+      if (rawClass.isAssignableFrom(LinkedHashMultimap.class)) {
+        return new MutableMultimapConverter<Object, Object>(keyAdapter, valueConverter) {
+          @Override
+          protected Multimap<Object, Object> create() {
+            return LinkedHashMultimap.create();
+          }
+        };
+      }
+      if (rawClass.isAssignableFrom(HashMultimap.class)) {
+        return new MutableMultimapConverter<Object, Object>(keyAdapter, valueConverter) {
+          @Override
+          protected Multimap<Object, Object> create() {
+            return HashMultimap.create();
+          }
+        };
+      }
+
+      throw new JsonBindingException("Unsupported multimap type " + type);
+    }
+  }
+
+  private final KeyAdapter<K> keyAdapter;
+  private final Converter<V> valueConverter;
+
+  public MultimapConverter(KeyAdapter<K> keyAdapter, Converter<V> valueConverter) {
+    this.keyAdapter = keyAdapter;
+    this.valueConverter = valueConverter;
+  }
+
+  @Override
+  public void serialize(Multimap<K, V> object, ObjectWriter writer, Context ctx) throws Exception {
+    writer.beginObject();
+    // immutable multimaps return their backing collections from keySet and get, mutable ones a light view over
+    // the values of the key (one small object per key), the asMap view and its entries are never materialized
+    for (K key : object.keySet()) {
+      writer.writeName(keyAdapter.adapt(key)).beginArray();
+      for (V value : object.get(key)) {
+        valueConverter.serialize(value, writer, ctx);
+      }
+      writer.endArray();
+    }
+    writer.endObject();
+  }
+
+  public static abstract class MutableMultimapConverter<K, V> extends MultimapConverter<K, V> {
+    public MutableMultimapConverter(KeyAdapter<K> keyAdapter, Converter<V> valueConverter) {
+      super(keyAdapter, valueConverter);
+    }
+
+    @Override
+    public Multimap<K, V> deserialize(ObjectReader reader, Context ctx) throws Exception {
+      Multimap<K, V> multimap = create();
+      reader.beginObject();
+      while (reader.hasNext()) {
+        reader.next();
+        K key = keyAdapter().adapt(reader.name());
+        reader.beginArray();
+        while (reader.hasNext()) {
+          reader.next();
+          multimap.put(key, valueConverter().deserialize(reader, ctx));
+        }
+        reader.endArray();
+      }
+      reader.endObject();
+      return multimap;
+    }
+
+    protected abstract Multimap<K, V> create();
+  }
+
+  public static abstract class ImmutableMultimapConverter<K, V> extends MultimapConverter<K, V> {
+    public ImmutableMultimapConverter(KeyAdapter<K> keyAdapter, Converter<V> valueConverter) {
+      super(keyAdapter, valueConverter);
+    }
+
+    @Override
+    public Multimap<K, V> deserialize(ObjectReader reader, Context ctx) throws Exception {
+      ImmutableMultimap.Builder<K, V> builder = newBuilder();
+      reader.beginObject();
+      while (reader.hasNext()) {
+        reader.next();
+        K key = keyAdapter().adapt(reader.name());
+        reader.beginArray();
+        while (reader.hasNext()) {
+          reader.next();
+          builder.put(key, valueConverter().deserialize(reader, ctx));
+        }
+        reader.endArray();
+      }
+      reader.endObject();
+      return builder.build();
+    }
+
+    protected abstract ImmutableMultimap.Builder<K, V> newBuilder();
+  }
+
+  protected KeyAdapter<K> keyAdapter() {
+    return keyAdapter;
+  }
+
+  protected Converter<V> valueConverter() {
+    return valueConverter;
+  }
+}
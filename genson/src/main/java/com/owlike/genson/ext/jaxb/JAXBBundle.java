@@ -8,13 +8,12 @@
 import java.lang.reflect.Field;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
-import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.GregorianCalendar;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.bind.annotation.*;
 import javax.xml.bind.annotation.adapters.XmlAdapter;
@@ -33,8 +32,10 @@
 import com.owlike.genson.convert.DefaultConverters.DateConverter;
 import com.owlike.genson.ext.GensonBundle;
 import com.owlike.genson.reflect.*;
+import com.owlike.genson.stream.JsonWriter;
 import com.owlike.genson.stream.ObjectReader;
 import com.owlike.genson.stream.ObjectWriter;
+import com.owlike.genson.stream.ValueType;
 
 /**
  * Provides support for some JAXB annotations and data types.
@@ -110,7 +111,7 @@ public Duration deserialize(ObjectReader reader, Context ctx) {
   @HandleBeanView
   private class XMLGregorianCalendarConverter implements Converter<XMLGregorianCalendar> {
     private final DateConverter converter = new DateConverter();
-    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-DD'T'hh:mm:ssZ");
+    private final DateConverter parser = new DateConverter(new SimpleDateFormat("yyyy-MM-DD'T'hh:mm:ssZ"), false);
 
     @Override
     public void serialize(XMLGregorianCalendar object, ObjectWriter writer, Context ctx) {
@@ -118,21 +119,19 @@ public void serialize(XMLGregorianCalendar object, ObjectWriter writer, Context
     }
 
     @Override
-    public synchronized XMLGregorianCalendar deserialize(ObjectReader reader, Context ctx) {
+    public XMLGregorianCalendar deserialize(ObjectReader reader, Context ctx) {
       GregorianCalendar cal = new GregorianCalendar();
-      try {
-        cal.setTime(dateFormat.parse(reader.valueAsString()));
-      } catch (ParseException e) {
-        throw new JsonBindingException("Could not parse date "
-          + reader.valueAsString(), e);
-      }
-
+      cal.setTime(parser.deserialize(reader, ctx));
       return dateFactory.newXMLGregorianCalendar(cal);
     }
 
   }
 
   private class XmlTypeAdapterFactory implements ContextualFactory<Object> {
+    // stateless adapters are shared by all the properties using them
+    private final ConcurrentHashMap<Class<?>, XmlAdapter<Object, Object>> sharedAdapters =
+      new ConcurrentHashMap<Class<?>, XmlAdapter<Object, Object>>();
+
     @Override
     public Converter<Object> create(BeanProperty property, Genson genson) {
       XmlJavaTypeAdapter ann = property.getAnnotation(XmlJavaTypeAdapter.class);
@@ -164,23 +163,55 @@ public Converter<Object> create(BeanProperty property, Genson genson) {
             + " is not assignable from property " + property.getName()
             + " declared in " + property.getDeclaringClass());
 
-        try {
-          XmlAdapter adapter = adapterClass.newInstance();
+        XmlAdapter<Object, Object> adapter = adapterFor(adapterClass);
+        Type valueType = xmlElementType != null ? xmlElementType : adaptedType;
+        // most adapters convert to a string, we can read and write it directly
+        if (String.class.equals(valueType))
+          converter = new StringAdaptedConverter(adapter);
+        else {
           // we also need to find a converter for the adapted type
-          Converter<Object> adaptedTypeConverter = genson.provideConverter(
-            xmlElementType != null ? xmlElementType : adaptedType);
+          Converter<Object> adaptedTypeConverter = genson.provideConverter(valueType);
           converter = new AdaptedConverter(adapter, adaptedTypeConverter);
-        } catch (InstantiationException e) {
-          throw new JsonBindingException(
-            "Could not instantiate XmlAdapter of type " + adapterClass, e);
-        } catch (IllegalAccessException e) {
-          throw new JsonBindingException(
-            "Could not instantiate XmlAdapter of type " + adapterClass, e);
         }
       }
       return converter;
     }
 
+    @SuppressWarnings("unchecked")
+    private XmlAdapter<Object, Object> adapterFor(Class<? extends XmlAdapter> adapterClass) {
+      XmlAdapter<Object, Object> adapter = sharedAdapters.get(adapterClass);
+      if (adapter != null) return adapter;
+
+      try {
+        adapter = adapterClass.newInstance();
+      } catch (InstantiationException e) {
+        throw new JsonBindingException(
+          "Could not instantiate XmlAdapter of type " + adapterClass, e);
+      } catch (IllegalAccessException e) {
+        throw new JsonBindingException(
+          "Could not instantiate XmlAdapter of type " + adapterClass, e);
+      }
+
+      if (isStateless(adapterClass)) {
+        XmlAdapter<Object, Object> existing = sharedAdapters.putIfAbsent(adapterClass, adapter);
+        if (existing != null) adapter = existing;
+      }
+      return adapter;
+    }
+
+    /**
+     * An adapter without instance fields can not hold state, so a single instance can be used by all
+     * properties.
+     */
+    private boolean isStateless(Class<?> adapterClass) {
+      for (Class<?> clazz = adapterClass; clazz != null && clazz != XmlAdapter.class; clazz = clazz.getSuperclass()) {
+        for (Field field : clazz.getDeclaredFields()) {
+          if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) return false;
+        }
+      }
+      return true;
+    }
+
     private class AdaptedConverter implements Converter<Object> {
       private final XmlAdapter<Object, Object> adapter;
       private final Converter<Object> converter;
@@ -193,29 +224,58 @@ public AdaptedConverter(XmlAdapter<Object, Object> adapter, Converter<Object> co
 
       @Override
       public Object deserialize(ObjectReader reader, Context ctx) throws Exception {
-        Object value = converter.deserialize(reader, ctx);
-        try {
-          return adapter.unmarshal(value);
-        } catch (Exception e) {
-          throw new JsonBindingException("Could not unmarshal object using adapter "
-            + adapter.getClass());
-        }
+        return unmarshal(adapter, converter.deserialize(reader, ctx));
       }
 
       @Override
       public void serialize(Object object, ObjectWriter writer, Context ctx) throws Exception {
-        Object adaptedValue = null;
-        try {
-          adaptedValue = adapter.marshal(object);
-        } catch (Exception e) {
-          throw new JsonBindingException("Could not marshal object using adapter "
-            + adapter.getClass());
-        }
-        converter.serialize(adaptedValue, writer, ctx);
+        converter.serialize(marshal(adapter, object), writer, ctx);
+      }
+    }
+
+    /**
+     * Used when the adapted type is String, avoids going through the converter of String.
+     */
+    private class StringAdaptedConverter implements Converter<Object> {
+      private final XmlAdapter<Object, Object> adapter;
+
+      public StringAdaptedConverter(XmlAdapter<Object, Object> adapter) {
+        this.adapter = adapter;
+      }
+
+      @Override
+      public Object deserialize(ObjectReader reader, Context ctx) throws Exception {
+        String value = ValueType.NULL == reader.getValueType() ? null : reader.valueAsString();
+        return unmarshal(adapter, value);
+      }
+
+      @Override
+      public void serialize(Object object, ObjectWriter writer, Context ctx) throws Exception {
+        Object value = marshal(adapter, object);
+        if (value == null) writer.writeNull();
+        else writer.writeValue((String) value);
       }
     }
   }
 
+  private static Object unmarshal(XmlAdapter<Object, Object> adapter, Object value) {
+    try {
+      return adapter.unmarshal(value);
+    } catch (Exception e) {
+      throw new JsonBindingException("Could not unmarshal object using adapter "
+        + adapter.getClass(), e);
+    }
+  }
+
+  private static Object marshal(XmlAdapter<Object, Object> adapter, Object value) {
+    try {
+      return adapter.marshal(value);
+    } catch (Exception e) {
+      throw new JsonBindingException("Could not marshal object using adapter "
+        + adapter.getClass(), e);
+    }
+  }
+
   private class EnumConverterFactory implements Factory<Converter<Enum<?>>> {
 
     @Override
@@ -226,22 +286,15 @@ public Converter<Enum<?>> create(Type type, Genson genson) {
         Class<? extends Enum<?>> enumClass = (Class<? extends Enum<?>>) rawClass;
 
         try {
-          Map<String, Enum<?>> valueToEnum = new HashMap<String, Enum<?>>();
-          Map<Enum<?>, String> enumToValue = new HashMap<Enum<?>, String>();
-          for (Enum<?> enumConstant : enumClass.getEnumConstants()) {
+          Enum<?>[] constants = enumClass.getEnumConstants();
+          String[] values = new String[constants.length];
+          for (Enum<?> enumConstant : constants) {
             XmlEnumValue ann = rawClass.getField(enumConstant.name()).getAnnotation(
               XmlEnumValue.class);
-
-            if (ann != null) {
-              valueToEnum.put(ann.value(), enumConstant);
-              enumToValue.put(enumConstant, ann.value());
-            } else {
-              valueToEnum.put(enumConstant.name(), enumConstant);
-              enumToValue.put(enumConstant, enumConstant.name());
-            }
+            values[enumConstant.ordinal()] = ann != null ? ann.value() : enumConstant.name();
           }
 
-          return new EnumConverter(valueToEnum, enumToValue);
+          return new EnumConverter(constants, values);
         } catch (SecurityException e) {
           throw new JsonBindingException("Unable to introspect enum "
             + enumClass, e);
@@ -256,23 +309,48 @@ public Converter<Enum<?>> create(Type type, Genson genson) {
     @HandleClassMetadata
     @HandleBeanView
     private class EnumConverter implements Converter<Enum<?>> {
-      private final Map<String, Enum<?>> valueToEnum;
-      private final Map<Enum<?>, String> enumToValue;
-
-      public EnumConverter(Map<String, Enum<?>> valueToEnum, Map<Enum<?>, String> enumToValue) {
+      // all indexed by ordinal
+      private final Enum<?>[] constants;
+      private final String[] values;
+      private final char[][] escapedValues;
+      private final int[] hashes;
+      // open addressing table from the hash of a value to its ordinal + 1, 0 marking an empty slot
+      private final int[] index;
+
+      public EnumConverter(Enum<?>[] constants, String[] values) {
         super();
-        this.valueToEnum = valueToEnum;
-        this.enumToValue = enumToValue;
+        this.constants = constants;
+        this.values = values;
+        this.escapedValues = new char[values.length][];
+        this.hashes = new int[values.length];
+        int capacity = Integer.highestOneBit(Math.max(values.length, 1)) << 2;
+        this.index = new int[capacity];
+        for (int i = 0; i < values.length; i++) {
+          escapedValues[i] = JsonWriter.escapeString(values[i]);
+          hashes[i] = values[i].hashCode();
+
+          // when two constants have the same value the first one wins
+          int slot = hashes[i] & (capacity - 1);
+          while (index[slot] != 0 && !values[index[slot] - 1].equals(values[i]))
+            slot = (slot + 1) & (capacity - 1);
+          if (index[slot] == 0) index[slot] = i + 1;
+        }
       }
 
       @Override
       public void serialize(Enum<?> object, ObjectWriter writer, Context ctx) {
-        writer.writeUnsafeValue(enumToValue.get(object));
+        writer.writeEscapedValue(escapedValues[object.ordinal()]);
       }
 
       @Override
       public Enum<?> deserialize(ObjectReader reader, Context ctx) {
-        return valueToEnum.get(reader.valueAsString());
+        // compares the chars of the value with the enum values without creating a string
+        int hash = reader.valueHashCode();
+        int mask = index.length - 1;
+        for (int slot = hash & mask, ordinal; (ordinal = index[slot] - 1) >= 0; slot = (slot + 1) & mask) {
+          if (hashes[ordinal] == hash && reader.valueEquals(values[ordinal])) return constants[ordinal];
+        }
+        return null;
       }
     }
   }
@@ -19,6 +19,7 @@ public final class GensonJaxRSFeature implements ContextResolver<GensonJaxRSFeat
   private Set<Class<?>> notSerializableTypes = new HashSet<Class<?>>();
   private Set<Class<?>> notDeserializableTypes = new HashSet<Class<?>>();
   private Genson genson = _defaultGenson;
+  private int flushInterval = 0;
 
   @Override
   public GensonJaxRSFeature getContext(Class<?> type) {
@@ -60,6 +61,20 @@ public GensonJaxRSFeature disableDeserializationFor(Class<?> type, Class<?>... t
     return this;
   }
 
+  /**
+   * When returning an Iterator, a Stream or a lazy Iterable, the response will be flushed each time this number
+   * of elements has been written. By default (zero) the response is only flushed at the end.
+   */
+  public GensonJaxRSFeature flushEvery(int elements) {
+    if (elements < 0) throw new IllegalArgumentException("The flush interval must be positive or zero.");
+    this.flushInterval = elements;
+    return this;
+  }
+
+  public int flushInterval() {
+    return flushInterval;
+  }
+
   public boolean isSerializable(Class<?> type) {
     return !notSerializableTypes.contains(type);
   }
@@ -3,7 +3,13 @@
 import java.io.*;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.nio.charset.Charset;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
@@ -18,6 +24,7 @@
 
 import com.owlike.genson.*;
 import com.owlike.genson.annotation.WithBeanView;
+import com.owlike.genson.convert.DefaultConverters;
 import com.owlike.genson.ext.jaxb.JAXBBundle;
 import com.owlike.genson.stream.JsonStreamException;
 import com.owlike.genson.stream.ObjectReader;
@@ -28,7 +35,25 @@
 @Produces({MediaType.APPLICATION_JSON, "text/json", "application/*+json"})
 public class GensonJsonConverter implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
 
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+  private static final Map<String, Charset> JSON_CHARSETS = new TreeMap<String, Charset>(String.CASE_INSENSITIVE_ORDER);
+  private static final List<Class<? extends BeanView<?>>> NO_VIEWS = Collections.emptyList();
+  private static final int MAX_CACHED_ANNOTATIONS = 1024;
+
+  static {
+    JSON_CHARSETS.put("UTF-8", UTF8);
+    for (String name : new String[]{"UTF-16BE", "UTF-16LE", "UTF-32BE", "UTF-32LE"}) {
+      JSON_CHARSETS.put(name, Charset.forName(name));
+    }
+  }
+
   private final ContextResolver<GensonJaxRSFeature> _gensonResolver;
+  // the feature resolved for a type and the decisions derived from it, computed once per type so the feature
+  // must be configured before the converter is used
+  private final ConcurrentHashMap<Class<?>, TypeSettings> _typeSettings =
+    new ConcurrentHashMap<Class<?>, TypeSettings>();
+  private final ConcurrentHashMap<Annotation[], List<Class<? extends BeanView<?>>>> _viewsCache =
+    new ConcurrentHashMap<Annotation[], List<Class<? extends BeanView<?>>>>();
 
   public GensonJsonConverter() {
     this(new GensonJaxRSFeature());
@@ -54,8 +79,18 @@ public GensonJsonConverter(ContextResolver<GensonJaxRSFeature> gensonResolver) {
     this._gensonResolver = gensonResolver;
   }
 
+  private TypeSettings settings(Class<?> type) {
+    TypeSettings settings = _typeSettings.get(type);
+    if (settings == null) {
+      settings = new TypeSettings(_gensonResolver.getContext(type), type);
+      TypeSettings previous = _typeSettings.putIfAbsent(type, settings);
+      if (previous != null) settings = previous;
+    }
+    return settings;
+  }
+
   private Genson getInstance(Class<?> type) {
-    Genson genson = _gensonResolver.getContext(type).genson();
+    Genson genson = settings(type).feature.genson();
     if (genson == null)
       throw new NullPointerException("Could not resolve a Genson instance for type " + type
         + " using ContextResolver " + _gensonResolver.getClass());
@@ -64,25 +99,28 @@ private Genson getInstance(Class<?> type) {
 
   public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations,
                              MediaType mediaType) {
-
-    GensonJaxRSFeature feature = _gensonResolver.getContext(type);
-    return feature.isEnabled() && feature.isSerializable(type);
+    return settings(type).writeable;
   }
 
   public void writeTo(Object t, Class<?> type, Type genericType, Annotation[] annotations,
                       MediaType mediaType, MultivaluedMap<String, Object> httpHeaders,
                       OutputStream entityStream) throws IOException, WebApplicationException {
     Genson genson = getInstance(type);
-    String charset = mediaType.getParameters().get("charset");
-    if (charset == null) charset = "UTF-8";
-    if (!charset.equalsIgnoreCase("UTF-8")
-      && !charset.equalsIgnoreCase("UTF-16BE") && !charset.equalsIgnoreCase("UTF-16LE")
-      && !charset.equalsIgnoreCase("UTF-32BE") && !charset.equalsIgnoreCase("UTF-32LE"))
-      throw new UnsupportedEncodingException("JSON spec allows only UTF-8/16/32 encodings.");
-
-    ObjectWriter writer = genson.createWriter(new OutputStreamWriter(entityStream, charset));
+    String charsetName = mediaType.getParameters().get("charset");
+    ObjectWriter writer;
+    if (charsetName == null) {
+      writer = genson.createWriter(entityStream);
+    } else {
+      Charset charset = JSON_CHARSETS.get(charsetName);
+      if (charset == null) throw new UnsupportedEncodingException("JSON spec allows only UTF-8/16/32 encodings.");
+      writer = charset == UTF8 ? genson.createWriter(entityStream) : genson.createWriter(entityStream, charset);
+    }
+
+    Context ctx = createContext(annotations, genson);
+    int flushInterval = settings(type).feature.flushInterval();
+    if (flushInterval > 0) ctx.store(DefaultConverters.IteratorConverter.FLUSH_INTERVAL, flushInterval);
     try {
-      genson.serialize(t, rawIfNullGenericType(type, genericType), writer, createContext(annotations, genson));
+      genson.serialize(t, rawIfNullGenericType(type, genericType), writer, ctx);
       writer.flush();
     } catch (JsonBindingException e) {
       throw new WebApplicationException(e);
@@ -92,13 +130,25 @@ public void writeTo(Object t, Class<?> type, Type genericType, Annotation[] anno
   }
 
   private Context createContext(Annotation[] annotations, Genson genson) {
-    WithBeanView viewAnno = find(WithBeanView.class, annotations);
-    Context context = null;
-    if (viewAnno != null)
-      context = new Context(genson, Arrays.asList(viewAnno.views()));
-    else
-      context = new Context(genson);
-    return context;
+    List<Class<? extends BeanView<?>>> views = views(annotations);
+    return views != null ? new Context(genson, views) : new Context(genson);
+  }
+
+  /**
+   * The annotation arrays are usually built once per resource method by the JAX-RS implementation, the views
+   * found in them are cached by array identity (arrays don't override equals/hashCode).
+   */
+  private List<Class<? extends BeanView<?>>> views(Annotation[] annotations) {
+    if (annotations == null || annotations.length == 0) return null;
+
+    List<Class<? extends BeanView<?>>> views = _viewsCache.get(annotations);
+    if (views == null) {
+      WithBeanView viewAnno = find(WithBeanView.class, annotations);
+      views = viewAnno != null ? Arrays.asList(viewAnno.views()) : NO_VIEWS;
+      // don't let the cache grow if the annotations are a new array on each call
+      if (_viewsCache.size() < MAX_CACHED_ANNOTATIONS) _viewsCache.putIfAbsent(annotations, views);
+    }
+    return views != NO_VIEWS ? views : null;
   }
 
   private <T extends Annotation> T find(Class<T> annotationClass, Annotation[] inAnnotations) {
@@ -112,8 +162,7 @@ private <T extends Annotation> T find(Class<T> annotationClass, Annotation[] inA
 
   public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations,
                             MediaType mediaType) {
-    GensonJaxRSFeature feature = _gensonResolver.getContext(type);
-    return feature.isEnabled() && feature.isDeserializable(type);
+    return settings(type).readable;
   }
 
   public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations,
@@ -122,7 +171,11 @@ public Object readFrom(Class<Object> type, Type genericType, Annotation[] annota
     try {
       Genson genson = getInstance(type);
       ObjectReader reader = genson.createReader(entityStream);
-      return genson.deserialize(GenericType.of(rawIfNullGenericType(type, genericType)), reader, createContext(annotations, genson));
+      Context ctx = createContext(annotations, genson);
+      // the JAX-RS implementation may close the entity stream once readFrom returns, so Iterator and Stream
+      // parameters can't be read lazily
+      ctx.store(DefaultConverters.IteratorConverter.LAZY_ROOT, false);
+      return genson.deserialize(GenericType.of(rawIfNullGenericType(type, genericType)), reader, ctx);
     } catch (JsonBindingException e) {
       throw new WebApplicationException(e);
     } catch (JsonStreamException jse) {
@@ -138,4 +191,16 @@ public long getSize(Object t, Class<?> type, Type genericType, Annotation[] anno
   private Type rawIfNullGenericType(Class<?> rawType, Type genericType) {
     return genericType != null ? genericType : rawType;
   }
+
+  private static class TypeSettings {
+    final GensonJaxRSFeature feature;
+    final boolean writeable;
+    final boolean readable;
+
+    TypeSettings(GensonJaxRSFeature feature, Class<?> type) {
+      this.feature = feature;
+      this.writeable = feature.isEnabled() && feature.isSerializable(type);
+      this.readable = feature.isEnabled() && feature.isDeserializable(type);
+    }
+  }
 }
@@ -5,19 +5,36 @@
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.ext.ReaderInterceptor;
+import javax.ws.rs.ext.ReaderInterceptorContext;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
 
 import com.owlike.genson.Context;
-import com.owlike.genson.ThreadLocalHolder;
+import com.owlike.genson.ContextKey;
 import com.owlike.genson.reflect.BeanProperty;
-import com.owlike.genson.reflect.RuntimePropertyFilter;
+import com.owlike.genson.reflect.CompilableRuntimePropertyFilter;
 
 /**
  * This class will include or exclude (depending on how it is configured) the properties during ser/de based on the
- * content of the query string.
+ * content of the query string. The properties to include are the same during the whole request, so they are
+ * resolved only once per type and request (see {@link CompilableRuntimePropertyFilter}).
+ * <p/>
+ * The properties are extracted from the query string when the request is received and kept as a property of the
+ * request. They are made available to the filter only while the entity is being read or written, so no state is
+ * left on the threads once the request has been processed.
  */
-public class UrlQueryParamFilter implements RuntimePropertyFilter, ContainerRequestFilter {
+public class UrlQueryParamFilter implements CompilableRuntimePropertyFilter, ContainerRequestFilter,
+  ReaderInterceptor, WriterInterceptor {
+  private final static String PROPERTIES_TO_FILTER = "_jaxrs_params_to_filter";
+  private final static ContextKey<Set<String>> PROPERTIES_TO_FILTER_KEY =
+    new ContextKey<Set<String>>(PROPERTIES_TO_FILTER);
+
+  private final ThreadLocal<Set<String>> currentPropertiesToFilter = new ThreadLocal<Set<String>>();
+
   private String paramName = "filter";
   // By default we exclude all and include only what is present in the query params
   private boolean inclusionFilter = true;
@@ -25,7 +42,13 @@ public class UrlQueryParamFilter implements RuntimePropertyFilter, ContainerRequ
 
   @Override
   public boolean shouldInclude(BeanProperty property, Context ctx) {
-    Set<String> properties = ThreadLocalHolder.get("_jaxrs_params_to_filter", Set.class);
+    Set<String> properties = ctx.get(PROPERTIES_TO_FILTER_KEY);
+    if (properties == null) {
+      properties = currentPropertiesToFilter.get();
+      // not called during the processing of a request, there is nothing to filter
+      if (properties == null) return true;
+      ctx.store(PROPERTIES_TO_FILTER_KEY, properties);
+    }
 
     if (inclusionFilter) return properties.contains(property.getName());
     else return !properties.contains(property.getName());
@@ -41,7 +64,39 @@ public void filter(ContainerRequestContext containerRequestContext) throws IOExc
       }
     }
 
-    ThreadLocalHolder.store("_jaxrs_params_to_filter", propertiesToFilter);
+    containerRequestContext.setProperty(PROPERTIES_TO_FILTER, propertiesToFilter);
+  }
+
+  @Override
+  public Object aroundReadFrom(ReaderInterceptorContext context) throws IOException, WebApplicationException {
+    Set<String> previous = enter(context.getProperty(PROPERTIES_TO_FILTER));
+    try {
+      return context.proceed();
+    } finally {
+      exit(previous);
+    }
+  }
+
+  @Override
+  public void aroundWriteTo(WriterInterceptorContext context) throws IOException, WebApplicationException {
+    Set<String> previous = enter(context.getProperty(PROPERTIES_TO_FILTER));
+    try {
+      context.proceed();
+    } finally {
+      exit(previous);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private Set<String> enter(Object propertiesToFilter) {
+    Set<String> previous = currentPropertiesToFilter.get();
+    currentPropertiesToFilter.set((Set<String>) propertiesToFilter);
+    return previous;
+  }
+
+  private void exit(Set<String> previous) {
+    if (previous != null) currentPropertiesToFilter.set(previous);
+    else currentPropertiesToFilter.remove();
   }
 
   /**
@@ -23,7 +23,7 @@ public JsonObjectBuilder add(String name, JsonValue value) {
       @Override
       public JsonObjectBuilder add(String name, String value) {
         if (value == null) return addNull(name);
-        else return add(name, new GensonJsonString(value));
+        else return add(name, JsonTreeReader.string(value));
       }
 
       @Override
@@ -40,12 +40,12 @@ public JsonObjectBuilder add(String name, BigDecimal value) {
 
       @Override
       public JsonObjectBuilder add(String name, int value) {
-        return add(name, new GensonJsonNumber.IntJsonNumber(value));
+        return add(name, JsonTreeReader.number(value));
       }
 
       @Override
       public JsonObjectBuilder add(String name, long value) {
-        return add(name, new GensonJsonNumber.IntJsonNumber(value));
+        return add(name, JsonTreeReader.number(value));
       }
 
       @Override
@@ -98,7 +98,7 @@ public JsonArrayBuilder add(JsonValue value) {
       @Override
       public JsonArrayBuilder add(String value) {
         if (value == null) return addNull();
-        else return add(new GensonJsonString(value));
+        else return add(JsonTreeReader.string(value));
       }
 
       @Override
@@ -115,12 +115,12 @@ public JsonArrayBuilder add(BigInteger value) {
 
       @Override
       public JsonArrayBuilder add(int value) {
-        return add(new GensonJsonNumber.IntJsonNumber(value));
+        return add(JsonTreeReader.number(value));
       }
 
       @Override
       public JsonArrayBuilder add(long value) {
-        return add(new GensonJsonNumber.IntJsonNumber(value));
+        return add(JsonTreeReader.number(value));
       }
 
       @Override
@@ -3,8 +3,6 @@
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.ArrayDeque;
-import java.util.Deque;
 import java.util.Map.Entry;
 
 import javax.json.JsonArray;
@@ -25,7 +23,6 @@ public class GensonJsonGenerator implements JsonGenerator {
   public static final String HTML_SAFE = "GensonJsonGenerator.htmlSafe";
 
   private final ObjectWriter writer;
-  private final Deque<JsonType> _ctx = new ArrayDeque<JsonType>();
 
   public GensonJsonGenerator(ObjectWriter writer) {
     this.writer = writer;
@@ -35,7 +32,6 @@ public GensonJsonGenerator(ObjectWriter writer) {
   public JsonGenerator writeStartObject() {
     try {
       writer.beginObject();
-      _ctx.push(JsonType.OBJECT);
     } catch (Exception e) {
       _wrapAndThrow(e);
     }
@@ -46,7 +42,6 @@ public JsonGenerator writeStartObject() {
   public JsonGenerator writeStartObject(String name) {
     try {
       writer.writeName(name).beginObject();
-      _ctx.push(JsonType.OBJECT);
     } catch (Exception e) {
       _wrapAndThrow(e);
     }
@@ -57,7 +52,6 @@ public JsonGenerator writeStartObject(String name) {
   public JsonGenerator writeStartArray() {
     try {
       writer.beginArray();
-      _ctx.push(JsonType.ARRAY);
     } catch (Exception e) {
       _wrapAndThrow(e);
     }
@@ -68,7 +62,6 @@ public JsonGenerator writeStartArray() {
   public JsonGenerator writeStartArray(String name) {
     try {
       writer.writeName(name).beginArray();
-      _ctx.push(JsonType.ARRAY);
     } catch (Exception e) {
       _wrapAndThrow(e);
     }
@@ -167,7 +160,8 @@ public JsonGenerator writeNull(String name) {
 
   @Override
   public JsonGenerator writeEnd() {
-    JsonType type = _ctx.pop();
+    // the writer already tracks the structures being written
+    JsonType type = writer.enclosingType();
     try {
       if (JsonType.OBJECT == type) writer.endObject();
       else if (JsonType.ARRAY == type) writer.endArray();
@@ -204,7 +198,8 @@ public JsonGenerator write(JsonValue value) {
       write(((JsonString) value).getString());
     } else if (javax.json.JsonValue.ValueType.NUMBER == type) {
       JsonNumber num = (JsonNumber) value;
-      if (num.isIntegral()) write(num.bigIntegerValueExact());
+      if (num instanceof GensonJsonNumber.IntJsonNumber) write(num.longValueExact());
+      else if (num.isIntegral()) write(num.bigIntegerValueExact());
       else write(num.bigDecimalValue());
     }
     return this;
@@ -2,19 +2,19 @@
 
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.io.UnsupportedEncodingException;
 import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Map;
 
-import javax.json.JsonException;
 import javax.json.stream.JsonGenerator;
 import javax.json.stream.JsonGeneratorFactory;
 
 import com.owlike.genson.stream.JsonWriter;
 
 public class GensonJsonGeneratorFactory implements JsonGeneratorFactory {
+  private static final Charset UTF8_CHARSET = Charset.forName("UTF-8");
+
   private final boolean prettyPrint;
   private final boolean htmlSafe;
   private final boolean skipNull;
@@ -38,17 +38,13 @@ public JsonGenerator createGenerator(Writer writer) {
 
   @Override
   public JsonGenerator createGenerator(OutputStream out) {
-    try {
-      return new GensonJsonGenerator(new JsonWriter(new OutputStreamWriter(out, "UTF-8"),
-        skipNull, htmlSafe, prettyPrint));
-    } catch (UnsupportedEncodingException e) {
-      throw new JsonException("Charset UTF-8 is not supported.", e);
-    }
+    return createGenerator(out, UTF8_CHARSET);
   }
 
   @Override
   public JsonGenerator createGenerator(OutputStream out, Charset charset) {
-    return new GensonJsonGenerator(new JsonWriter(new OutputStreamWriter(out), skipNull,
+    // JsonWriter buffers the chars, the encoder only sees full buffers
+    return new GensonJsonGenerator(new JsonWriter(new OutputStreamWriter(out, charset), skipNull,
       htmlSafe, prettyPrint));
   }
 
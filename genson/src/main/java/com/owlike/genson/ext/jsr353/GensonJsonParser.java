@@ -131,8 +131,9 @@ public long getLong() {
 
   @Override
   public BigDecimal getBigDecimal() {
-    // TODO
     try {
+      // integers are read as longs, no need to go through their text
+      if (reader.getValueType() == INTEGER) return BigDecimal.valueOf(reader.valueAsLong());
       return new BigDecimal(reader.valueAsString());
     } catch (JsonStreamException e) {
       throw _wrapException(e);
@@ -153,7 +154,7 @@ public void close() {
     }
   }
 
-  private JsonException _wrapException(Exception e) {
+  static JsonException _wrapException(Exception e) {
     JsonException newException = null;
     if (e instanceof JsonStreamException) {
       JsonStreamException jse = (JsonStreamException) e;
@@ -1,20 +1,26 @@
 package com.owlike.genson.ext.jsr353;
 
-import java.io.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Map;
 
 import javax.json.JsonArray;
 import javax.json.JsonException;
+import javax.json.JsonNumber;
 import javax.json.JsonObject;
+import javax.json.JsonString;
 import javax.json.JsonStructure;
+import javax.json.JsonValue;
 import javax.json.stream.JsonParser;
 import javax.json.stream.JsonParserFactory;
 
 import com.owlike.genson.EncodingAwareReaderFactory;
 import com.owlike.genson.stream.JsonReader;
-import com.owlike.genson.stream.JsonWriter;
+import com.owlike.genson.stream.TreeReader;
 
 public class GensonJsonParserFactory implements JsonParserFactory {
   private final boolean strictDoubleParse;
@@ -41,7 +47,7 @@ public JsonParser createParser(InputStream in) {
           new JsonReader(encodingAwareReaderFactory.createReader(in), strictDoubleParse, false)
       );
     } catch (IOException e) {
-      throw new JsonException("Failed to detect encoding");
+      throw new JsonException("Failed to detect encoding", e);
     }
   }
 
@@ -60,14 +66,38 @@ public JsonParser createParser(JsonArray array) {
     return parserForJsonStructure(array);
   }
 
-  // TODO: OK I know pretty slow to do that, but what a pain to also implement this...will do it latter
+  /**
+   * Walks the structure with a TreeReader (JsonObject being a Map and JsonArray a List), its leaves are unwrapped
+   * to plain values when they are reached. Nothing is written to text and parsed back.
+   */
   private JsonParser parserForJsonStructure(JsonStructure jsonStructure) {
-    StringWriter sw = new StringWriter();
-    GensonJsonGenerator generator = new GensonJsonGenerator(new JsonWriter(sw));
-    generator.write(jsonStructure);
-    generator.flush();
+    return new GensonJsonParser(new TreeReader(jsonStructure) {
+      @Override
+      protected Object toTreeNode(Object node) {
+        return unwrap((JsonValue) node);
+      }
+    });
+  }
 
-    return createParser(new StringReader(sw.toString()));
+  static Object unwrap(JsonValue value) {
+    switch (value.getValueType()) {
+      case STRING:
+        return ((JsonString) value).getString();
+      case NUMBER:
+        JsonNumber number = (JsonNumber) value;
+        if (number instanceof GensonJsonNumber.IntJsonNumber) return number.longValue();
+        // keeps the exact value, integral numbers that don't fit in a long are read as decimals
+        return number.isIntegral() && number.bigIntegerValue().bitLength() < 64 ? number.longValue()
+          : number.bigDecimalValue();
+      case TRUE:
+        return Boolean.TRUE;
+      case FALSE:
+        return Boolean.FALSE;
+      case NULL:
+        return null;
+      default:
+        throw new JsonException("Unsupported JsonValue " + value);
+    }
   }
 
   @Override
@@ -1,12 +1,13 @@
 package com.owlike.genson.ext.jsr353;
 
 import com.owlike.genson.EncodingAwareReaderFactory;
+import com.owlike.genson.stream.JsonStreamException;
+import com.owlike.genson.stream.ObjectReader;
+import com.owlike.genson.stream.ValueType;
 
 import javax.json.*;
-import javax.json.stream.JsonParser;
-import javax.json.stream.JsonParser.Event;
 
-import static javax.json.stream.JsonParser.Event.*;
+import static com.owlike.genson.stream.ValueType.*;
 
 import java.io.*;
 import java.nio.charset.Charset;
@@ -15,7 +16,7 @@
 
 public class GensonJsonReaderFactory implements javax.json.JsonReaderFactory {
   private final GensonJsonParserFactory parserFactory;
-  private final GensonJsonBuilderFactory builderFactory;
+  private final boolean strictDoubleParse;
   private final EncodingAwareReaderFactory encodingAwareReaderFactory = new EncodingAwareReaderFactory();
 
   public GensonJsonReaderFactory() {
@@ -24,152 +25,66 @@ public GensonJsonReaderFactory() {
 
   public GensonJsonReaderFactory(Map<String, ?> config) {
     parserFactory = new GensonJsonParserFactory(config);
-    builderFactory = new GensonJsonBuilderFactory();
+    strictDoubleParse = JSR353Bundle.toBoolean(config, GensonJsonParser.STRICT_DOUBLE_PARSE);
   }
 
   @Override
   public JsonReader createReader(final Reader reader) {
     return new JsonReader() {
-      private final JsonParser parser = parserFactory.createParser(reader);
+      // the tree is built directly from the tokens, going through the parser events and the builders
+      // would allocate the intermediate builders and maps for each structure
+      private final ObjectReader objectReader = new com.owlike.genson.stream.JsonReader(reader,
+        strictDoubleParse, false);
       private boolean readed = false;
 
       @Override
       public JsonStructure read() {
-        checkNotReadedAndRead();
-
-        if (parser.hasNext()) {
-          Event evt = parser.next();
-          if (START_OBJECT == evt) {
-            return read(builderFactory.createObjectBuilder()).build();
-          } else if (START_ARRAY == evt) {
-            return read(builderFactory.createArrayBuilder()).build();
-          } else throw new JsonException("Expected START_OBJECT or START_ARRAY but got " + evt);
-        }
-
-        throw new JsonException("Empty stream");
+        ValueType type = begin();
+        if (OBJECT == type || ARRAY == type) return readTree();
+        else throw new JsonException("Expected OBJECT or ARRAY but got " + type);
       }
 
       @Override
       public JsonObject readObject() {
-        checkNotReadedAndRead();
-
-        if (parser.hasNext()) {
-          Event evt = parser.next();
-          if (START_OBJECT == evt) {
-            return read(builderFactory.createObjectBuilder()).build();
-          } else throw new JsonException("Expected " + START_OBJECT + " but got " + evt);
-        }
-
-        throw new JsonException("Empty stream");
+        ValueType type = begin();
+        if (OBJECT == type) return (JsonObject) readTree();
+        else throw new JsonException("Expected " + OBJECT + " but got " + type);
       }
 
       @Override
       public JsonArray readArray() {
-        checkNotReadedAndRead();
-
-        if (parser.hasNext()) {
-          Event evt = parser.next();
-          if (START_ARRAY == evt) {
-            return read(builderFactory.createArrayBuilder()).build();
-          } else throw new JsonException("Expected " + START_ARRAY + " but got " + evt);
-        }
-
-        throw new JsonException("Empty stream");
+        ValueType type = begin();
+        if (ARRAY == type) return (JsonArray) readTree();
+        else throw new JsonException("Expected " + ARRAY + " but got " + type);
       }
 
-      private JsonArrayBuilder read(JsonArrayBuilder arrayBuilder) {
-        while (parser.hasNext()) {
-          Event evt = parser.next();
-          switch (evt) {
-            case VALUE_STRING:
-              arrayBuilder.add(parser.getString());
-              break;
-            case VALUE_NUMBER:
-              if (parser.isIntegralNumber()) arrayBuilder.add(parser.getLong());
-              else arrayBuilder.add(parser.getBigDecimal());
-              break;
-            case VALUE_NULL:
-              arrayBuilder.addNull();
-              break;
-            case VALUE_FALSE:
-              arrayBuilder.add(JsonValue.FALSE);
-              break;
-            case VALUE_TRUE:
-              arrayBuilder.add(JsonValue.TRUE);
-              break;
-            case START_OBJECT:
-              arrayBuilder.add(
-                read(builderFactory.createObjectBuilder())
-              );
-              break;
-            case START_ARRAY:
-              arrayBuilder.add(
-                read(builderFactory.createArrayBuilder())
-              );
-              break;
-            case END_ARRAY:
-              return arrayBuilder;
-            default:
-              throw new JsonException("Unexpected event " + evt);
-          }
+      private JsonStructure readTree() {
+        try {
+          return (JsonStructure) new JsonTreeReader(objectReader, true).read();
+        } catch (JsonStreamException e) {
+          throw GensonJsonParser._wrapException(e);
         }
-
-        throw new IllegalStateException();
       }
 
-      private JsonObjectBuilder read(JsonObjectBuilder objectBuilder) {
-        String name = null;
-
-        while (parser.hasNext()) {
-          Event evt = parser.next();
-          switch (evt) {
-            case KEY_NAME:
-              name = parser.getString();
-              break;
-            case VALUE_STRING:
-              objectBuilder.add(name, parser.getString());
-              break;
-            case VALUE_NUMBER:
-              if (parser.isIntegralNumber()) objectBuilder.add(name, parser.getLong());
-              else objectBuilder.add(name, parser.getBigDecimal());
-              break;
-            case VALUE_NULL:
-              objectBuilder.addNull(name);
-              break;
-            case VALUE_FALSE:
-              objectBuilder.add(name, JsonValue.FALSE);
-              break;
-            case VALUE_TRUE:
-              objectBuilder.add(name, JsonValue.TRUE);
-              break;
-            case START_OBJECT:
-              objectBuilder.add(
-                name, read(builderFactory.createObjectBuilder())
-              );
-              break;
-            case START_ARRAY:
-              objectBuilder.add(
-                name, read(builderFactory.createArrayBuilder())
-              );
-              break;
-            case END_OBJECT:
-              return objectBuilder;
-            default:
-              throw new JsonException("Unknown Event " + evt);
-          }
-        }
+      private ValueType begin() {
+        if (readed) throw new IllegalStateException();
+        readed = true;
 
-        throw new IllegalStateException();
+        try {
+          if (objectReader.hasNext()) return objectReader.next();
+        } catch (JsonStreamException e) {
+          throw GensonJsonParser._wrapException(e);
+        }
+        throw new JsonException("Empty stream");
       }
 
       @Override
       public void close() {
-        parser.close();
-      }
-
-      private void checkNotReadedAndRead() {
-        if (readed) throw new IllegalStateException();
-        readed = true;
+        try {
+          objectReader.close();
+        } catch (IOException e) {
+          throw GensonJsonParser._wrapException(e);
+        }
       }
     };
   }
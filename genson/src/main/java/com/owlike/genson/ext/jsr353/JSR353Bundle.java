@@ -2,20 +2,15 @@
 
 import java.io.StringWriter;
 import java.lang.reflect.Type;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
 import javax.json.JsonArray;
-import javax.json.JsonArrayBuilder;
-import javax.json.JsonBuilderFactory;
 import javax.json.JsonNumber;
 import javax.json.JsonObject;
-import javax.json.JsonObjectBuilder;
 import javax.json.JsonString;
 import javax.json.JsonValue;
 import javax.json.JsonValue.ValueType;
-import javax.json.spi.JsonProvider;
 
 import com.owlike.genson.*;
 import com.owlike.genson.annotation.HandleClassMetadata;
@@ -26,9 +21,6 @@
 import com.owlike.genson.stream.ObjectWriter;
 
 public class JSR353Bundle extends GensonBundle {
-  static final JsonBuilderFactory factory = JsonProvider.provider().createBuilderFactory(
-    new HashMap<String, String>());
-
   private boolean readUnknownTypesAsJsonValue = false;
 
   @Override
@@ -103,75 +95,16 @@ private void writeObject(JsonObject object, ObjectWriter writer, Context ctx) {
 
     @Override
     public JsonValue deserialize(ObjectReader reader, Context ctx) {
-      com.owlike.genson.stream.ValueType type = reader.getValueType();
-      if (com.owlike.genson.stream.ValueType.OBJECT == type) {
-        return deserObject(reader, ctx);
-      } else if (com.owlike.genson.stream.ValueType.ARRAY == type) {
-        return deserArray(reader, ctx);
-      } else {
-        // let's allow using literal JsonValues outside of JsonArray or JsonObject
-        // thus we need this dummy builder to not by pass the creation mechanism
-        if (com.owlike.genson.stream.ValueType.STRING == type) {
-          return factory.createArrayBuilder().add(reader.valueAsString()).build().get(0);
-        } else if (com.owlike.genson.stream.ValueType.BOOLEAN == type) {
-          return reader.valueAsBoolean() ? JsonValue.TRUE : JsonValue.FALSE;
-        } else if (com.owlike.genson.stream.ValueType.NULL == type) {
-          return JsonValue.NULL;
-        } else if (com.owlike.genson.stream.ValueType.INTEGER == type) {
-          return factory.createArrayBuilder().add(reader.valueAsLong()).build().get(0);
-        } else if (com.owlike.genson.stream.ValueType.DOUBLE == type) {
-          return factory.createArrayBuilder().add(reader.valueAsDouble()).build().get(0);
-        }
-      }
-
-      throw new IllegalStateException("Unsupported ValueType " + type);
+      // literal JsonValues are also allowed outside of JsonArray or JsonObject
+      return new JsonTreeReader(reader, false).read();
     }
 
     public JsonValue deserObject(ObjectReader reader, Context ctx) {
-      JsonObjectBuilder builder = factory.createObjectBuilder();
-      reader.beginObject();
-
-      while (reader.hasNext()) {
-        com.owlike.genson.stream.ValueType type = reader.next();
-        String name = reader.name();
-        if (com.owlike.genson.stream.ValueType.STRING == type) {
-          builder.add(name, reader.valueAsString());
-        } else if (com.owlike.genson.stream.ValueType.BOOLEAN == type) {
-          builder.add(name, reader.valueAsBoolean());
-        } else if (com.owlike.genson.stream.ValueType.NULL == type) {
-          builder.addNull(name);
-        } else if (com.owlike.genson.stream.ValueType.INTEGER == type) {
-          builder.add(name, reader.valueAsLong());
-        } else if (com.owlike.genson.stream.ValueType.DOUBLE == type) {
-          builder.add(name, reader.valueAsDouble());
-        } else builder.add(name, deserialize(reader, ctx));
-      }
-
-      reader.endObject();
-      return builder.build();
+      return new JsonTreeReader(reader, false).readObject();
     }
 
     public JsonValue deserArray(ObjectReader reader, Context ctx) {
-      JsonArrayBuilder builder = factory.createArrayBuilder();
-      reader.beginArray();
-
-      while (reader.hasNext()) {
-        com.owlike.genson.stream.ValueType type = reader.next();
-        if (com.owlike.genson.stream.ValueType.STRING == type) {
-          builder.add(reader.valueAsString());
-        } else if (com.owlike.genson.stream.ValueType.BOOLEAN == type) {
-          builder.add(reader.valueAsBoolean());
-        } else if (com.owlike.genson.stream.ValueType.NULL == type) {
-          builder.addNull();
-        } else if (com.owlike.genson.stream.ValueType.INTEGER == type) {
-          builder.add(reader.valueAsLong());
-        } else if (com.owlike.genson.stream.ValueType.DOUBLE == type) {
-          builder.add(reader.valueAsDouble());
-        } else builder.add(deserialize(reader, ctx));
-      }
-
-      reader.endArray();
-      return builder.build();
+      return new JsonTreeReader(reader, false).readArray();
     }
   }
 
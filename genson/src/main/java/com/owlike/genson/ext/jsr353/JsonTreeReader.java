@@ -0,0 +1,150 @@
+package com.owlike.genson.ext.jsr353;
+
+import com.owlike.genson.stream.ObjectReader;
+import com.owlike.genson.stream.ValueType;
+
+import javax.json.JsonArray;
+import javax.json.JsonException;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds JSR 353 trees straight from the tokens of an ObjectReader, without going through parser events and
+ * builders. The values of a structure are accumulated on stacks shared by all the levels of the tree and copied
+ * once, into storage of the exact size, when the structure ends. Common values (small integers, empty strings,
+ * empty objects and arrays) are shared.
+ * <p/>
+ * Instances are not thread safe, a new one must be used for each tree.
+ *
+ * @author eugen
+ */
+final class JsonTreeReader {
+  static final JsonObject EMPTY_OBJECT = new GensonJsonObject(Collections.<String, JsonValue>emptyMap());
+  static final JsonArray EMPTY_ARRAY = new GensonJsonArray(Collections.<JsonValue>emptyList());
+  static final JsonString EMPTY_STRING = new GensonJsonString("");
+
+  private static final int SMALL_INT_MIN = -128;
+  private static final int SMALL_INT_MAX = 1024;
+  private static final JsonNumber[] SMALL_INTS = new JsonNumber[SMALL_INT_MAX - SMALL_INT_MIN + 1];
+
+  static {
+    for (int i = 0; i < SMALL_INTS.length; i++) {
+      SMALL_INTS[i] = new GensonJsonNumber.IntJsonNumber(i + SMALL_INT_MIN);
+    }
+  }
+
+  private final ObjectReader reader;
+  private final boolean exactDecimals;
+  private JsonValue[] values = new JsonValue[16];
+  private String[] names = new String[16];
+  private int size = 0;
+
+  /**
+   * @param exactDecimals if true decimal numbers are read as BigDecimal (as JsonParser.getBigDecimal does),
+   *                      otherwise as doubles.
+   */
+  JsonTreeReader(ObjectReader reader, boolean exactDecimals) {
+    this.reader = reader;
+    this.exactDecimals = exactDecimals;
+  }
+
+  /**
+   * Reads the current value of the reader, next must have been called before.
+   */
+  JsonValue read() {
+    ValueType type = reader.getValueType();
+    switch (type) {
+      case OBJECT:
+        return readObject();
+      case ARRAY:
+        return readArray();
+      case STRING:
+        return string(reader.valueAsString());
+      case INTEGER:
+        return number(reader.valueAsLong());
+      case DOUBLE:
+        return exactDecimals ? new GensonJsonNumber.DoubleJsonNumber(new BigDecimal(reader.valueAsString()))
+          : new GensonJsonNumber.DoubleJsonNumber(reader.valueAsDouble());
+      case BOOLEAN:
+        return reader.valueAsBoolean() ? JsonValue.TRUE : JsonValue.FALSE;
+      case NULL:
+        return JsonValue.NULL;
+      default:
+        throw new JsonException("Unsupported ValueType " + type);
+    }
+  }
+
+  /**
+   * Reads the current object of the reader, next must have been called before.
+   */
+  JsonObject readObject() {
+    int start = size;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      reader.next();
+      String name = reader.name();
+      JsonValue value = read();
+      push(name, value);
+    }
+    reader.endObject();
+
+    int count = size - start;
+    if (count == 0) return EMPTY_OBJECT;
+    Map<String, JsonValue> map = new LinkedHashMap<String, JsonValue>(count * 4 / 3 + 1);
+    for (int i = start; i < size; i++) {
+      map.put(names[i], values[i]);
+    }
+    pop(start);
+    return new GensonJsonObject(Collections.unmodifiableMap(map));
+  }
+
+  /**
+   * Reads the current array of the reader, next must have been called before.
+   */
+  JsonArray readArray() {
+    int start = size;
+    reader.beginArray();
+    while (reader.hasNext()) {
+      reader.next();
+      push(null, read());
+    }
+    reader.endArray();
+
+    if (size == start) return EMPTY_ARRAY;
+    JsonValue[] array = Arrays.copyOfRange(values, start, size);
+    pop(start);
+    return new GensonJsonArray(Collections.unmodifiableList(Arrays.asList(array)));
+  }
+
+  private void push(String name, JsonValue value) {
+    if (size == values.length) {
+      values = Arrays.copyOf(values, size * 2);
+      names = Arrays.copyOf(names, size * 2);
+    }
+    names[size] = name;
+    values[size++] = value;
+  }
+
+  private void pop(int to) {
+    // release the references, the stacks outlive the structures they are used for
+    Arrays.fill(values, to, size, null);
+    Arrays.fill(names, to, size, null);
+    size = to;
+  }
+
+  static JsonNumber number(long value) {
+    if (value >= SMALL_INT_MIN && value <= SMALL_INT_MAX) return SMALL_INTS[(int) value - SMALL_INT_MIN];
+    return new GensonJsonNumber.IntJsonNumber(value);
+  }
+
+  static JsonString string(String value) {
+    return value.isEmpty() ? EMPTY_STRING : new GensonJsonString(value);
+  }
+}
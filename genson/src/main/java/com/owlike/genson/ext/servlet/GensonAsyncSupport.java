@@ -0,0 +1,143 @@
+package com.owlike.genson.ext.servlet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+import com.owlike.genson.Context;
+import com.owlike.genson.GenericType;
+import com.owlike.genson.Genson;
+import com.owlike.genson.GensonBuilder;
+import com.owlike.genson.stream.JsonStreamException;
+import com.owlike.genson.stream.ObjectWriter;
+
+/**
+ * Reads and writes json bodies with the non blocking IO of Servlet 3.1, so no container thread is held while a
+ * slow client is sending its request or receiving the response. It must be used from an async request, for
+ * example:
+ * <p/>
+ * <pre>
+ * final AsyncContext async = request.startAsync();
+ * support.read(async, GenericType.of(Order.class), new GensonAsyncSupport.Callback&lt;Order&gt;() {
+ *   public void completed(Order order) {
+ *     support.write(async, service.save(order));
+ *   }
+ *
+ *   public void failed(Throwable t) {
+ *     ((HttpServletResponse) async.getResponse()).setStatus(400);
+ *     async.complete();
+ *   }
+ * });
+ * </pre>
+ * <p/>
+ * The request bytes are collected as the container reports them available and the value is deserialized once
+ * the whole body has been received. The response is serialized first and then written each time the container
+ * reports that the output can accept more data, the async request is completed once everything has been written.
+ *
+ * @author eugen
+ */
+public final class GensonAsyncSupport {
+  /**
+   * Notified of the outcome of {@link #read(AsyncContext, GenericType, Callback)}, from a container thread.
+   */
+  public interface Callback<T> {
+    void completed(T value);
+
+    void failed(Throwable t);
+  }
+
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+  private static final Genson _defaultGenson = new GensonBuilder().useConstructorWithArguments(true).create();
+
+  private Genson genson = _defaultGenson;
+  private int maxBodySize = -1;
+  private int chunkSize = 8192;
+
+  public GensonAsyncSupport use(Genson genson) {
+    this.genson = genson;
+    return this;
+  }
+
+  public Genson genson() {
+    return genson;
+  }
+
+  /**
+   * Maximum number of bytes accepted in a request body, -1 (the default) for no limit. Larger bodies fail with a
+   * JsonStreamException.
+   */
+  public GensonAsyncSupport maxBodySize(int bytes) {
+    if (bytes < -1) throw new IllegalArgumentException("The max body size must be positive or -1.");
+    this.maxBodySize = bytes;
+    return this;
+  }
+
+  public int maxBodySize() {
+    return maxBodySize;
+  }
+
+  /**
+   * Number of bytes read from the request or written to the response at a time.
+   */
+  public GensonAsyncSupport chunkSize(int bytes) {
+    if (bytes < 1) throw new IllegalArgumentException("The chunk size must be strictly positive.");
+    this.chunkSize = bytes;
+    return this;
+  }
+
+  public int chunkSize() {
+    return chunkSize;
+  }
+
+  /**
+   * Reads the request body of asyncContext without blocking and deserializes it to type. The callback is
+   * notified once the value is available or if reading or deserializing it failed.
+   */
+  public <T> void read(AsyncContext asyncContext, GenericType<T> type, Callback<? super T> callback) {
+    ServletRequest request = asyncContext.getRequest();
+    String encoding = request.getCharacterEncoding();
+    try {
+      // the encoding comes from the Content-Type sent by the client and may be invalid or unsupported
+      Charset charset = encoding != null ? Charset.forName(encoding) : UTF8;
+      JsonBodyReader<T> reader = new JsonBodyReader<T>(genson, type, request.getInputStream(), charset,
+        request.getContentLength(), maxBodySize, chunkSize, callback);
+      request.getInputStream().setReadListener(reader);
+    } catch (IllegalCharsetNameException e) {
+      callback.failed(new JsonStreamException("Invalid request encoding " + encoding, e));
+    } catch (UnsupportedCharsetException e) {
+      callback.failed(new JsonStreamException("Unsupported request encoding " + encoding, e));
+    } catch (IOException e) {
+      callback.failed(e);
+    }
+  }
+
+  /**
+   * Serializes value and writes it as the response of asyncContext without blocking, the async request is
+   * completed once the response has been written. If value can not be serialized the exception is thrown
+   * before anything is written and the async request is left open.
+   */
+  public void write(AsyncContext asyncContext, Object value) {
+    ServletResponse response = asyncContext.getResponse();
+    ByteArrayOutputStream body = new ByteArrayOutputStream(chunkSize);
+    ObjectWriter writer = genson.createWriter(body);
+    genson.serialize(value, writer, new Context(genson));
+    writer.flush();
+
+    response.setContentType("application/json");
+    response.setCharacterEncoding("UTF-8");
+    response.setContentLength(body.size());
+    try {
+      response.getOutputStream().setWriteListener(
+        new JsonBodyWriter(asyncContext, response.getOutputStream(), body.toByteArray(), chunkSize));
+    } catch (IOException e) {
+      asyncContext.complete();
+      throw new JsonStreamException("Could not write the response", e);
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package com.owlike.genson.ext.servlet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+
+import com.owlike.genson.Context;
+import com.owlike.genson.GenericType;
+import com.owlike.genson.Genson;
+import com.owlike.genson.JsonBindingException;
+import com.owlike.genson.stream.JsonStreamException;
+
+/**
+ * Collects the bytes of a request body as the container reports them available, only reading while
+ * {@link ServletInputStream#isReady()} so the calling thread never blocks, and deserializes the body once it has
+ * been entirely received.
+ *
+ * @author eugen
+ */
+final class JsonBodyReader<T> implements ReadListener {
+  private final Genson genson;
+  private final GenericType<T> type;
+  private final ServletInputStream input;
+  private final Charset charset;
+  private final int maxBodySize;
+  private final byte[] chunk;
+  private final GensonAsyncSupport.Callback<? super T> callback;
+  private final ByteArrayOutputStream body;
+  private boolean done = false;
+
+  JsonBodyReader(Genson genson, GenericType<T> type, ServletInputStream input, Charset charset,
+                 int contentLength, int maxBodySize, int chunkSize,
+                 GensonAsyncSupport.Callback<? super T> callback) {
+    this.genson = genson;
+    this.type = type;
+    this.input = input;
+    this.charset = charset;
+    this.maxBodySize = maxBodySize;
+    this.chunk = new byte[chunkSize];
+    this.callback = callback;
+    // the Content-Length is only a hint sent by the client, never allocate more than a few chunks up front
+    int initialSize = contentLength > 0 ? Math.min(contentLength, chunkSize * 8) : chunkSize;
+    this.body = new ByteArrayOutputStream(maxBodySize >= 0 ? Math.min(initialSize, maxBodySize) : initialSize);
+  }
+
+  @Override
+  public void onDataAvailable() throws IOException {
+    while (!done && input.isReady()) {
+      int len = input.read(chunk);
+      if (len < 0) return;
+      body.write(chunk, 0, len);
+      if (maxBodySize >= 0 && body.size() > maxBodySize) {
+        fail(new JsonStreamException("The request body exceeds the limit of " + maxBodySize + " bytes"));
+      }
+    }
+  }
+
+  @Override
+  public void onAllDataRead() {
+    if (done) return;
+    T value;
+    try {
+      value = genson.deserialize(type, genson.createReader(new ByteArrayInputStream(body.toByteArray()), charset),
+        new Context(genson));
+    } catch (JsonBindingException e) {
+      fail(e);
+      return;
+    } catch (JsonStreamException e) {
+      fail(e);
+      return;
+    } catch (RuntimeException e) {
+      // thrown by a custom converter, the callback must still be notified or the request would stay open
+      fail(e);
+      return;
+    }
+    done = true;
+    callback.completed(value);
+  }
+
+  @Override
+  public void onError(Throwable t) {
+    fail(t);
+  }
+
+  private void fail(Throwable t) {
+    if (done) return;
+    done = true;
+    callback.failed(t);
+  }
+}
@@ -0,0 +1,46 @@
+package com.owlike.genson.ext.servlet;
+
+import java.io.IOException;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+/**
+ * Writes a serialized response body chunk by chunk, only while {@link ServletOutputStream#isReady()} so the
+ * calling thread never blocks on a slow client, and completes the async request at the end.
+ *
+ * @author eugen
+ */
+final class JsonBodyWriter implements WriteListener {
+  private final AsyncContext asyncContext;
+  private final ServletOutputStream output;
+  private final byte[] body;
+  private final int chunkSize;
+  private int position = 0;
+
+  JsonBodyWriter(AsyncContext asyncContext, ServletOutputStream output, byte[] body, int chunkSize) {
+    this.asyncContext = asyncContext;
+    this.output = output;
+    this.body = body;
+    this.chunkSize = chunkSize;
+  }
+
+  @Override
+  public void onWritePossible() throws IOException {
+    while (output.isReady()) {
+      if (position == body.length) {
+        asyncContext.complete();
+        return;
+      }
+      int len = Math.min(chunkSize, body.length - position);
+      output.write(body, position, len);
+      position += len;
+    }
+  }
+
+  @Override
+  public void onError(Throwable t) {
+    asyncContext.complete();
+  }
+}
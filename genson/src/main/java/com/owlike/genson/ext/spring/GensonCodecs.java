@@ -0,0 +1,87 @@
+package com.owlike.genson.ext.spring;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeType;
+
+import com.owlike.genson.BeanView;
+import com.owlike.genson.Context;
+import com.owlike.genson.Genson;
+import com.owlike.genson.GensonBuilder;
+import com.owlike.genson.annotation.WithBeanView;
+
+/**
+ * Configuration shared by {@link GensonEncoder} and {@link GensonDecoder}, the reactive (WebFlux) counterparts
+ * of {@link GensonMessageConverter}.
+ * <p/>
+ * The bean views to use are passed explicitly in the codec hints under the {@link #BEAN_VIEWS_HINT} key (WebFlux
+ * fills it from the {@link WithBeanView} annotation of the handler method) instead of going through thread
+ * locals as with Spring MVC.
+ *
+ * @author eugen
+ */
+public final class GensonCodecs {
+  /**
+   * Hint holding the List of BeanView classes to use, the value must be a
+   * {@code List<Class<? extends BeanView<?>>>}.
+   */
+  public static final String BEAN_VIEWS_HINT = GensonCodecs.class.getName() + ".beanViews";
+
+  public static final MediaType APPLICATION_NDJSON = new MediaType("application", "x-ndjson");
+
+  static final MimeType[] MIME_TYPES = {
+    MediaType.APPLICATION_JSON, new MediaType("application", "*+json"), APPLICATION_NDJSON,
+    MediaType.APPLICATION_STREAM_JSON
+  };
+
+  static final List<MediaType> STREAMING_MEDIA_TYPES = Collections.unmodifiableList(
+    Arrays.asList(APPLICATION_NDJSON, MediaType.APPLICATION_STREAM_JSON));
+
+  private GensonCodecs() {
+  }
+
+  static Genson defaultGenson() {
+    return new GensonBuilder().setHtmlSafe(true).setSkipNull(true).useBeanViews(true).create();
+  }
+
+  /**
+   * @return true if values must be written (read) one per line instead of in a json array.
+   */
+  static boolean isStreaming(MimeType mimeType) {
+    if (mimeType == null) return false;
+    for (MediaType streamingType : STREAMING_MEDIA_TYPES) {
+      if (streamingType.equalsTypeAndSubtype(mimeType)) return true;
+    }
+    return false;
+  }
+
+  static Map<String, Object> viewsHint(ResolvableType actualType) {
+    Object source = actualType.getSource();
+    if (source instanceof MethodParameter) {
+      WithBeanView ann = ((MethodParameter) source).getMethodAnnotation(WithBeanView.class);
+      if (ann != null) {
+        return Collections.<String, Object>singletonMap(BEAN_VIEWS_HINT, Arrays.asList(ann.views()));
+      }
+    }
+    return Collections.emptyMap();
+  }
+
+  @SuppressWarnings("unchecked")
+  static Context createContext(Genson genson, Map<String, Object> hints) {
+    Object views = hints != null ? hints.get(BEAN_VIEWS_HINT) : null;
+    if (views != null) return new Context(genson, (List<Class<? extends BeanView<?>>>) views);
+    return new Context(genson);
+  }
+
+  static Type typeOf(ResolvableType type) {
+    Type javaType = type != null && type != ResolvableType.NONE ? type.getType() : null;
+    return javaType != null ? javaType : Object.class;
+  }
+}
@@ -0,0 +1,135 @@
+package com.owlike.genson.ext.spring;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractDecoder;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.codec.HttpMessageDecoder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import com.owlike.genson.GenericType;
+import com.owlike.genson.Genson;
+import com.owlike.genson.JsonBindingException;
+import com.owlike.genson.stream.JsonStreamException;
+
+/**
+ * A WebFlux Decoder deserializing values with Genson. When decoding to a Flux, the input is split into values as
+ * the DataBuffers arrive: the elements of a root json array or, for the streaming media types
+ * (application/x-ndjson and application/stream+json), the root values. Each value is deserialized as soon as
+ * it is complete so only the value being received is kept in memory. Decoding to a Mono joins the buffers and
+ * deserializes the whole input.
+ * <p/>
+ * The input must be encoded in UTF-8, as mandated for json exchanged between systems.
+ *
+ * @author eugen
+ * @see GensonEncoder
+ */
+public class GensonDecoder extends AbstractDecoder<Object> implements HttpMessageDecoder<Object> {
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+
+  private final Genson genson;
+  private int maxInMemorySize = 256 * 1024;
+
+  public GensonDecoder() {
+    this(GensonCodecs.defaultGenson());
+  }
+
+  public GensonDecoder(Genson genson) {
+    super(GensonCodecs.MIME_TYPES);
+    this.genson = genson;
+  }
+
+  /**
+   * Maximum number of bytes of a value (or of the whole input when decoding to a Mono), -1 for no limit.
+   * Defaults to 256KB as the other Spring decoders.
+   */
+  public void setMaxInMemorySize(int maxInMemorySize) {
+    this.maxInMemorySize = maxInMemorySize;
+  }
+
+  public int getMaxInMemorySize() {
+    return maxInMemorySize;
+  }
+
+  @Override
+  public Flux<Object> decode(final Publisher<DataBuffer> input, final ResolvableType elementType,
+                             final MimeType mimeType, final Map<String, Object> hints) {
+    final boolean splitArray = !GensonCodecs.isStreaming(mimeType);
+    return Flux.defer(new Supplier<Publisher<Object>>() {
+      @Override
+      public Publisher<Object> get() {
+        final JsonValueSplitter splitter = new JsonValueSplitter(splitArray, maxInMemorySize);
+        return Flux.from(input).concatMapIterable(new Function<DataBuffer, List<byte[]>>() {
+          @Override
+          public List<byte[]> apply(DataBuffer buffer) {
+            return splitter.split(buffer);
+          }
+        }).concatWith(Flux.defer(new Supplier<Publisher<byte[]>>() {
+          @Override
+          public Publisher<byte[]> get() {
+            return Flux.fromIterable(splitter.end());
+          }
+        })).map(new Function<byte[], Object>() {
+          @Override
+          public Object apply(byte[] value) {
+            try {
+              return genson.deserialize(GenericType.of(GensonCodecs.typeOf(elementType)),
+                genson.createReader(new ByteArrayInputStream(value), UTF8), GensonCodecs.createContext(genson, hints));
+            } catch (JsonBindingException e) {
+              throw new DecodingException("Could not deserialize to " + elementType, e);
+            } catch (JsonStreamException e) {
+              throw new DecodingException("Could not deserialize to " + elementType, e);
+            }
+          }
+        });
+      }
+    });
+  }
+
+  @Override
+  public Mono<Object> decodeToMono(Publisher<DataBuffer> input, final ResolvableType elementType,
+                                   final MimeType mimeType, final Map<String, Object> hints) {
+    return DataBufferUtils.join(input, maxInMemorySize).map(new Function<DataBuffer, Object>() {
+      @Override
+      public Object apply(DataBuffer buffer) {
+        return decode(buffer, elementType, mimeType, hints);
+      }
+    });
+  }
+
+  @Override
+  public Object decode(DataBuffer buffer, ResolvableType targetType, MimeType mimeType,
+                       Map<String, Object> hints) throws DecodingException {
+    Type type = GensonCodecs.typeOf(targetType);
+    try {
+      return genson.deserialize(GenericType.of(type), genson.createReader(buffer.asInputStream(), UTF8),
+        GensonCodecs.createContext(genson, hints));
+    } catch (JsonBindingException e) {
+      throw new DecodingException("Could not deserialize to " + type, e);
+    } catch (JsonStreamException e) {
+      throw new DecodingException("Could not deserialize to " + type, e);
+    } finally {
+      DataBufferUtils.release(buffer);
+    }
+  }
+
+  @Override
+  public Map<String, Object> getDecodeHints(ResolvableType actualType, ResolvableType elementType,
+                                            ServerHttpRequest request, ServerHttpResponse response) {
+    return GensonCodecs.viewsHint(actualType);
+  }
+}
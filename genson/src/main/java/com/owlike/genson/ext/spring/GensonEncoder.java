@@ -0,0 +1,137 @@
+package com.owlike.genson.ext.spring;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractEncoder;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageEncoder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import com.owlike.genson.Context;
+import com.owlike.genson.Genson;
+import com.owlike.genson.stream.ObjectWriter;
+
+/**
+ * A WebFlux Encoder serializing values with Genson. A Mono is written as a single json value, a Flux as a json
+ * array whose elements are written as they are emitted or, for the streaming media types (application/x-ndjson
+ * and application/stream+json), as one json value per line.
+ * <p/>
+ * Each element is serialized to its own DataBuffer, nothing is buffered between elements.
+ *
+ * @author eugen
+ * @see GensonDecoder
+ */
+public class GensonEncoder extends AbstractEncoder<Object> implements HttpMessageEncoder<Object> {
+  private static final byte[] START_ARRAY = {'['};
+  private static final byte[] SEPARATOR = {','};
+  private static final byte[] END_ARRAY = {']'};
+  private static final byte[] EMPTY_ARRAY = {'[', ']'};
+  private static final byte[] NEW_LINE = {'\n'};
+
+  private final Genson genson;
+
+  public GensonEncoder() {
+    this(GensonCodecs.defaultGenson());
+  }
+
+  public GensonEncoder(Genson genson) {
+    super(GensonCodecs.MIME_TYPES);
+    this.genson = genson;
+  }
+
+  @Override
+  public Flux<DataBuffer> encode(Publisher<?> input, final DataBufferFactory bufferFactory,
+                                 final ResolvableType elementType, final MimeType mimeType,
+                                 final Map<String, Object> hints) {
+    if (input instanceof Mono) {
+      return Mono.from(input).map(new Function<Object, DataBuffer>() {
+        @Override
+        public DataBuffer apply(Object value) {
+          return encodeValue(value, bufferFactory, elementType, mimeType, hints);
+        }
+      }).flux();
+    }
+
+    if (GensonCodecs.isStreaming(mimeType)) {
+      return Flux.from(input).map(new Function<Object, DataBuffer>() {
+        @Override
+        public DataBuffer apply(Object value) {
+          return write(value, bufferFactory, hints, null, NEW_LINE);
+        }
+      });
+    }
+
+    final Flux<?> elements = Flux.from(input);
+    return Flux.defer(new Supplier<Publisher<DataBuffer>>() {
+      @Override
+      public Publisher<DataBuffer> get() {
+        // state of a single subscription
+        final boolean[] empty = {true};
+        return elements.map(new Function<Object, DataBuffer>() {
+          @Override
+          public DataBuffer apply(Object value) {
+            DataBuffer buffer = write(value, bufferFactory, hints, empty[0] ? START_ARRAY : SEPARATOR, null);
+            empty[0] = false;
+            return buffer;
+          }
+        }).concatWith(Mono.fromSupplier(new Supplier<DataBuffer>() {
+          @Override
+          public DataBuffer get() {
+            return bufferFactory.wrap(empty[0] ? EMPTY_ARRAY : END_ARRAY);
+          }
+        }));
+      }
+    });
+  }
+
+  @Override
+  public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                MimeType mimeType, Map<String, Object> hints) {
+    return write(value, bufferFactory, hints, null, GensonCodecs.isStreaming(mimeType) ? NEW_LINE : null);
+  }
+
+  private DataBuffer write(Object value, DataBufferFactory bufferFactory, Map<String, Object> hints,
+                           byte[] prefix, byte[] suffix) {
+    DataBuffer buffer = bufferFactory.allocateBuffer();
+    boolean release = true;
+    try {
+      if (prefix != null) buffer.write(prefix);
+      ObjectWriter writer = genson.createWriter(buffer.asOutputStream());
+      Context ctx = GensonCodecs.createContext(genson, hints);
+      genson.serialize(value, writer, ctx);
+      writer.flush();
+      if (suffix != null) buffer.write(suffix);
+      release = false;
+      return buffer;
+    } catch (RuntimeException e) {
+      throw new EncodingException("Could not serialize " + (value != null ? value.getClass() : null), e);
+    } finally {
+      if (release) DataBufferUtils.release(buffer);
+    }
+  }
+
+  @Override
+  public List<MediaType> getStreamingMediaTypes() {
+    return GensonCodecs.STREAMING_MEDIA_TYPES;
+  }
+
+  @Override
+  public Map<String, Object> getEncodeHints(ResolvableType actualType, ResolvableType elementType,
+                                            MediaType mediaType, ServerHttpRequest request,
+                                            ServerHttpResponse response) {
+    return GensonCodecs.viewsHint(actualType);
+  }
+}
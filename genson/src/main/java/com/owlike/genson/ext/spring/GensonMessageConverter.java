@@ -4,6 +4,8 @@
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 import com.owlike.genson.*;
 import org.springframework.core.MethodParameter;
@@ -15,11 +17,13 @@
 import org.springframework.http.converter.HttpMessageNotWritableException;
 
 import com.owlike.genson.annotation.WithBeanView;
+import com.owlike.genson.convert.DefaultConverters;
 import com.owlike.genson.stream.ObjectWriter;
 
 public class GensonMessageConverter extends AbstractHttpMessageConverter<Object> {
 
   private final Genson genson;
+  private int flushInterval = 0;
 
   public static final Charset DEFAULT_CHARSET = Charset.forName("UTF-8");
 
@@ -59,6 +63,15 @@ protected boolean supports(Class<?> clazz) {
     return true;
   }
 
+  /**
+   * When returning an Iterator, a Stream or a lazy Iterable, the response will be flushed each time this number
+   * of elements has been written. By default (zero) the response is only flushed at the end.
+   */
+  public void setFlushInterval(int flushInterval) {
+    if (flushInterval < 0) throw new IllegalArgumentException("The flush interval must be positive or zero.");
+    this.flushInterval = flushInterval;
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   protected void writeInternal(Object t, HttpOutputMessage outputMessage) throws IOException,
@@ -66,10 +79,19 @@ protected void writeInternal(Object t, HttpOutputMessage outputMessage) throws I
     ObjectWriter writer = genson.createWriter(outputMessage.getBody());
     MethodParameter mp = ThreadLocalHolder.get("__GENSON$return_param", MethodParameter.class);
     WithBeanView ann = mp != null ? mp.getMethodAnnotation(WithBeanView.class) : null;
-    if (ann != null)
-      genson.serialize(t, writer, new Context(genson, Arrays.asList(ann.views())));
-    else
-      genson.serialize(t, writer, new Context(genson));
+    Context ctx = ann != null ? new Context(genson, Arrays.asList(ann.views())) : new Context(genson);
+    if (flushInterval > 0) ctx.store(DefaultConverters.IteratorConverter.FLUSH_INTERVAL, flushInterval);
+
+    if (t != null && mp != null && isIteration(mp.getParameterType())) {
+      // the declared type gives the elements type, lazy Iterables would otherwise be serialized as beans
+      genson.serialize(t, mp.getGenericParameterType(), writer, ctx);
+    } else {
+      genson.serialize(t, writer, ctx);
+    }
     writer.flush();
   }
+
+  private boolean isIteration(Class<?> type) {
+    return type == Iterable.class || Iterator.class.isAssignableFrom(type) || Stream.class.isAssignableFrom(type);
+  }
 }
@@ -0,0 +1,195 @@
+package com.owlike.genson.ext.spring;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+/**
+ * Splits a stream of json bytes, received in chunks of any size, into the bytes of the values it contains
+ * without parsing them. When splitting an array, the elements of a root array are returned one by one (a root
+ * value that is not an array is returned as a whole), otherwise each root value is returned (json values
+ * separated by whitespaces as in NDJSON).
+ * <p/>
+ * Only the structure is tracked (nesting, strings, escapes and the commas between the elements of the root
+ * array), which works for UTF-8 as all the structural characters are ASCII and can not appear in multi byte
+ * sequences. The values are copied in bulk from the offsets where they start and end, only the start of a
+ * value continuing in the next buffer is kept aside. Instances are not thread safe, a new one must be used for
+ * each stream.
+ *
+ * @author eugen
+ */
+final class JsonValueSplitter {
+  private final boolean splitArray;
+  private final int maxValueSize;
+  private int base;
+  private int depth = 0;
+  private boolean inString = false;
+  private boolean escaped = false;
+  private boolean inLiteral = false;
+  // between the elements of the root array
+  private boolean expectComma = false;
+  private boolean afterComma = false;
+  // the root array (or the root value when splitting an array) has been read, only whitespaces can follow
+  private boolean ended = false;
+  // the content of the buffer being split, reused from one buffer to the next
+  private byte[] bytes = new byte[0];
+  // the bytes of the current value received in the previous buffers
+  private byte[] pending = new byte[256];
+  private int pendingLength = 0;
+
+  /**
+   * @param splitArray   true to return the elements of a root array instead of the root values.
+   * @param maxValueSize maximum number of bytes of a single value or -1 for no limit.
+   */
+  JsonValueSplitter(boolean splitArray, int maxValueSize) {
+    this.splitArray = splitArray;
+    this.base = splitArray ? 1 : 0;
+    this.maxValueSize = maxValueSize;
+  }
+
+  /**
+   * Consumes and releases the buffer.
+   *
+   * @return the values completed by this buffer, values continuing in the next buffers are kept.
+   */
+  List<byte[]> split(DataBuffer buffer) {
+    int length = buffer.readableByteCount();
+    if (bytes.length < length) bytes = new byte[Math.max(length, bytes.length * 2)];
+    buffer.read(bytes, 0, length);
+    DataBufferUtils.release(buffer);
+
+    List<byte[]> values = null;
+    // where the current value starts in this buffer
+    int start = 0;
+    for (int i = 0; i < length; i++) {
+      byte b = bytes[i];
+      if (inString) {
+        if (escaped) escaped = false;
+        else if (b == '\\') escaped = true;
+        else if (b == '"') {
+          inString = false;
+          if (depth == base) values = add(values, complete(start, i + 1));
+        }
+        continue;
+      }
+
+      if (inLiteral) {
+        if (!isDelimiter(b)) continue;
+        // the literal is complete, the delimiter still has to be handled
+        inLiteral = false;
+        values = add(values, complete(start, i));
+      }
+
+      if (isWhitespace(b)) continue;
+
+      if (depth > base) {
+        // inside a value, only the nesting is tracked
+        if (b == '"') inString = true;
+        else if (b == '[' || b == '{') depth++;
+        else if ((b == ']' || b == '}') && --depth == base) values = add(values, complete(start, i + 1));
+        continue;
+      }
+
+      if (ended) throw new DecodingException("Unexpected character '" + (char) b + "' after the root value");
+      if (depth == 0 && base == 1) {
+        if (b == '[') {
+          // the root array, its elements are the values
+          depth = 1;
+          continue;
+        }
+        // the root value is not an array, it is read as a whole
+        base = 0;
+      }
+
+      if (base == 1 && b == ',') {
+        if (!expectComma) throw new DecodingException("Unexpected character ','");
+        expectComma = false;
+        afterComma = true;
+      } else if (base == 1 && b == ']' && !afterComma) {
+        depth = 0;
+        ended = true;
+      } else if (b == ',' || b == ']' || b == '}') {
+        throw new DecodingException("Unexpected character '" + (char) b + "'");
+      } else if (expectComma) {
+        throw new DecodingException("Missing ',' before '" + (char) b + "'");
+      } else {
+        // start of a value
+        afterComma = false;
+        start = i;
+        if (b == '"') inString = true;
+        else if (b == '[' || b == '{') depth++;
+        else inLiteral = true;
+      }
+    }
+
+    if (inString || inLiteral || depth > base) {
+      // the value continues in the next buffers
+      append(start, length);
+    }
+    return values != null ? values : Collections.<byte[]>emptyList();
+  }
+
+  /**
+   * @return the last value if it was a literal not followed by any character, fails if the input is incomplete.
+   */
+  List<byte[]> end() {
+    // a literal ending the input is complete unless it is an element of an unclosed root array
+    if (inLiteral && base == 0) {
+      inLiteral = false;
+      return Collections.singletonList(complete(0, 0));
+    }
+    if (inString || depth > 0) {
+      throw new DecodingException("Incomplete JSON input");
+    }
+    return Collections.emptyList();
+  }
+
+  /**
+   * @return the value made of the pending bytes followed by the bytes of the buffer from start to end.
+   */
+  private byte[] complete(int start, int end) {
+    checkSize(pendingLength + end - start);
+    byte[] value = new byte[pendingLength + end - start];
+    System.arraycopy(pending, 0, value, 0, pendingLength);
+    System.arraycopy(bytes, start, value, pendingLength, end - start);
+    pendingLength = 0;
+
+    if (base == 1) expectComma = true;
+    else if (splitArray) ended = true;
+    return value;
+  }
+
+  private void append(int start, int end) {
+    int length = pendingLength + end - start;
+    checkSize(length);
+    if (pending.length < length) pending = Arrays.copyOf(pending, Math.max(length, pending.length * 2));
+    System.arraycopy(bytes, start, pending, pendingLength, end - start);
+    pendingLength = length;
+  }
+
+  private void checkSize(int size) {
+    if (maxValueSize >= 0 && size > maxValueSize) {
+      throw new DataBufferLimitException("Exceeded limit on max bytes per JSON value: " + maxValueSize);
+    }
+  }
+
+  private List<byte[]> add(List<byte[]> values, byte[] value) {
+    if (values == null) values = new ArrayList<byte[]>();
+    values.add(value);
+    return values;
+  }
+
+  private boolean isDelimiter(byte b) {
+    return isWhitespace(b) || b == ',' || b == ']' || b == '}';
+  }
+
+  private boolean isWhitespace(byte b) {
+    return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+  }
+}
@@ -11,6 +11,7 @@
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import com.owlike.genson.GensonMetrics;
 import com.owlike.genson.JsonBindingException;
 import org.objectweb.asm.*;
 
@@ -44,12 +45,22 @@ public final class ASMCreatorParameterNameResolver implements PropertyNameResolv
   private final boolean doThrowException;
   private final Map<Constructor<?>, String[]> constructorParameterNames = new ConcurrentHashMap<Constructor<?>, String[]>();
   private final Map<Method, String[]> methodParameterNames = new ConcurrentHashMap<Method, String[]>();
+  private final GensonMetrics metrics;
 
   public ASMCreatorParameterNameResolver(boolean doThrowException) {
+    this(doThrowException, null);
+  }
+
+  /**
+   * @param metrics notified each time the bytecode of a class is read, may be null.
+   */
+  public ASMCreatorParameterNameResolver(boolean doThrowException, GensonMetrics metrics) {
     this.doThrowException = doThrowException;
+    this.metrics = metrics;
   }
 
   protected void read(Class<?> ofClass) {
+    long start = metrics != null ? System.nanoTime() : 0;
     String ofClassName = ofClass.getName();
     ofClassName = ofClassName.replace('.', '/') + ".class";
 
@@ -73,6 +84,7 @@ protected void read(Class<?> ofClass) {
       } catch (IOException e) {
       }
     }
+    if (metrics != null) metrics.parameterNamesResolved(ofClass, System.nanoTime() - start);
   }
 
   public String resolve(int parameterIdx, Constructor<?> fromConstructor) {
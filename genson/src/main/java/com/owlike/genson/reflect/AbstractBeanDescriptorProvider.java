@@ -8,11 +8,11 @@
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.owlike.genson.Converter;
 import com.owlike.genson.Factory;
 import com.owlike.genson.Genson;
-import com.owlike.genson.ThreadLocalHolder;
 import com.owlike.genson.convert.ContextualFactory;
 
 import static com.owlike.genson.reflect.TypeUtil.*;
@@ -28,8 +28,20 @@
  * @author eugen
  */
 public abstract class AbstractBeanDescriptorProvider implements BeanDescriptorProvider {
-  final static String CONTEXT_KEY = "__GENSON$CREATION_CONTEXT";
-  final static String DO_NOT_CACHE_CONVERTER_KEY = "__GENSON$DO_NOT_CACHE_CONVERTER";
+  // the contextual converter being created by the current thread, see provide(BeanProperty, Genson)
+  private final static ThreadLocal<Converter<?>> contextualConverter = new ThreadLocal<Converter<?>>();
+  // number of threads creating a contextual converter, allows to not look at the thread local most of the time
+  private final static AtomicInteger contextualConverterCreations = new AtomicInteger();
+
+  /**
+   * Intended for internal use.
+   *
+   * @return true if the current thread is creating the converter of a property that has a contextual converter,
+   * the converters created in that case must not be cached.
+   */
+  public static boolean isCreatingContextualConverter() {
+    return contextualConverterCreations.get() > 0 && contextualConverter.get() != null;
+  }
 
   public final static class ContextualConverterFactory {
     private final List<? extends ContextualFactory<?>> contextualFactories;
@@ -70,8 +82,10 @@ public ContextualFactoryDecorator(Factory<Converter<?>> delegatedFactory) {
 
     @Override
     public Converter<?> create(Type type, Genson genson) {
-      Converter<?> converter = ThreadLocalHolder.get(CONTEXT_KEY, Converter.class);
-      if (converter != null) return converter;
+      if (contextualConverterCreations.get() > 0) {
+        Converter<?> converter = contextualConverter.get();
+        if (converter != null) return converter;
+      }
       return delegatedFactory.create(type, genson);
     }
   }
@@ -131,7 +145,7 @@ public <T> BeanDescriptor<T> provide(Class<T> ofClass, Type ofType, Genson genso
       }
     }
 
-    for (PropertyMutator p : mutators.values()) {
+    for (PropertyMutator p : new ArrayList<PropertyMutator>(mutators.values())) {
       for (String alias : p.aliases()) mutators.put(alias, p);
     }
 
@@ -151,24 +165,23 @@ public <T> BeanDescriptor<T> provide(Class<T> ofClass, Type ofType, Genson genso
   private Converter<Object> provide(BeanProperty property, Genson genson) {
     // contextual converters must not be retrieved from cache nor stored in cache, by first
     // trying to create it and reusing it during the
-    // call to genson.provideConverter we avoid retrieving it from cache, and by setting
-    // DO_NOT_CACHE_CONVERTER to true we tell genson not to store
-    // this converter in cache
+    // call to genson.provideConverter we avoid retrieving it from cache, and while contextualConverter
+    // is set for this thread genson will not store the created converters in its cache
 
     @SuppressWarnings("unchecked")
     Converter<Object> converter = (Converter<Object>) contextualConverterFactory.provide(
       property, genson);
-    if (converter != null) {
-      ThreadLocalHolder.store(DO_NOT_CACHE_CONVERTER_KEY, true);
-      ThreadLocalHolder.store(CONTEXT_KEY, converter);
-    }
+    if (converter == null) return genson.provideConverter(property.type);
+
+    Converter<?> previous = contextualConverter.get();
+    contextualConverterCreations.incrementAndGet();
+    contextualConverter.set(converter);
     try {
       return genson.provideConverter(property.type);
     } finally {
-      if (converter != null) {
-        ThreadLocalHolder.remove(DO_NOT_CACHE_CONVERTER_KEY, Boolean.class);
-        ThreadLocalHolder.remove(CONTEXT_KEY, Converter.class);
-      }
+      if (previous != null) contextualConverter.set(previous);
+      else contextualConverter.remove();
+      contextualConverterCreations.decrementAndGet();
     }
   }
 
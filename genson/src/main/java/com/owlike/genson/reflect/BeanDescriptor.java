@@ -2,8 +2,11 @@
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -44,8 +47,13 @@
 
   final BeanCreator creator;
   private final boolean _noArgCtr;
+  // the mutators indexed by name and by position, the position being used by the property masks
+  private final Map<String, Integer> mutatorIndexes;
+  private final PropertyMutator[] mutators;
 
   private static final Object MISSING = new Object();
+  private static final ContextKey<Map<BeanDescriptor<?>, PropertyMask>> PROPERTY_MASKS_KEY =
+    new ContextKey<Map<BeanDescriptor<?>, PropertyMask>>("propertyMasks");
   // Used as a cache so we just copy it instead of recreating and assigning the default values
   private Object[] globalCreatorArgs;
 
@@ -64,6 +72,13 @@ public BeanDescriptor(Class<T> forClass, Class<?> fromDeclaringClass,
     this.creator = creator;
     this.failOnMissingProperty = failOnMissingProperty;
     mutableProperties = writableBps;
+    mutatorIndexes = new HashMap<String, Integer>(writableBps.size() * 2);
+    mutators = new PropertyMutator[writableBps.size()];
+    int index = 0;
+    for (Map.Entry<String, PropertyMutator> entry : writableBps.entrySet()) {
+      mutators[index] = entry.getValue();
+      mutatorIndexes.put(entry.getKey(), index++);
+    }
 
     Collections.sort(readableBps, _readablePropsComparator);
 
@@ -88,8 +103,15 @@ public boolean isWritable() {
   public void serialize(T obj, ObjectWriter writer, Context ctx) {
     writer.beginObject();
     RuntimePropertyFilter runtimePropertyFilter = ctx.genson.runtimePropertyFilter();
-    for (PropertyAccessor accessor : accessibleProperties) {
-      if (runtimePropertyFilter.shouldInclude(accessor, ctx)) accessor.serialize(obj, writer, ctx);
+    if (runtimePropertyFilter instanceof CompilableRuntimePropertyFilter) {
+      BitSet included = propertyMask(runtimePropertyFilter, ctx).accessors;
+      for (int i = included.nextSetBit(0); i >= 0; i = included.nextSetBit(i + 1)) {
+        accessibleProperties.get(i).serialize(obj, writer, ctx);
+      }
+    } else {
+      for (PropertyAccessor accessor : accessibleProperties) {
+        if (runtimePropertyFilter.shouldInclude(accessor, ctx)) accessor.serialize(obj, writer, ctx);
+      }
     }
     writer.endObject();
   }
@@ -112,12 +134,15 @@ public T deserialize(ObjectReader reader, Context ctx) {
   public void deserialize(T into, ObjectReader reader, Context ctx) {
     reader.beginObject();
     RuntimePropertyFilter runtimePropertyFilter = ctx.genson.runtimePropertyFilter();
+    PropertyMask mask = runtimePropertyFilter instanceof CompilableRuntimePropertyFilter ?
+      propertyMask(runtimePropertyFilter, ctx) : null;
     for (; reader.hasNext(); ) {
       reader.next();
       String propName = reader.name();
-      PropertyMutator mutator = mutableProperties.get(propName);
-      if (mutator != null) {
-        if (runtimePropertyFilter.shouldInclude(mutator, ctx)) {
+      Integer index = mutatorIndexes.get(propName);
+      if (index != null) {
+        PropertyMutator mutator = mutators[index];
+        if (mask != null ? mask.mutators.get(index) : runtimePropertyFilter.shouldInclude(mutator, ctx)) {
           mutator.deserialize(into, reader, ctx);
         } else {
           reader.skipValue();
@@ -133,15 +158,18 @@ protected T _deserWithCtrArgs(ObjectReader reader, Context ctx) {
     List<String> names = new ArrayList<String>();
     List<Object> values = new ArrayList<Object>();
     RuntimePropertyFilter runtimePropertyFilter = ctx.genson.runtimePropertyFilter();
+    PropertyMask mask = runtimePropertyFilter instanceof CompilableRuntimePropertyFilter ?
+      propertyMask(runtimePropertyFilter, ctx) : null;
 
     reader.beginObject();
     for (; reader.hasNext(); ) {
       reader.next();
       String propName = reader.name();
-      PropertyMutator muta = mutableProperties.get(propName);
+      Integer index = mutatorIndexes.get(propName);
 
-      if (muta != null) {
-        if (runtimePropertyFilter.shouldInclude(muta, ctx)) {
+      if (index != null) {
+        PropertyMutator muta = mutators[index];
+        if (mask != null ? mask.mutators.get(index) : runtimePropertyFilter.shouldInclude(muta, ctx)) {
           Object param = muta.deserialize(reader, ctx);
           names.add(propName);
           values.add(param);
@@ -201,4 +229,39 @@ public Class<T> getOfClass() {
   private JsonBindingException missingPropertyException(String name) {
    return new JsonBindingException("No matching property in " + getOfClass() + " for key " + name);
   }
-}
\ No newline at end of file
+
+  /**
+   * Returns the properties included by the filter for this context, they are computed only once per context.
+   */
+  private PropertyMask propertyMask(RuntimePropertyFilter filter, Context ctx) {
+    Map<BeanDescriptor<?>, PropertyMask> masks = ctx.get(PROPERTY_MASKS_KEY);
+    if (masks == null) {
+      masks = new IdentityHashMap<BeanDescriptor<?>, PropertyMask>();
+      ctx.store(PROPERTY_MASKS_KEY, masks);
+    }
+    PropertyMask mask = masks.get(this);
+    if (mask == null) {
+      mask = new PropertyMask(accessibleProperties, mutators, filter, ctx);
+      masks.put(this, mask);
+    }
+    return mask;
+  }
+
+  private final static class PropertyMask {
+    // indices of the included properties from accessibleProperties and from the mutators of the descriptor
+    final BitSet accessors;
+    final BitSet mutators;
+
+    PropertyMask(List<PropertyAccessor> accessibleProperties, PropertyMutator[] mutableProperties,
+                 RuntimePropertyFilter filter, Context ctx) {
+      accessors = new BitSet(accessibleProperties.size());
+      for (int i = 0; i < accessibleProperties.size(); i++) {
+        if (filter.shouldInclude(accessibleProperties.get(i), ctx)) accessors.set(i);
+      }
+      mutators = new BitSet(mutableProperties.length);
+      for (int i = 0; i < mutableProperties.length; i++) {
+        if (filter.shouldInclude(mutableProperties[i], ctx)) mutators.set(i);
+      }
+    }
+  }
+}
@@ -6,6 +6,7 @@
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.owlike.genson.Genson;
+import com.owlike.genson.GensonMetrics;
 
 /**
  * Interface implemented by classes who want to provide {@link BeanDescriptor} instances for the
@@ -56,12 +57,15 @@ public <T> BeanDescriptor<T> provide(Class<T> ofClass, Genson genson) {
     public <T> BeanDescriptor<T> provide(Class<T> ofClass, Type type, Genson genson) {
       BeanDescriptor<T> desc = (BeanDescriptor<T>) cache.get(type);
       if (desc == null) {
+        GensonMetrics metrics = genson != null ? genson.metrics() : null;
+        long start = metrics != null ? System.nanoTime() : 0;
         for (BeanDescriptorProvider provider : providers) {
           desc = provider.provide(ofClass, type, genson);
           if (desc != null) break;
         }
 
         cache.putIfAbsent(type, desc);
+        if (metrics != null) metrics.beanDescriptorBuilt(type, System.nanoTime() - start);
       }
 
       return desc;
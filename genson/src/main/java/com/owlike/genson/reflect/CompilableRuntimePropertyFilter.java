@@ -0,0 +1,13 @@
+package com.owlike.genson.reflect;
+
+/**
+ * A RuntimePropertyFilter for which the decision to include a property does not change during the lifetime of a
+ * {@link com.owlike.genson.Context Context} (for example it depends only on the property and on the current
+ * request). This allows BeanDescriptors to call {@link #shouldInclude(BeanProperty, com.owlike.genson.Context)} only
+ * once per property and context and to reuse the result for all the objects of that type that are serialized or
+ * deserialized with the same context, instead of calling it for each property of each object.
+ *
+ * @author eugen
+ */
+public interface CompilableRuntimePropertyFilter extends RuntimePropertyFilter {
+}
@@ -64,6 +64,11 @@ public final static Type expandType(final Type type, final Type rootType) {
     if (type instanceof ExpandedType || type instanceof Class)
       return type;
 
+    // look first at the cache, so the thread local is used only while types are being expanded for the first time
+    TypeAndRootClassKey key = new TypeAndRootClassKey(type, rootType);
+    Type cachedType = _cache.get(key);
+    if (cachedType != null) return cachedType;
+
     Map<Type, Type> circularTypes = _circularExpandedType.get();
     if (circularTypes == null) {
       circularTypes = new HashMap<Type, Type>();
@@ -76,7 +81,6 @@ public final static Type expandType(final Type type, final Type rootType) {
     } else {
       try {
         circularTypes.put(type, getRawClass(type));
-        TypeAndRootClassKey key = new TypeAndRootClassKey(type, rootType);
         Type expandedType = _cache.get(key);
 
         if (expandedType == null) {
@@ -136,6 +140,8 @@ public final static Type expandType(final Type type, final Type rootType) {
         return expandedType;
       } finally {
         circularTypes.remove(type);
+        // don't keep a map for each thread that once expanded a type
+        if (circularTypes.isEmpty()) _circularExpandedType.remove();
       }
     }
   }
@@ -45,6 +45,7 @@ public class JsonReader implements ObjectReader {
   }
 
   private final static char[] _END_OF_LINE = new char[]{'\n'};
+  private final static char[] TRUE_VALUE = new char[]{'t', 'r', 'u', 'e'};
   private final static char[] _END_OF_BLOCK_COMMENT = new char[]{'*', '/'};
 
   /*
@@ -73,9 +74,11 @@ public class JsonReader implements ObjectReader {
   private final Reader reader;
   private final boolean strictDoubleParse;
   private final boolean readMetadata;
+  private StringCache stringCache;
   private final char[] _buffer = new char[2048];
   private int _col;
   private int _row;
+  private long _charsRead = 0;
   private int _cursor;
   private int _buflen;
 
@@ -85,6 +88,19 @@ public class JsonReader implements ObjectReader {
 
   private String currentName;
   private String _stringValue;
+  /*
+   * When a name or string value doesn't contain any escaped character and is fully contained in
+   * _buffer we don't create the String directly but just remember its position. The String is
+   * created only when it is requested or before the content of _buffer gets overwritten.
+   */
+  private int _nameStart = -1;
+  private int _nameLen;
+  private int _valueStart = -1;
+  private int _valueLen;
+  private int _scanStart;
+  private int _scanLen;
+  private final CharArraySequence _nameView = new CharArraySequence();
+  private final CharArraySequence _valueView = new CharArraySequence();
   protected long _intValue;
   protected double _doubleValue;
   private int _numberLen = 0;
@@ -105,9 +121,18 @@ public JsonReader(String source) {
   }
 
   public JsonReader(Reader reader, boolean strictDoubleParse, boolean readMetadata) {
+    this(reader, strictDoubleParse, readMetadata, null);
+  }
+
+  /**
+   * @param stringCache if not null, names and string values will be deduplicated using this cache.
+   * @see StringCache
+   */
+  public JsonReader(Reader reader, boolean strictDoubleParse, boolean readMetadata, StringCache stringCache) {
     this.reader = reader;
     this.strictDoubleParse = strictDoubleParse;
     this.readMetadata = readMetadata;
+    this.stringCache = stringCache;
 
     char token = (char) readNextToken(false);
     if ('[' == token) valueType = ARRAY;
@@ -184,11 +209,52 @@ public String name() {
     if (enclosingType() != JsonType.OBJECT)
       throw new JsonStreamException("Only json objects have names, actual type is "
         + valueType);
+    if (_nameStart >= 0) pinName();
     return currentName;
   }
 
+  public CharSequence nameAsCharSequence() {
+    if (enclosingType() != JsonType.OBJECT)
+      throw new JsonStreamException("Only json objects have names, actual type is "
+        + valueType);
+    if (_nameStart >= 0) return _nameView.reset(_buffer, _nameStart, _nameLen);
+    return currentName;
+  }
+
+  public int nameHashCode() {
+    if (enclosingType() != JsonType.OBJECT)
+      throw new JsonStreamException("Only json objects have names, actual type is "
+        + valueType);
+    if (_nameStart >= 0) return hashCode(_buffer, _nameStart, _nameLen);
+    return currentName.hashCode();
+  }
+
+  public CharSequence valueAsCharSequence() {
+    if (STRING == valueType && _valueStart >= 0)
+      return _valueView.reset(_buffer, _valueStart, _valueLen);
+    return valueAsString();
+  }
+
+  public boolean valueEquals(CharSequence other) {
+    if (STRING == valueType && _valueStart >= 0) {
+      if (other == null || other.length() != _valueLen) return false;
+      for (int i = 0; i < _valueLen; i++) {
+        if (_buffer[_valueStart + i] != other.charAt(i)) return false;
+      }
+      return true;
+    }
+    String value = valueAsString();
+    return value == null ? other == null : other != null && value.contentEquals(other);
+  }
+
+  public int valueHashCode() {
+    if (STRING == valueType && _valueStart >= 0) return hashCode(_buffer, _valueStart, _valueLen);
+    String value = valueAsString();
+    return value == null ? 0 : value.hashCode();
+  }
+
   public String valueAsString() {
-    if (STRING == valueType) return _stringValue;
+    if (STRING == valueType) return stringValue();
     if (INTEGER == valueType) return "" + _intValue;
     if (DOUBLE == valueType) return "" + _doubleValue;
     if (NULL == valueType) return null;
@@ -211,7 +277,7 @@ public int valueAsInt() {
         throwNumberFormatException("an int", "overflowing double value " + _doubleValue);
       }
       return value;
-    } else if (STRING == valueType) return Integer.parseInt(_stringValue);
+    } else if (STRING == valueType) return Integer.parseInt(stringValue());
 
     throw new JsonStreamException("Expected a int but value is of type " + valueType);
   }
@@ -224,7 +290,7 @@ public long valueAsLong() {
         throwNumberFormatException("a long", "overflowing double value " + _doubleValue);
       }
       return (long) _doubleValue;
-    } else if (STRING == valueType) return Long.parseLong(_stringValue);
+    } else if (STRING == valueType) return Long.parseLong(stringValue());
 
     throw new JsonStreamException("Expected a long but value is of type " + valueType);
   }
@@ -235,7 +301,7 @@ public double valueAsDouble() {
     } else if (INTEGER == valueType) {
       // for the moment lets do that even if there is some precision loss...
       return Long.valueOf(_intValue).doubleValue();
-    } else if (STRING == valueType) return Double.parseDouble(_stringValue);
+    } else if (STRING == valueType) return Double.parseDouble(stringValue());
 
     throw new JsonStreamException("Expected a double but value is of type " + valueType);
   }
@@ -253,7 +319,7 @@ public short valueAsShort() {
         throwNumberFormatException("a short", "overflowing double value " + _doubleValue);
       }
       return value;
-    } else if (STRING == valueType) return Short.parseShort(_stringValue);
+    } else if (STRING == valueType) return Short.parseShort(stringValue());
 
     throw new JsonStreamException("Expected a short but value is of type " + valueType);
   }
@@ -265,7 +331,7 @@ public float valueAsFloat() {
       // same as for doubles, for the moment lets do that even if there is some precision
       // loss...
       return Long.valueOf(_intValue).floatValue();
-    } else if (STRING == valueType) return Float.parseFloat(_stringValue);
+    } else if (STRING == valueType) return Float.parseFloat(stringValue());
 
     throw new JsonStreamException("Expected a float but value is of type " + valueType);
   }
@@ -274,18 +340,80 @@ public boolean valueAsBoolean() {
     if (BOOLEAN == valueType) {
       return _booleanValue;
     }
-    if (STRING == valueType) return Boolean.parseBoolean(_stringValue);
+    // same as Boolean.parseBoolean but without creating the string
+    if (STRING == valueType) return valueEqualsIgnoreCase(TRUE_VALUE);
 
     throw new JsonStreamException("Readen value is not of type boolean");
   }
 
   public byte[] valueAsByteArray() {
-    if (STRING == valueType) return Base64.decodeFast(_stringValue);
+    if (STRING == valueType) return Base64.decodeFast(stringValue());
     if (NULL == valueType) return null;
     throw new JsonStreamException("Expected a String to convert to byte array found "
       + valueType);
   }
 
+  private String stringValue() {
+    if (_valueStart >= 0) pinValue();
+    return _stringValue;
+  }
+
+  private boolean valueEqualsIgnoreCase(char[] lowerCaseChars) {
+    CharSequence value = valueAsCharSequence();
+    if (value.length() != lowerCaseChars.length) return false;
+    for (int i = 0; i < lowerCaseChars.length; i++) {
+      if (Character.toLowerCase(value.charAt(i)) != lowerCaseChars[i]) return false;
+    }
+    return true;
+  }
+
+  /**
+   * @return the cache used to deduplicate names and string values or null if deduplication is
+   * disabled.
+   */
+  public StringCache getStringCache() {
+    return stringCache;
+  }
+
+  /**
+   * Enables (or disables if null) deduplication of names and string values read from now on.
+   * Converters can use it to enable deduplication only for a part of the stream.
+   */
+  public void setStringCache(StringCache stringCache) {
+    this.stringCache = stringCache;
+  }
+
+  private String newString(char[] chars, int offset, int len) {
+    return stringCache != null ? stringCache.get(chars, offset, len) : new String(chars, offset, len);
+  }
+
+  private void pinName() {
+    currentName = newString(_buffer, _nameStart, _nameLen);
+    _nameStart = -1;
+  }
+
+  private void pinValue() {
+    _stringValue = newString(_buffer, _valueStart, _valueLen);
+    _valueStart = -1;
+  }
+
+  /**
+   * Must be called before modifying the content of _buffer, so names and values that are still
+   * referencing it get copied.
+   */
+  private void pinLazyStrings() {
+    if (_nameStart >= 0) pinName();
+    if (_valueStart >= 0) pinValue();
+  }
+
+  private static int hashCode(char[] chars, int offset, int len) {
+    int h = 0;
+    for (int i = offset, end = offset + len; i < end; i++) {
+      h = 31 * h + chars[i];
+    }
+    return h;
+  }
+
   public String metadata(String name) {
     if (!_metadata_readen) nextObjectMetadata();
     return _metadata.get(name);
@@ -341,6 +469,8 @@ public boolean hasNext() {
   public ValueType next() {
     _metadata_readen = false;
     _first = false;
+    // the previous value is not reachable anymore, no need to keep it
+    _valueStart = -1;
 
     char ctoken = (char) readNextToken(false);
 
@@ -359,7 +489,11 @@ public ValueType next() {
     }
 
     if (JsonType.OBJECT == _ctx.peek()) {
-      currentName = consumeString(ctoken);
+      currentName = scanString(ctoken);
+      if (currentName == null) {
+        _nameStart = _scanStart;
+        _nameLen = _scanLen;
+      } else _nameStart = -1;
       if (readNextToken(true) != ':') newWrongTokenException(":", _cursor - 1);
     }
 
@@ -373,9 +507,14 @@ public JsonType enclosingType() {
   }
 
   protected final ValueType consumeValue() {
+    _valueStart = -1;
     char ctoken = (char) readNextToken(false);
     if (ctoken == '"') {
-      _stringValue = consumeString(ctoken);
+      _stringValue = scanString(ctoken);
+      if (_stringValue == null) {
+        _valueStart = _scanStart;
+        _valueLen = _scanLen;
+      }
       return STRING;
     } else if (ctoken == '[') return ARRAY;
     else if (ctoken == '{') return OBJECT;
@@ -426,13 +565,23 @@ protected final void end(int character, JsonType type) {
   }
 
   protected final String consumeString(int token) {
+    String value = scanString(token);
+    return value != null ? value : newString(_buffer, _scanStart, _scanLen);
+  }
+
+  /**
+   * Reads the next string, if it does not contain escaped characters and is fully contained in
+   * _buffer then null is returned and its position is available in _scanStart and _scanLen.
+   * Otherwise the string is created and returned.
+   */
+  private String scanString(int token) {
     if (token != '"') newMisplacedTokenException(_cursor);
     _cursor++;
     boolean buffered = false;
     while (true) {
       if (fillBuffer(true) < 0) {
         // TODO ugly to copy, by the way ensure we don't have the same problem elsewhere
-        String name = new String(_stringBuffer, 0, _stringBufferTail);
+        String name = newString(_stringBuffer, 0, _stringBufferTail);
         _stringBufferTail = 0;
         return name;
       }
@@ -443,13 +592,14 @@ protected final String consumeString(int token) {
           if (buffered) {
             writeToStringBuffer(_buffer, _cursor, i - _cursor);
             _cursor = i + 1;
-            String name = new String(_stringBuffer, 0, _stringBufferTail);
+            String name = newString(_stringBuffer, 0, _stringBufferTail);
             _stringBufferTail = 0;
             return name;
           } else {
-            String name = new String(_buffer, _cursor, i - _cursor);
+            _scanStart = _cursor;
+            _scanLen = i - _cursor;
             _cursor = i + 1;
-            return name;
+            return null;
           }
         } else if (_buffer[i] == '\\') {
           buffered = true;
@@ -867,8 +1017,10 @@ private final void expandStringBuffer(int length) {
 
   private final int fillBuffer(boolean doThrow) {
     if (_cursor < _buflen) return _buflen;
+    pinLazyStrings();
     try {
       _buflen = reader.read(_buffer);
+      if (_buflen > 0) _charsRead += _buflen;
     } catch (IOException ioe) {
       throw new JsonStreamException(ioe);
     }
@@ -884,6 +1036,7 @@ private final int ensureBufferHas(int minLength, boolean doThrow) {
       if (actualLen >= minLength) {
         return actualLen;
       }
+      pinLazyStrings();
 
       System.arraycopy(_buffer, _cursor, _buffer, 0, actualLen);
       for (; actualLen < minLength; ) {
@@ -899,6 +1052,7 @@ private final int ensureBufferHas(int minLength, boolean doThrow) {
           }
         }
         actualLen += len;
+        _charsRead += len;
       }
       _buflen = actualLen;
       _col = 0;
@@ -909,6 +1063,14 @@ private final int ensureBufferHas(int minLength, boolean doThrow) {
     }
   }
 
+  /**
+   * @return the number of chars consumed so far from the underlying Reader, the chars buffered but not parsed
+   * yet are not included.
+   */
+  public long charsRead() {
+    return _buflen > _cursor ? _charsRead - (_buflen - _cursor) : _charsRead;
+  }
+
   protected final boolean isEOF() {
     return _buflen < 0 || fillBuffer(false) < 0;
   }
@@ -969,4 +1131,40 @@ private void throwNumberFormatException(String expected, String encoutered) {
       + ", expected " + expected + " but encoutered " + encoutered));
   }
 
+  /**
+   * A reusable view over a region of a char array, used to expose names and values without
+   * copying them.
+   */
+  private final static class CharArraySequence implements CharSequence {
+    private char[] _chars;
+    private int _offset;
+    private int _length;
+
+    CharArraySequence reset(char[] chars, int offset, int length) {
+      _chars = chars;
+      _offset = offset;
+      _length = length;
+      return this;
+    }
+
+    public int length() {
+      return _length;
+    }
+
+    public char charAt(int index) {
+      if (index < 0 || index >= _length) throw new IndexOutOfBoundsException("Index: " + index);
+      return _chars[_offset + index];
+    }
+
+    public CharSequence subSequence(int start, int end) {
+      if (start < 0 || end > _length || start > end)
+        throw new IndexOutOfBoundsException("Start: " + start + ", end: " + end);
+      return new String(_chars, _offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+      return new String(_chars, _offset, _length);
+    }
+  }
 }
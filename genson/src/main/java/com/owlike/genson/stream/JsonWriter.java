@@ -61,6 +61,7 @@ public class JsonWriter implements ObjectWriter {
   private final char[] _buffer = new char[1024];
   private final int _bufferSize = _buffer.length;
   private int _len = 0;
+  private long _charsFlushed = 0;
 
   List<MetadataPair> _metadata = new ArrayList<MetadataPair>();
 
@@ -394,7 +395,19 @@ public JsonWriter writeUnsafeValue(final String value) {
     beforeValue();
     if ((_len + 1) >= _bufferSize) flushBuffer();
     _buffer[_len++] = '"';
-    writeToBuffer(value.toCharArray(), 0, value.length());
+    writeToBuffer(value, 0, value.length());
+    if ((_len + 1) >= _bufferSize) flushBuffer();
+    _buffer[_len++] = '"';
+    _hasPrevious = true;
+    return this;
+  }
+
+  public JsonWriter writeEscapedValue(final char[] value) {
+    clearMetadata();
+    beforeValue();
+    if ((_len + 1) >= _bufferSize) flushBuffer();
+    _buffer[_len++] = '"';
+    writeToBuffer(value, 0, value.length);
     if ((_len + 1) >= _bufferSize) flushBuffer();
     _buffer[_len++] = '"';
     _hasPrevious = true;
@@ -537,6 +550,7 @@ private final void writeToBuffer(final char[] data, final int offset, final int
       flushBuffer();
       try {
         writer.write(data, offset, length);
+        _charsFlushed += length;
       } catch (IOException e) {
         throw new JsonStreamException(e);
       }
@@ -555,6 +569,7 @@ private final void writeToBuffer(final String data, final int offset, final int
       flushBuffer();
       try {
         writer.write(data, offset, length);
+        _charsFlushed += length;
       } catch (IOException e) {
         throw new JsonStreamException(e);
       }
@@ -565,6 +580,7 @@ private final void flushBuffer() {
     try {
       if (_len > 0) {
         writer.write(_buffer, 0, _len);
+        _charsFlushed += _len;
         _len = 0;
       }
     } catch (IOException ioe) {
@@ -572,6 +588,13 @@ private final void flushBuffer() {
     }
   }
 
+  /**
+   * @return the number of chars written so far, including the ones still buffered.
+   */
+  public long charsWritten() {
+    return _charsFlushed + _len;
+  }
+
   public Writer unwrap() {
     return writer;
   }
@@ -181,6 +181,62 @@ public interface ObjectReader extends Closeable {
    */
   String valueAsString();
 
+  /**
+   * Same as {@link #name()} but may avoid to create a new String, the returned instance can be a
+   * view over the internal buffer of the reader. It is only valid until the next call to a method
+   * moving the reader forward (next, hasNext, beginXXX, endXXX, skipValue...), if you need to
+   * keep it use toString or {@link #name()}.
+   *
+   * @return the name of current property as a CharSequence.
+   * @throws JsonStreamException
+   */
+  default CharSequence nameAsCharSequence() {
+    return name();
+  }
+
+  /**
+   * Same as {@link #valueAsString()} but may avoid to create a new String, the returned instance
+   * can be a view over the internal buffer of the reader. It is only valid until the next call to
+   * a method moving the reader forward (next, hasNext, beginXXX, endXXX, skipValue...), if you
+   * need to keep it use toString or {@link #valueAsString()}.
+   *
+   * @return the current value as a CharSequence or null if the value is null.
+   * @throws JsonStreamException
+   */
+  default CharSequence valueAsCharSequence() {
+    return valueAsString();
+  }
+
+  /**
+   * @param other the char sequence to compare with, may be null.
+   * @return true if the current value (as returned by {@link #valueAsString()}) has the same
+   * content as other. It is intended to allow comparisons without having to create a String.
+   * @throws JsonStreamException
+   */
+  default boolean valueEquals(CharSequence other) {
+    String value = valueAsString();
+    return value == null ? other == null : other != null && value.contentEquals(other);
+  }
+
+  /**
+   * @return the hash code of the current value, it is the same as valueAsString().hashCode() but
+   * may be computed without creating a String. Returns 0 for null values.
+   * @throws JsonStreamException
+   */
+  default int valueHashCode() {
+    String value = valueAsString();
+    return value == null ? 0 : value.hashCode();
+  }
+
+  /**
+   * @return the hash code of the current property name, it is the same as name().hashCode() but
+   * may be computed without creating a String.
+   * @throws JsonStreamException
+   */
+  default int nameHashCode() {
+    return name().hashCode();
+  }
+
   /**
    * @throws JsonStreamException
    * @throws NumberFormatException
@@ -224,6 +224,20 @@ public interface ObjectWriter {
    */
   public ObjectWriter writeUnsafeValue(String value);
 
+  /**
+   * Writes a string value that has already been escaped (for example with
+   * {@link JsonWriter#escapeString(String)}), the chars are copied as is. Useful for values known in
+   * advance, such as enum names, to avoid escaping them each time.
+   * The default implementation unescapes the value and delegates to {@link #writeValue(String)}.
+   *
+   * @param value a non null escaped string value.
+   * @throws JsonStreamException if trying to produce invalid json
+   * @see #writeEscapedName(char[])
+   */
+  public default ObjectWriter writeEscapedValue(char[] value) {
+    return writeValue(TreeWriter.unescape(value));
+  }
+
   /**
    * Must be called when a null value is encountered. Implementations will deal with the null
    * representation (just skip it or write null, etc).
@@ -0,0 +1,112 @@
+package com.owlike.genson.stream;
+
+/**
+ * A bounded canonicalization table for strings read from the stream. When a {@link JsonReader} is
+ * configured with a StringCache, equal names and string values will share the same String
+ * instance instead of allocating a new one each time. This is useful when deserializing large
+ * amounts of data containing many repeated keys and values (for example into Map&lt;String,
+ * Object&gt;) that are kept in memory.
+ * <p/>
+ * The table has a fixed number of slots, when two different strings map to the same slot the last
+ * one wins, so the memory used by the cache never grows and high cardinality values just replace
+ * each other. Strings longer than maxLength are never cached.
+ * <p/>
+ * Instances are thread safe and are intended to be shared. Note that no lock is used, the slots
+ * are written without synchronization which is fine as Strings are immutable and can be safely
+ * published through a data race, in the worst case a thread will not see a string cached by
+ * another thread and will create a new one.
+ *
+ * @author eugen
+ * @see com.owlike.genson.GensonBuilder#useStringDeduplication(boolean)
+ * @see com.owlike.genson.annotation.JsonDeduplicateStrings
+ */
+public final class StringCache {
+  public final static int DEFAULT_CAPACITY = 4096;
+  public final static int DEFAULT_MAX_LENGTH = 64;
+
+  private final int mask;
+  private final int maxLength;
+  private volatile String[] table;
+
+  public StringCache() {
+    this(DEFAULT_CAPACITY, DEFAULT_MAX_LENGTH);
+  }
+
+  /**
+   * @param capacity  the number of strings this cache can hold, will be rounded to the next power
+   *                  of two.
+   * @param maxLength strings longer than this value are not cached.
+   */
+  public StringCache(int capacity, int maxLength) {
+    if (capacity < 1) throw new IllegalArgumentException("Capacity must be greater than 0.");
+    if (maxLength < 0) throw new IllegalArgumentException("Max length must be positive.");
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) size <<= 1;
+    this.mask = size - 1;
+    this.maxLength = maxLength;
+  }
+
+  /**
+   * @return a String with the content of chars from offset to offset + length, if an equal string
+   * has already been cached it is returned otherwise a new one is created and cached.
+   */
+  public String get(char[] chars, int offset, int length) {
+    if (length > maxLength) return new String(chars, offset, length);
+
+    int hash = 0;
+    for (int i = offset, end = offset + length; i < end; i++) {
+      hash = 31 * hash + chars[i];
+    }
+    return get(chars, offset, length, hash);
+  }
+
+  /**
+   * Same as {@link #get(char[], int, int)} when the hash code (as computed by String.hashCode) of
+   * the chars is already known.
+   */
+  public String get(char[] chars, int offset, int length, int hash) {
+    if (length > maxLength) return new String(chars, offset, length);
+
+    String[] table = table();
+    int index = (hash ^ (hash >>> 16)) & mask;
+    String cached = table[index];
+    if (cached != null && cached.length() == length && contentEquals(cached, chars, offset, length))
+      return cached;
+
+    String value = new String(chars, offset, length);
+    table[index] = value;
+    return value;
+  }
+
+  public int capacity() {
+    return mask + 1;
+  }
+
+  public int maxLength() {
+    return maxLength;
+  }
+
+  /**
+   * Empties the cache.
+   */
+  public void clear() {
+    table = null;
+  }
+
+  private String[] table() {
+    // lazily allocated so it costs nothing when deduplication is never used
+    String[] t = table;
+    if (t == null) {
+      t = new String[mask + 1];
+      table = t;
+    }
+    return t;
+  }
+
+  private static boolean contentEquals(String value, char[] chars, int offset, int length) {
+    for (int i = 0; i < length; i++) {
+      if (value.charAt(i) != chars[offset + i]) return false;
+    }
+    return true;
+  }
+}
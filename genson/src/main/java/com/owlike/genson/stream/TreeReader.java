@@ -0,0 +1,347 @@
+package com.owlike.genson.stream;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An ObjectReader walking an in memory tree instead of parsing json text. Objects are read from Maps
+ * (the keys are converted to strings), arrays from Iterables and object arrays, strings from
+ * CharSequences and Characters, and numbers and booleans from their boxed values. Integral numbers
+ * are read as {@link ValueType#INTEGER} and the others as {@link ValueType#DOUBLE}, as if they were
+ * parsed from json. Byte arrays are read as strings but valueAsByteArray returns them directly.
+ * <p/>
+ * When readMetadata is enabled, the first entries of a Map having a String value and a name
+ * starting with '@' are read as metadata, like JsonReader does.
+ * <p/>
+ * Nodes of any other type are passed to {@link #toTreeNode(Object)}, that fails by default. Subclasses can
+ * override it to convert them to one of the types above (for example by serializing them to a
+ * {@link TreeWriter}). This is what allows {@link com.owlike.genson.Genson#convert(Object,
+ * java.lang.reflect.Type) Genson.convert} to read maps or JsonStructures containing any kind of value.
+ *
+ * @author eugen
+ * @see TreeWriter
+ */
+public class TreeReader implements ObjectReader {
+  private final boolean readMetadata;
+
+  private final List<Frame> _frames = new ArrayList<Frame>();
+  private Object _value;
+  private ValueType _valueType;
+  private String _name;
+  private Map<String, String> _metadata;
+  private boolean _metadataRead = false;
+  private boolean _rootRead = false;
+
+  public TreeReader(Object root) {
+    this(root, false);
+  }
+
+  public TreeReader(Object root, boolean readMetadata) {
+    this.readMetadata = readMetadata;
+    setValue(root);
+  }
+
+  /**
+   * Called with nodes that can not be read as json values, must return a node of one of the supported types.
+   * The default implementation throws a JsonStreamException.
+   */
+  protected Object toTreeNode(Object node) {
+    throw new JsonStreamException("Can not read a value of type " + node.getClass().getName() + " from a tree");
+  }
+
+  public ObjectReader beginObject() {
+    if (!_metadataRead) {
+      if (_valueType != ValueType.OBJECT) {
+        throw new JsonStreamException("Expected a value of type OBJECT but was " + _valueType);
+      }
+      Frame frame = new Frame(JsonType.OBJECT, ((Map<?, ?>) _value).entrySet().iterator());
+      if (_frames.isEmpty()) _rootRead = true;
+      _frames.add(frame);
+      _metadataRead = true;
+      _metadata = null;
+      if (readMetadata) readMetadata(frame);
+    }
+    return this;
+  }
+
+  public ObjectReader endObject() {
+    end(JsonType.OBJECT);
+    _metadata = null;
+    _metadataRead = false;
+    return this;
+  }
+
+  public ObjectReader beginArray() {
+    if (_valueType != ValueType.ARRAY) {
+      throw new JsonStreamException("Expected a value of type ARRAY but was " + _valueType);
+    }
+    Iterator<?> it = _value instanceof Object[] ? Arrays.asList((Object[]) _value).iterator()
+      : ((Iterable<?>) _value).iterator();
+    if (_frames.isEmpty()) _rootRead = true;
+    _frames.add(new Frame(JsonType.ARRAY, it));
+    _metadataRead = false;
+    return this;
+  }
+
+  public ObjectReader endArray() {
+    end(JsonType.ARRAY);
+    return this;
+  }
+
+  public ObjectReader nextObjectMetadata() {
+    return beginObject();
+  }
+
+  public ValueType next() {
+    _metadataRead = false;
+    if (_frames.isEmpty()) {
+      if (_rootRead) throw new JsonStreamException("The root value has already been read");
+      _rootRead = true;
+      return _valueType;
+    }
+
+    Frame frame = _frames.get(_frames.size() - 1);
+    if (frame.pending != null) {
+      Map.Entry<?, ?> entry = frame.pending;
+      frame.pending = null;
+      return setEntry(entry);
+    }
+    if (!frame.it.hasNext()) throw new JsonStreamException("No more values in the enclosing " + frame.type);
+    Object next = frame.it.next();
+    if (frame.type == JsonType.OBJECT) return setEntry((Map.Entry<?, ?>) next);
+    _name = null;
+    return setValue(next);
+  }
+
+  public boolean hasNext() {
+    if (_frames.isEmpty()) return !_rootRead;
+    Frame frame = _frames.get(_frames.size() - 1);
+    return frame.pending != null || frame.it.hasNext();
+  }
+
+  public ObjectReader skipValue() {
+    // the tree nodes are independent, next moves to the following value whatever the current one is
+    return this;
+  }
+
+  public ValueType getValueType() {
+    return _valueType;
+  }
+
+  public String metadata(String name) {
+    if (!_metadataRead) nextObjectMetadata();
+    return _metadata != null ? _metadata.get(name) : null;
+  }
+
+  public String name() {
+    if (enclosingType() != JsonType.OBJECT) {
+      throw new JsonStreamException("Only json objects have names, actual type is " + _valueType);
+    }
+    return _name;
+  }
+
+  public CharSequence nameAsCharSequence() {
+    return name();
+  }
+
+  public int nameHashCode() {
+    return name().hashCode();
+  }
+
+  public String valueAsString() {
+    switch (_valueType) {
+      case STRING:
+        return _value instanceof byte[] ? Base64.encodeToString((byte[]) _value, false) : _value.toString();
+      case INTEGER:
+      case DOUBLE:
+      case BOOLEAN:
+        return _value.toString();
+      case NULL:
+        return null;
+      default:
+        throw new JsonStreamException("Readen value can not be converted to String");
+    }
+  }
+
+  public CharSequence valueAsCharSequence() {
+    if (_value instanceof CharSequence) return (CharSequence) _value;
+    return valueAsString();
+  }
+
+  public boolean valueEquals(CharSequence other) {
+    CharSequence value = valueAsCharSequence();
+    if (value == null || other == null) return value == other;
+    if (value.length() != other.length()) return false;
+    for (int i = 0; i < value.length(); i++) {
+      if (value.charAt(i) != other.charAt(i)) return false;
+    }
+    return true;
+  }
+
+  public int valueHashCode() {
+    CharSequence value = valueAsCharSequence();
+    if (value == null) return 0;
+    if (value instanceof String) return value.hashCode();
+    int h = 0;
+    for (int i = 0; i < value.length(); i++) {
+      h = 31 * h + value.charAt(i);
+    }
+    return h;
+  }
+
+  public int valueAsInt() {
+    if (_valueType == ValueType.STRING) return Integer.parseInt(valueAsString());
+    long value = valueAsLong();
+    if ((int) value != value) throw numberFormatException("an int");
+    return (int) value;
+  }
+
+  public long valueAsLong() {
+    if (_valueType == ValueType.INTEGER) {
+      if (_value instanceof BigInteger && ((BigInteger) _value).bitLength() > 63) {
+        throw numberFormatException("a long");
+      }
+      return ((Number) _value).longValue();
+    } else if (_valueType == ValueType.DOUBLE) {
+      double value = ((Number) _value).doubleValue();
+      if (Long.MIN_VALUE > value || value > Long.MAX_VALUE) throw numberFormatException("a long");
+      return (long) value;
+    } else if (_valueType == ValueType.STRING) return Long.parseLong(valueAsString());
+
+    throw new JsonStreamException("Expected a long but value is of type " + _valueType);
+  }
+
+  public double valueAsDouble() {
+    if (_valueType == ValueType.INTEGER || _valueType == ValueType.DOUBLE) return ((Number) _value).doubleValue();
+    else if (_valueType == ValueType.STRING) return Double.parseDouble(valueAsString());
+
+    throw new JsonStreamException("Expected a double but value is of type " + _valueType);
+  }
+
+  public short valueAsShort() {
+    if (_valueType == ValueType.STRING) return Short.parseShort(valueAsString());
+    long value = valueAsLong();
+    if ((short) value != value) throw numberFormatException("a short");
+    return (short) value;
+  }
+
+  public float valueAsFloat() {
+    return (float) valueAsDouble();
+  }
+
+  public boolean valueAsBoolean() {
+    if (_valueType == ValueType.BOOLEAN) return (Boolean) _value;
+    if (_valueType == ValueType.STRING) return "true".equalsIgnoreCase(valueAsString());
+
+    throw new JsonStreamException("Readen value is not of type boolean");
+  }
+
+  public byte[] valueAsByteArray() {
+    if (_value instanceof byte[]) return (byte[]) _value;
+    if (_valueType == ValueType.STRING) return Base64.decodeFast(valueAsString());
+    if (_valueType == ValueType.NULL) return null;
+    throw new JsonStreamException("Expected a String to convert to byte array found " + _valueType);
+  }
+
+  public JsonType enclosingType() {
+    return _frames.isEmpty() ? JsonType.EMPTY : _frames.get(_frames.size() - 1).type;
+  }
+
+  public int column() {
+    return -1;
+  }
+
+  public int row() {
+    return -1;
+  }
+
+  public void close() {
+  }
+
+  private ValueType setEntry(Map.Entry<?, ?> entry) {
+    Object key = entry.getKey();
+    _name = key == null ? null : key.toString();
+    return setValue(entry.getValue());
+  }
+
+  private ValueType setValue(Object value) {
+    ValueType type = valueTypeOf(value);
+    if (type == null) {
+      value = toTreeNode(value);
+      type = valueTypeOf(value);
+      if (type == null) {
+        throw new JsonStreamException("Can not read a value of type " + value.getClass().getName() + " from a tree");
+      }
+    }
+    _value = value;
+    _valueType = type;
+    return type;
+  }
+
+  private void readMetadata(Frame frame) {
+    while (frame.it.hasNext()) {
+      Map.Entry<?, ?> entry = (Map.Entry<?, ?>) frame.it.next();
+      Object key = entry.getKey();
+      if (key instanceof String && ((String) key).startsWith("@") && entry.getValue() instanceof String) {
+        if (_metadata == null) _metadata = new HashMap<String, String>();
+        _metadata.put(((String) key).substring(1), (String) entry.getValue());
+      } else {
+        // not metadata, it will be returned by the next call to next
+        frame.pending = entry;
+        return;
+      }
+    }
+  }
+
+  private void end(JsonType type) {
+    if (enclosingType() != type) {
+      throw new JsonStreamException("Expected to end " + type + " but enclosing type is " + enclosingType());
+    }
+    Frame frame = _frames.remove(_frames.size() - 1);
+    if (frame.pending != null || frame.it.hasNext()) {
+      throw new JsonStreamException("Tried to end " + type + " but it still has values to read");
+    }
+  }
+
+  private JsonStreamException numberFormatException(String expected) {
+    return JsonStreamException.niceTrace(new JsonStreamException(new NumberFormatException(
+      "Wrong numeric type, expected " + expected + " but encoutered " + _value)));
+  }
+
+  /**
+   * @return the type as which this node will be read or null if it is not a tree node and must go through
+   * {@link #toTreeNode(Object)}.
+   */
+  public static ValueType valueTypeOf(Object value) {
+    if (value == null) return ValueType.NULL;
+    if (value instanceof String || value instanceof CharSequence || value instanceof Character
+      || value instanceof byte[]) return ValueType.STRING;
+    if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+      || value instanceof BigInteger || value instanceof AtomicInteger || value instanceof AtomicLong)
+      return ValueType.INTEGER;
+    if (value instanceof Number) return ValueType.DOUBLE;
+    if (value instanceof Boolean) return ValueType.BOOLEAN;
+    if (value instanceof Map) return ValueType.OBJECT;
+    if (value instanceof Iterable || value instanceof Object[]) return ValueType.ARRAY;
+    return null;
+  }
+
+  private static class Frame {
+    final JsonType type;
+    final Iterator<?> it;
+    // an entry read while looking for metadata, that was not metadata
+    Map.Entry<?, ?> pending;
+
+    Frame(JsonType type, Iterator<?> it) {
+      this.type = type;
+      this.it = it;
+    }
+  }
+}
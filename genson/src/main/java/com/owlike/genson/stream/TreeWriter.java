@@ -0,0 +1,296 @@
+package com.owlike.genson.stream;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An ObjectWriter building an in memory tree instead of json text. Objects are written as
+ * LinkedHashMap (metadata is put first, with names prefixed by '@'), arrays as ArrayList, strings as
+ * String, byte arrays as base64 encoded strings and numbers and booleans as their boxed value. Once
+ * the value has been written, the tree is available with {@link #root()}.
+ * <p/>
+ * The tree can be read back with a {@link TreeReader}, this is what
+ * {@link com.owlike.genson.Genson#convert(Object, java.lang.reflect.Type) Genson.convert} does to bind
+ * one type to another without going through json text.
+ *
+ * @author eugen
+ * @see TreeReader
+ */
+public class TreeWriter implements ObjectWriter {
+  private final boolean skipNull;
+
+  private final List<Object> _containers = new ArrayList<Object>();
+  private final List<String> _metadata = new ArrayList<String>();
+  private boolean _inMetadata = false;
+  private String _name;
+  private Object _root;
+  private boolean _hasRoot = false;
+
+  public TreeWriter() {
+    this(false);
+  }
+
+  /**
+   * @param skipNull if true, null values are not put in the tree.
+   */
+  public TreeWriter(boolean skipNull) {
+    this.skipNull = skipNull;
+  }
+
+  /**
+   * @return the written tree or null if nothing or null has been written.
+   */
+  public Object root() {
+    return _root;
+  }
+
+  public ObjectWriter beginArray() {
+    List<Object> array = new ArrayList<Object>();
+    put(array);
+    _containers.add(array);
+    return this;
+  }
+
+  public ObjectWriter endArray() {
+    end(JsonType.ARRAY);
+    return this;
+  }
+
+  public ObjectWriter beginObject() {
+    boolean withMetadata = _inMetadata;
+    _inMetadata = false;
+    Map<String, Object> object = new LinkedHashMap<String, Object>();
+    put(object);
+    _containers.add(object);
+    if (withMetadata) {
+      for (int i = 0; i < _metadata.size(); i += 2) {
+        object.put('@' + _metadata.get(i), _metadata.get(i + 1));
+      }
+      _metadata.clear();
+    }
+    return this;
+  }
+
+  public ObjectWriter endObject() {
+    end(JsonType.OBJECT);
+    return this;
+  }
+
+  public ObjectWriter writeName(String name) {
+    _name = name;
+    return this;
+  }
+
+  public ObjectWriter writeEscapedName(char[] name) {
+    _name = unescape(name);
+    return this;
+  }
+
+  public ObjectWriter writeValue(int value) {
+    return put(value);
+  }
+
+  public ObjectWriter writeValue(double value) {
+    return put(value);
+  }
+
+  public ObjectWriter writeValue(long value) {
+    return put(value);
+  }
+
+  public ObjectWriter writeValue(short value) {
+    return put(value);
+  }
+
+  public ObjectWriter writeValue(float value) {
+    return put(value);
+  }
+
+  public ObjectWriter writeValue(boolean value) {
+    return put(value);
+  }
+
+  public ObjectWriter writeBoolean(Boolean value) {
+    return value == null ? writeNull() : put(value);
+  }
+
+  public ObjectWriter writeValue(Number value) {
+    return value == null ? writeNull() : put(value);
+  }
+
+  public ObjectWriter writeNumber(Number value) {
+    return writeValue(value);
+  }
+
+  public ObjectWriter writeValue(String value) {
+    return value == null ? writeNull() : put(value);
+  }
+
+  public ObjectWriter writeString(String value) {
+    return writeValue(value);
+  }
+
+  public ObjectWriter writeValue(byte[] value) {
+    return value == null ? writeNull() : put(Base64.encodeToString(value, false));
+  }
+
+  public ObjectWriter writeBytes(byte[] value) {
+    return writeValue(value);
+  }
+
+  public ObjectWriter writeUnsafeValue(String value) {
+    return writeValue(value);
+  }
+
+  public ObjectWriter writeEscapedValue(char[] value) {
+    return put(unescape(value));
+  }
+
+  public ObjectWriter writeNull() {
+    // same as JsonWriter, null values are skipped in arrays too
+    if (skipNull) {
+      clearMetadata();
+      _name = null;
+      return this;
+    }
+    return put(null);
+  }
+
+  public ObjectWriter beginNextObjectMetadata() {
+    if (!_inMetadata) {
+      _inMetadata = true;
+      _metadata.clear();
+    }
+    return this;
+  }
+
+  public ObjectWriter writeMetadata(String name, String value) {
+    if (_inMetadata) {
+      _metadata.add(name);
+      _metadata.add(value);
+    } else if (enclosingType() == JsonType.OBJECT) {
+      writeName('@' + name);
+      writeValue(value);
+    }
+    // else do nothing so we silently don't write metadata for literals and arrays
+    return this;
+  }
+
+  public ObjectWriter writeBoolean(String name, Boolean value) {
+    writeName(name);
+    return writeBoolean(value);
+  }
+
+  public ObjectWriter writeNumber(String name, Number value) {
+    writeName(name);
+    return writeNumber(value);
+  }
+
+  public ObjectWriter writeString(String name, String value) {
+    writeName(name);
+    return writeString(value);
+  }
+
+  public ObjectWriter writeBytes(String name, byte[] value) {
+    writeName(name);
+    return writeBytes(value);
+  }
+
+  public void flush() {
+  }
+
+  public void close() {
+  }
+
+  public JsonType enclosingType() {
+    if (_inMetadata) return JsonType.METADATA;
+    if (_containers.isEmpty()) return JsonType.EMPTY;
+    return _containers.get(_containers.size() - 1) instanceof Map ? JsonType.OBJECT : JsonType.ARRAY;
+  }
+
+  @SuppressWarnings("unchecked")
+  private ObjectWriter put(Object value) {
+    clearMetadata();
+    if (_containers.isEmpty()) {
+      if (_hasRoot) throw new JsonStreamException("Only one root value can be written in a tree.");
+      _root = value;
+      _hasRoot = true;
+    } else {
+      Object container = _containers.get(_containers.size() - 1);
+      if (container instanceof Map) {
+        if (_name == null) {
+          throw new JsonStreamException("Tried to write value with no key in an object, call writeName first.");
+        }
+        ((Map<String, Object>) container).put(_name, value);
+        _name = null;
+      } else {
+        if (_name != null) {
+          throw new JsonStreamException("Tried to write key/value pair with key=" + _name
+            + ", key/value pairs are only allowed in objects.");
+        }
+        ((List<Object>) container).add(value);
+      }
+    }
+    return this;
+  }
+
+  private void end(JsonType type) {
+    if (enclosingType() != type) {
+      throw new JsonStreamException("Expected to end " + type + " but enclosing type is " + enclosingType());
+    }
+    _containers.remove(_containers.size() - 1);
+  }
+
+  private void clearMetadata() {
+    if (_inMetadata) {
+      _inMetadata = false;
+      _metadata.clear();
+    }
+  }
+
+  /**
+   * Reverts {@link JsonWriter#escapeString(String)}, the names and values written pre-escaped must be put
+   * in the tree as they were before being escaped.
+   */
+  static String unescape(char[] value) {
+    int i = 0;
+    while (i < value.length && value[i] != '\\') i++;
+    if (i == value.length) return new String(value);
+
+    StringBuilder sb = new StringBuilder(value.length).append(value, 0, i);
+    while (i < value.length) {
+      char c = value[i++];
+      if (c != '\\' || i == value.length) {
+        sb.append(c);
+        continue;
+      }
+      c = value[i++];
+      switch (c) {
+        case 'b':
+          sb.append('\b');
+          break;
+        case 'f':
+          sb.append('\f');
+          break;
+        case 'n':
+          sb.append('\n');
+          break;
+        case 'r':
+          sb.append('\r');
+          break;
+        case 't':
+          sb.append('\t');
+          break;
+        case 'u':
+          sb.append((char) Integer.parseInt(new String(value, i, 4), 16));
+          i += 4;
+          break;
+        default:
+          sb.append(c);
+      }
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,216 @@
+package com.owlike.genson;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.owlike.genson.bean.Feed;
+import com.owlike.genson.bean.MediaContent;
+import com.owlike.genson.bean.Tweet;
+import com.owlike.genson.stream.JsonWriter;
+import com.owlike.genson.stream.ObjectReader;
+import com.owlike.genson.stream.ObjectWriter;
+import com.owlike.genson.stream.ValueType;
+
+import static org.junit.Assert.*;
+
+/**
+ * Fails when the bytes allocated per operation on the core paths exceed the budgets defined in
+ * allocation-budgets.properties. When an optimization lowers the allocations, lower the budget accordingly.
+ * <p/>
+ * The allocations depend on the JVM, its JIT and the agents attached to it (escape analysis, coverage), so the
+ * test is not part of the default build, it runs with mvn test -Pallocation-budgets.
+ * <p/>
+ * A budget can be overridden with -Dgenson.allocation.budget.&lt;name&gt;=bytes and all of them can be scaled
+ * with -Dgenson.allocation.tolerance=1.5 (for example on JVMs with a different JIT). The measurements are printed
+ * with -Dgenson.allocation.print=true. The test is skipped on JVMs that can't measure per thread allocations.
+ */
+public class AllocationBudgetTest {
+  private static final AllocationMeter meter = new AllocationMeter(5);
+  private static final Properties budgets = new Properties();
+  private static String mediaContentJson;
+  private static String tweetsJson;
+  private static String readerShortJson;
+
+  // same configuration as the benchmarks, the tweets use a custom date format
+  private final Genson genson = new GensonBuilder()
+    .useDateFormat(new SimpleDateFormat("EEE MMM dd HH:mm:ss Z yyyy", Locale.US)).create();
+  private final MediaContent mediaContent = genson.deserialize(mediaContentJson, MediaContent.class);
+  private final Object readerShortTree = genson.deserialize(readerShortJson, Object.class);
+  private final GenericType<List<Tweet>> tweetsType = new GenericType<List<Tweet>>() {};
+
+  @BeforeClass
+  public static void loadFixtures() throws Exception {
+    InputStream is = AllocationBudgetTest.class.getResourceAsStream("/allocation-budgets.properties");
+    try {
+      budgets.load(is);
+    } finally {
+      is.close();
+    }
+    mediaContentJson = resource("/MEDIA_CONTENT.json");
+    tweetsJson = resource("/TWEETS.json");
+    readerShortJson = resource("/READER_SHORT.json");
+  }
+
+  @Test
+  public void testJsonReader() throws Exception {
+    assertWithinBudget("jsonReader.readerShort", new AllocationMeter.Operation() {
+      @Override
+      public void run() {
+        traverse(genson.createReader(new StringReader(readerShortJson)));
+      }
+    });
+  }
+
+  @Test
+  public void testJsonWriter() throws Exception {
+    assertWithinBudget("jsonWriter.document", new AllocationMeter.Operation() {
+      @Override
+      public void run() {
+        ObjectWriter writer = new JsonWriter(NullWriter.instance, false, false, false);
+        writer.beginObject().writeName("items").beginArray();
+        for (int i = 0; i < 20; i++) {
+          writer.beginObject()
+            .writeName("name").writeValue("item")
+            .writeName("id").writeValue(1234567890123L + i)
+            .writeName("enabled").writeValue(i % 2 == 0)
+            .writeName("missing").writeNull()
+            .endObject();
+        }
+        writer.endArray().endObject().flush();
+      }
+    });
+  }
+
+  @Test
+  public void testBeanSerialization() throws Exception {
+    assertWithinBudget("bean.serialize.mediaContent", new AllocationMeter.Operation() {
+      @Override
+      public void run() {
+        genson.serialize(mediaContent, NullWriter.instance);
+      }
+    });
+  }
+
+  @Test
+  public void testBeanDeserialization() throws Exception {
+    assertWithinBudget("bean.deserialize.mediaContent", new AllocationMeter.Operation() {
+      @Override
+      public void run() {
+        genson.deserialize(mediaContentJson, MediaContent.class);
+      }
+    });
+    assertWithinBudget("bean.deserialize.tweets", new AllocationMeter.Operation() {
+      @Override
+      public void run() {
+        genson.deserialize(tweetsJson, tweetsType);
+      }
+    }, 500, 50);
+    assertWithinBudget("bean.deserialize.readerShort", new AllocationMeter.Operation() {
+      @Override
+      public void run() {
+        genson.deserialize(readerShortJson, Feed.class);
+      }
+    });
+  }
+
+  @Test
+  public void testDefaultConverters() throws Exception {
+    assertWithinBudget("untyped.deserialize.readerShort", new AllocationMeter.Operation() {
+      @Override
+      public void run() {
+        genson.deserialize(readerShortJson, Object.class);
+      }
+    });
+    assertWithinBudget("untyped.serialize.readerShort", new AllocationMeter.Operation() {
+      @Override
+      public void run() {
+        genson.serialize(readerShortTree, NullWriter.instance);
+      }
+    });
+  }
+
+  private void assertWithinBudget(String name, AllocationMeter.Operation operation) throws Exception {
+    assertWithinBudget(name, operation, 5000, 500);
+  }
+
+  private void assertWithinBudget(String name, AllocationMeter.Operation operation, int warmupIterations,
+                                  int iterations) throws Exception {
+    Assume.assumeTrue(meter.isSupported());
+
+    String budgetValue = System.getProperty("genson.allocation.budget." + name, budgets.getProperty(name));
+    assertNotNull("No allocation budget defined for " + name, budgetValue);
+    double tolerance = Double.parseDouble(System.getProperty("genson.allocation.tolerance", "1"));
+    long budget = (long) (Long.parseLong(budgetValue.trim()) * tolerance);
+
+    long allocated = meter.bytesPerOperation(operation, warmupIterations, iterations);
+    if (Boolean.getBoolean("genson.allocation.print")) {
+      System.out.println(name + " allocated " + allocated + " bytes per operation, budget " + budget);
+    }
+    assertTrue(name + " allocated " + allocated + " bytes per operation, the budget is " + budget,
+      allocated <= budget);
+  }
+
+  private static void traverse(ObjectReader reader) {
+    traverseValue(reader, reader.getValueType());
+  }
+
+  private static void traverseValue(ObjectReader reader, ValueType type) {
+    if (type == ValueType.OBJECT) {
+      reader.beginObject();
+      while (reader.hasNext()) {
+        traverseValue(reader, reader.next());
+        reader.name();
+      }
+      reader.endObject();
+    } else if (type == ValueType.ARRAY) {
+      reader.beginArray();
+      while (reader.hasNext()) traverseValue(reader, reader.next());
+      reader.endArray();
+    } else if (type != ValueType.NULL) {
+      reader.valueAsString();
+    }
+  }
+
+  private static String resource(String path) throws Exception {
+    Reader reader = new InputStreamReader(AllocationBudgetTest.class.getResourceAsStream(path), "UTF-8");
+    try {
+      StringBuilder sb = new StringBuilder();
+      char[] buffer = new char[8192];
+      for (int len; (len = reader.read(buffer)) > -1; ) sb.append(buffer, 0, len);
+      return sb.toString();
+    } finally {
+      reader.close();
+    }
+  }
+
+  private static class NullWriter extends Writer {
+    static final NullWriter instance = new NullWriter();
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package com.owlike.genson;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the bytes allocated by the current thread per execution of an operation, using the HotSpot
+ * com.sun.management.ThreadMXBean. The operation is first run a fixed number of warmup iterations, so that the JIT
+ * has most likely compiled it (escape analysis removes some allocations only once the code is compiled), nothing
+ * checks that it actually did. Then the lowest average of a few rounds is kept so a GC or a compilation happening
+ * during a round doesn't distort the result.
+ */
+public class AllocationMeter {
+  public interface Operation {
+    void run() throws Exception;
+  }
+
+  private final com.sun.management.ThreadMXBean threadBean;
+  private final int rounds;
+
+  public AllocationMeter(int rounds) {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean
+      && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+      threadBean = (com.sun.management.ThreadMXBean) bean;
+      threadBean.setThreadAllocatedMemoryEnabled(true);
+    } else {
+      threadBean = null;
+    }
+    this.rounds = rounds;
+  }
+
+  /**
+   * @return false if the JVM can not measure the allocations per thread.
+   */
+  public boolean isSupported() {
+    return threadBean != null;
+  }
+
+  /**
+   * @return the number of bytes allocated by one execution of operation.
+   */
+  public long bytesPerOperation(Operation operation, int warmupIterations, int iterations) throws Exception {
+    long threadId = Thread.currentThread().getId();
+    for (int i = 0; i < warmupIterations; i++) operation.run();
+
+    long min = Long.MAX_VALUE;
+    for (int round = 0; round < rounds; round++) {
+      long start = threadBean.getThreadAllocatedBytes(threadId);
+      for (int i = 0; i < iterations; i++) operation.run();
+      long allocated = threadBean.getThreadAllocatedBytes(threadId) - start;
+      min = Math.min(min, allocated / iterations);
+    }
+    return min;
+  }
+}
@@ -0,0 +1,44 @@
+package com.owlike.genson;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StringBuilderWriterTest {
+  @Test
+  public void testWrite() throws IOException {
+    StringBuilderWriter writer = new StringBuilderWriter(2);
+    writer.write('a');
+    writer.write("bcd".toCharArray(), 1, 2);
+    writer.write("efg");
+    writer.write("hijk", 1, 2);
+    writer.append("lm").append("xnox", 1, 3).append('p');
+    writer.flush();
+    writer.close();
+
+    assertEquals("acdefgijlmnop", writer.toString());
+  }
+
+  @Test
+  public void testWriteAfterClose() throws IOException {
+    StringBuilderWriter writer = new StringBuilderWriter();
+    writer.write("a");
+    writer.close();
+    writer.write("b");
+
+    assertEquals("ab", writer.toString());
+  }
+
+  @Test
+  public void testSerializeLargeValue() {
+    StringBuilder value = new StringBuilder();
+    for (int i = 0; i < 1000; i++) value.append("é\"").append(i);
+
+    Genson genson = new Genson();
+    String json = genson.serialize(value.toString());
+
+    assertEquals(value.toString(), genson.deserialize(json, String.class));
+  }
+}
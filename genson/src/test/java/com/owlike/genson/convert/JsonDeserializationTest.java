@@ -25,6 +25,14 @@ public class JsonDeserializationTest {
     assertEquals(2, genson.deserialize("{\"a2\":2}", PojoWithAliasInSetter.class).a);
   }
 
+  @Test public void testShouldDeserializeUsingAliasWithOtherProperties() {
+    PojoWithAliasAndOtherProperties pojo = genson.deserialize("{\"c\":1,\"a2\":2,\"b\":3}",
+      PojoWithAliasAndOtherProperties.class);
+    assertEquals(1, pojo.c);
+    assertEquals(2, pojo.a);
+    assertEquals(3, pojo.b);
+  }
+
   @Test public void testShouldDeserializeUsingConstructorAlias() {
     assertEquals(2, genson.deserialize("{\"a2\":2}", PojoWithAliasInConstructor.class).a);
   }
@@ -528,6 +536,13 @@ public void setA(int a) {
     }
   }
 
+  static class PojoWithAliasAndOtherProperties {
+    @JsonProperty(aliases = {"a2"})
+    public int a;
+    public int b;
+    public int c;
+  }
+
   static class PojoWithAliasInConstructor {
     final int a;
 
@@ -48,6 +48,16 @@ public void testJsonArrayOfMixedContent() {
     assertEquals(expected, json);
   }
 
+  @Test
+  public void testJsonArrayWithMoreTypesThanCachedConverters() {
+    Object[] array = new Object[]{"a", 1, 2L, 3.5, 4.5f, (short) 5, (byte) 6, 'c', true,
+      Player.JAVA, new int[]{7}, Arrays.asList(8), "b", 9};
+    String expected = "[\"a\",1,2,3.5,4.5,5,6,\"c\",true,\"JAVA\",[7],[8],\"b\",9]";
+    // twice so the second time the converters are retrieved from the cache
+    assertEquals(expected, genson.serialize(array));
+    assertEquals(expected, genson.serialize(array));
+  }
+
   @Test
   public void testJsonComplexObject() {
     Primitives p = createPrimitives();
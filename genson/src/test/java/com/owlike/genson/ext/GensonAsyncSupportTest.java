@@ -0,0 +1,148 @@
+package com.owlike.genson.ext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.owlike.genson.GenericType;
+import com.owlike.genson.ext.servlet.GensonAsyncSupport;
+
+import static org.junit.Assert.*;
+
+public class GensonAsyncSupportTest {
+  private static final int PORT = 9998;
+  private Server server;
+
+  @Before
+  public void startServer() throws Exception {
+    final GensonAsyncSupport support = new GensonAsyncSupport().maxBodySize(64 * 1024).chunkSize(64);
+    ServletHolder holder = new ServletHolder(new HttpServlet() {
+      @Override
+      protected void doPost(HttpServletRequest req, HttpServletResponse resp) {
+        final AsyncContext async = req.startAsync();
+        support.read(async, new GenericType<List<Item>>() {}, new GensonAsyncSupport.Callback<List<Item>>() {
+          @Override
+          public void completed(List<Item> items) {
+            long total = 0;
+            for (Item item : items) total += item.quantity;
+            Summary summary = new Summary();
+            summary.count = items.size();
+            summary.total = total;
+            summary.items = items;
+            support.write(async, summary);
+          }
+
+          @Override
+          public void failed(Throwable t) {
+            ((HttpServletResponse) async.getResponse()).setStatus(400);
+            async.complete();
+          }
+        });
+      }
+    });
+    holder.setAsyncSupported(true);
+
+    ServletContextHandler ctxHandler = new ServletContextHandler();
+    ctxHandler.addServlet(holder, "/*");
+    ctxHandler.setContextPath("/");
+    server = new Server(PORT);
+    server.setHandler(ctxHandler);
+    server.start();
+  }
+
+  @After
+  public void stopServer() throws Exception {
+    server.stop();
+  }
+
+  @Test
+  public void testReadSlowlySentBodyAndWriteResponse() throws Exception {
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < 200; i++) {
+      if (i > 0) sb.append(',');
+      sb.append("{\"name\":\"item").append(i).append("\",\"quantity\":").append(i).append('}');
+    }
+    String json = sb.append(']').toString();
+
+    HttpURLConnection connection = post(json, 512);
+    assertEquals(200, connection.getResponseCode());
+    assertTrue(connection.getContentType().startsWith("application/json"));
+    String response = read(connection.getInputStream());
+    assertTrue(response.startsWith("{\"count\":200,\"items\":[{\"name\":\"item0\",\"quantity\":0},"));
+    assertTrue(response.endsWith("{\"name\":\"item199\",\"quantity\":199}],\"total\":19900}"));
+  }
+
+  @Test
+  public void testInvalidAndTooLargeBodiesFail() throws Exception {
+    assertEquals(400, post("[{\"name\":", 4).getResponseCode());
+
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < 70 * 1024; i++) sb.append(' ');
+    assertEquals(400, post(sb.append(']').toString(), 8192).getResponseCode());
+  }
+
+  @Test
+  public void testInvalidEncodingFails() throws Exception {
+    assertEquals(400, post("application/json; charset=not a charset", "[]", 4).getResponseCode());
+    assertEquals(400, post("application/json; charset=x-unknown", "[]", 4).getResponseCode());
+  }
+
+  private HttpURLConnection post(String json, int chunkSize) throws IOException, InterruptedException {
+    return post("application/json", json, chunkSize);
+  }
+
+  private HttpURLConnection post(String contentType, String json, int chunkSize)
+    throws IOException, InterruptedException {
+    HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + PORT + "/").openConnection();
+    connection.setReadTimeout(10000);
+    connection.setRequestMethod("POST");
+    connection.setRequestProperty("Content-Type", contentType);
+    connection.setDoOutput(true);
+    connection.setChunkedStreamingMode(chunkSize);
+    OutputStream os = connection.getOutputStream();
+    byte[] bytes = json.getBytes("UTF-8");
+    for (int i = 0; i < bytes.length; i += chunkSize) {
+      os.write(bytes, i, Math.min(chunkSize, bytes.length - i));
+      os.flush();
+      Thread.sleep(1);
+    }
+    os.close();
+    return connection;
+  }
+
+  private String read(InputStream is) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[1024];
+    for (int len; (len = is.read(buffer)) > -1; ) out.write(buffer, 0, len);
+    is.close();
+    return out.toString("UTF-8");
+  }
+
+  public static class Item {
+    public String name;
+    public int quantity;
+  }
+
+  public static class Summary {
+    public int count;
+    public long total;
+    public List<Item> items = new ArrayList<Item>();
+  }
+}
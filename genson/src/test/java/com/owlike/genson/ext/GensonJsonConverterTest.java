@@ -0,0 +1,79 @@
+package com.owlike.genson.ext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UnsupportedEncodingException;
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+
+import javax.ws.rs.core.MediaType;
+
+import org.junit.Test;
+
+import com.owlike.genson.BeanView;
+import com.owlike.genson.GensonBuilder;
+import com.owlike.genson.annotation.WithBeanView;
+import com.owlike.genson.ext.jaxrs.GensonJaxRSFeature;
+import com.owlike.genson.ext.jaxrs.GensonJsonConverter;
+
+import static org.junit.Assert.*;
+
+public class GensonJsonConverterTest {
+  private final GensonJsonConverter converter = new GensonJsonConverter(new GensonJaxRSFeature()
+    .use(new GensonBuilder().useBeanViews(true).create())
+    .disableSerializationFor(Integer.class));
+
+  @Test
+  public void testWriteWithCharsets() throws Exception {
+    assertEquals("{\"name\":\"é\",\"value\":1}", write(new Pojo(), MediaType.APPLICATION_JSON_TYPE, null, "UTF-8"));
+    MediaType utf16 = new MediaType("application", "json", Collections.singletonMap("charset", "utf-16le"));
+    assertEquals("{\"name\":\"é\",\"value\":1}", write(new Pojo(), utf16, null, "UTF-16LE"));
+  }
+
+  @Test(expected = UnsupportedEncodingException.class)
+  public void testWriteWithUnsupportedCharsetFails() throws Exception {
+    write(new Pojo(), new MediaType("application", "json", Collections.singletonMap("charset", "ISO-8859-1")),
+      null, "ISO-8859-1");
+  }
+
+  @Test
+  public void testWriteWithBeanViewFromAnnotations() throws Exception {
+    Annotation[] annotations = getClass().getDeclaredMethod("viewResource").getAnnotations();
+    // the second call goes through the cached views of the same annotations array
+    for (int i = 0; i < 2; i++) {
+      assertEquals("{\"name\":\"é\"}", write(new Pojo(), MediaType.APPLICATION_JSON_TYPE, annotations, "UTF-8"));
+    }
+    assertEquals("{\"name\":\"é\",\"value\":1}",
+      write(new Pojo(), MediaType.APPLICATION_JSON_TYPE, new Annotation[0], "UTF-8"));
+  }
+
+  @Test
+  public void testTypeDecisions() {
+    for (int i = 0; i < 2; i++) {
+      assertTrue(converter.isWriteable(Pojo.class, Pojo.class, null, MediaType.APPLICATION_JSON_TYPE));
+      assertFalse(converter.isWriteable(Integer.class, Integer.class, null, MediaType.APPLICATION_JSON_TYPE));
+      assertTrue(converter.isReadable(Integer.class, Integer.class, null, MediaType.APPLICATION_JSON_TYPE));
+    }
+  }
+
+  private String write(Object value, MediaType mediaType, Annotation[] annotations, String charset) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    converter.writeTo(value, value.getClass(), value.getClass(), annotations, mediaType, null, out);
+    return out.toString(charset);
+  }
+
+  @WithBeanView(views = PojoView.class)
+  Pojo viewResource() {
+    return new Pojo();
+  }
+
+  public static class Pojo {
+    public String name = "é";
+    public int value = 1;
+  }
+
+  public static class PojoView implements BeanView<Pojo> {
+    public String getName(Pojo p) {
+      return p.name;
+    }
+  }
+}
@@ -1,14 +1,18 @@
 package com.owlike.genson.ext;
 
 import java.util.*;
+import java.util.stream.Stream;
 
 import javax.servlet.Servlet;
+import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
 import javax.ws.rs.core.Application;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -158,6 +162,31 @@ public Response toResponse(Throwable exception) {
     }
   }
 
+  @Test
+  public void testJerseyStreamParameterIsReadEagerly() throws Exception {
+    Map<String, String> jerseyParams = new HashMap<String, String>();
+    jerseyParams.put("javax.ws.rs.Application", RestEasyApp.class.getName());
+    startServer(ServletContainer.class, jerseyParams);
+    try {
+      // large enough to need several reads from the entity stream
+      StringBuilder sb = new StringBuilder("[");
+      long expected = 0;
+      for (int i = 0; i < 2000; i++) {
+        if (i > 0) sb.append(',');
+        sb.append("{\"key1\":").append(i).append(",\"key2\":0}");
+        expected += i;
+      }
+      sb.append(']');
+
+      Client client = ClientBuilder.newClient(new ClientConfig(GensonJsonConverter.class));
+      Long sum = client.target("http://localhost:9999/get/sum").request(MediaType.APPLICATION_JSON)
+        .post(Entity.json(sb.toString()), Long.class);
+      assertEquals(expected, sum.longValue());
+    } finally {
+      stopServer();
+    }
+  }
+
   private void testIntegration() {
     ClientConfig cfg = new ClientConfig(GensonJsonConverter.class);
     Client client = ClientBuilder.newClient(cfg);
@@ -229,6 +258,16 @@ public Dummy get() {
       return dummy;
     }
 
+    @POST
+    @Path("/sum")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public long sum(Stream<Dummy> dummies) {
+      long sum = 0;
+      for (Iterator<Dummy> it = dummies.iterator(); it.hasNext(); ) sum += it.next().getKey1();
+      return sum;
+    }
+
     @JSONP(callback = "someCallback")
     @GET
     @Produces("application/x-javascript")
@@ -0,0 +1,108 @@
+package com.owlike.genson.ext.guava;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableBiMap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableMultiset;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.SetMultimap;
+import com.owlike.genson.GenericType;
+import com.owlike.genson.Genson;
+import com.owlike.genson.GensonBuilder;
+import com.owlike.genson.JsonBindingException;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GuavaCollectionsTest {
+  private Genson genson = new GensonBuilder().withBundle(new GuavaBundle()).create();
+
+  @Test
+  public void roundTripImmutableCollections() {
+    assertRoundTrip(ImmutableList.of(3, 1, 2), new GenericType<ImmutableList<Integer>>() {}, "[3,1,2]");
+    assertRoundTrip(ImmutableSet.of("b", "a"), new GenericType<ImmutableSet<String>>() {}, "[\"b\",\"a\"]");
+    assertRoundTrip(ImmutableSortedSet.of("b", "a"), new GenericType<ImmutableSortedSet<String>>() {}, "[\"a\",\"b\"]");
+    assertRoundTrip(ImmutableMultiset.of(1, 1, 2), new GenericType<ImmutableMultiset<Integer>>() {}, "[1,1,2]");
+
+    assertTrue(genson.deserialize("[3,1,2]", new GenericType<ImmutableSortedSet<Integer>>() {}) instanceof ImmutableSortedSet);
+  }
+
+  @Test
+  public void roundTripImmutableMaps() {
+    assertRoundTrip(ImmutableMap.of("b", 1, "a", 2), new GenericType<ImmutableMap<String, Integer>>() {},
+      "{\"b\":1,\"a\":2}");
+    assertRoundTrip(ImmutableSortedMap.of(2, "b", 1, "a"), new GenericType<ImmutableSortedMap<Integer, String>>() {},
+      "{\"1\":\"a\",\"2\":\"b\"}");
+    assertRoundTrip(ImmutableBiMap.of("a", "b"), new GenericType<ImmutableBiMap<String, String>>() {},
+      "{\"a\":\"b\"}");
+  }
+
+  @Test
+  public void roundTripMultimaps() {
+    ImmutableListMultimap<String, Integer> list = ImmutableListMultimap.of("a", 1, "b", 2, "a", 3);
+    assertRoundTrip(list, new GenericType<ImmutableListMultimap<String, Integer>>() {}, "{\"a\":[1,3],\"b\":[2]}");
+    assertRoundTrip(ImmutableSetMultimap.of("a", 1, "a", 1), new GenericType<ImmutableSetMultimap<String, Integer>>() {},
+      "{\"a\":[1]}");
+
+    ArrayListMultimap<String, Integer> arrayList = ArrayListMultimap.create(list);
+    assertRoundTrip(arrayList, new GenericType<ArrayListMultimap<String, Integer>>() {}, "{\"a\":[1,3],\"b\":[2]}");
+    assertRoundTrip(arrayList, new GenericType<ListMultimap<String, Integer>>() {}, "{\"a\":[1,3],\"b\":[2]}");
+
+    Multimap<String, Integer> multimap = genson.deserialize("{\"a\":[1,3],\"b\":[2]}",
+      new GenericType<Multimap<String, Integer>>() {});
+    assertEquals(arrayList, multimap);
+
+    SetMultimap<Long, String> set = genson.deserialize("{\"1\":[\"x\",\"x\",\"y\"]}",
+      new GenericType<SetMultimap<Long, String>>() {});
+    assertTrue(set instanceof LinkedHashMultimap);
+    assertEquals(ImmutableSet.of("x", "y"), set.get(1L));
+  }
+
+  @Test
+  public void roundTripPojoWithGuavaCollections() {
+    Pojo expected = new Pojo();
+    expected.names = ImmutableList.of("a", "b");
+    expected.values = ImmutableMap.of("x", 1.5);
+    expected.tags = ImmutableListMultimap.of("k", "v1", "k", "v2");
+
+    String json = genson.serialize(expected);
+    assertEquals("{\"names\":[\"a\",\"b\"],\"tags\":{\"k\":[\"v1\",\"v2\"]},\"values\":{\"x\":1.5}}", json);
+
+    Pojo actual = genson.deserialize(json, Pojo.class);
+    assertEquals(expected.names, actual.names);
+    assertEquals(expected.values, actual.values);
+    assertEquals(expected.tags, actual.tags);
+  }
+
+  @Test(expected = JsonBindingException.class)
+  public void immutableMapWithUnsupportedKeysFails() {
+    genson.provideConverter(new GenericType<ImmutableMap<Pojo, String>>() {}.getType());
+  }
+
+  @Test(expected = JsonBindingException.class)
+  public void multimapWithUnsupportedKeysFails() {
+    genson.provideConverter(new GenericType<ImmutableListMultimap<Pojo, String>>() {}.getType());
+  }
+
+  private <T> void assertRoundTrip(T value, GenericType<T> type, String expectedJson) {
+    String json = genson.serialize(value, type);
+    assertEquals(expectedJson, json);
+    T actual = genson.deserialize(json, type);
+    assertEquals(value, actual);
+    assertTrue(type.getRawClass().isInstance(actual));
+  }
+
+  public static class Pojo {
+    public ImmutableList<String> names;
+    public ImmutableMap<String, Double> values;
+    public ImmutableListMultimap<String, String> tags;
+  }
+}
@@ -2,6 +2,8 @@
 
 import static org.junit.Assert.*;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAttribute;
@@ -14,8 +16,10 @@
 import javax.xml.bind.annotation.adapters.XmlAdapter;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
+import com.owlike.genson.Context;
 import com.owlike.genson.GensonBuilder;
 import com.owlike.genson.annotation.JsonIgnore;
+import com.owlike.genson.stream.TreeWriter;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -105,6 +109,39 @@ public void testXmlJavaTypeAdapter() {
     assertEquals("{\"v\":\"0\"}", genson.serialize(new XmlJavaTypeAdapterBean()));
   }
 
+  @Test
+  public void testXmlJavaTypeAdapterRoundTrip() {
+    XmlJavaTypeAdapterBean bean = genson.deserialize("{\"v\":\"12\"}", XmlJavaTypeAdapterBean.class);
+    assertEquals(12, bean.v);
+
+    LongAdaptedBean longAdaptedBean = new LongAdaptedBean();
+    longAdaptedBean.value = "7";
+    assertEquals("{\"other\":null,\"value\":7}", genson.serialize(longAdaptedBean));
+    assertEquals("8", genson.deserialize("{\"value\":8}", LongAdaptedBean.class).value);
+  }
+
+  @Test
+  public void statelessXmlAdaptersShouldBeShared() {
+    CountingXmlAdapter.instances.set(0);
+    genson.serialize(new LongAdaptedBean());
+    assertEquals(1, CountingXmlAdapter.instances.get());
+  }
+
+  @Test
+  public void testXmlEnumValueIsEscaped() {
+    String json = genson.serialize(XmlEnumValueBean.QUOTED);
+    assertEquals("\"a\\\"b\"", json);
+    assertEquals(XmlEnumValueBean.QUOTED, genson.deserialize(json, XmlEnumValueBean.class));
+    assertNull(genson.deserialize("\"unknown\"", XmlEnumValueBean.class));
+  }
+
+  @Test
+  public void testXmlEnumValueInTree() {
+    TreeWriter writer = new TreeWriter();
+    genson.serialize(XmlEnumValueBean.QUOTED, writer, new Context(genson));
+    assertEquals("a\"b", writer.root());
+  }
+
   @Test
   public void testXmlJavaTypeAdapterWithXmlElement() {
     assertEquals("{\"v\":\"0\"}", genson.serialize(new XmlJavaTypeAdapterWithXmlElementBean()));
@@ -231,10 +268,37 @@ public String marshal(Integer v) throws Exception {
 
   }
 
+  public static class LongAdaptedBean {
+    @XmlJavaTypeAdapter(CountingXmlAdapter.class)
+    public String value;
+    @XmlJavaTypeAdapter(CountingXmlAdapter.class)
+    public String other;
+  }
+
+  public static class CountingXmlAdapter extends XmlAdapter<Long, String> {
+    static final AtomicInteger instances = new AtomicInteger();
+
+    public CountingXmlAdapter() {
+      instances.incrementAndGet();
+    }
+
+    @Override
+    public String unmarshal(Long v) throws Exception {
+      return v == null ? null : v.toString();
+    }
+
+    @Override
+    public Long marshal(String v) throws Exception {
+      return v == null ? null : Long.valueOf(v);
+    }
+  }
+
   @XmlEnum(Integer.class)
   public static enum XmlEnumValueBean {
     @XmlEnumValue("1")
-    ONE, TWO
+    ONE, TWO,
+    @XmlEnumValue("a\"b")
+    QUOTED
   }
 
   @XmlAccessorType(XmlAccessType.FIELD)
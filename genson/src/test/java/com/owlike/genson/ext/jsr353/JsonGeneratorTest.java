@@ -2,8 +2,10 @@
 
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.nio.charset.Charset;
 
 import javax.json.Json;
 import javax.json.JsonArray;
@@ -164,4 +166,17 @@ public void testGeneratorWIthJsonValue() {
     assertEquals("{\"jsonArray\":[1,{\"key\":\"value\",\"nullValue\":null},2.2]}",
       sw.toString());
   }
+
+  @Test
+  public void testGeneratorWithCharset() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new GensonJsonGeneratorFactory().createGenerator(out, Charset.forName("UTF-16BE"))
+      .writeStartArray().write("\u00e9t\u00e9").writeEnd().close();
+    assertEquals("[\"\u00e9t\u00e9\"]", new String(out.toByteArray(), "UTF-16BE"));
+  }
+
+  @Test(expected = JsonGenerationException.class)
+  public void testWriteEndWithoutStart() {
+    w.writeEnd();
+  }
 }
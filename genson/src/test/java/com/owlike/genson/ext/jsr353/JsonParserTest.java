@@ -16,6 +16,8 @@
 import org.junit.runners.Parameterized.Parameters;
 
 import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
 import java.util.*;
 
 @RunWith(value = org.junit.runners.Parameterized.class)
@@ -172,6 +174,45 @@ public void testIncompleteSource() throws IOException {
     parser.next();
   }
 
+  @Test
+  public void testParserForJsonStructure() {
+    JsonObject object = Json.createObjectBuilder().add("a", "b").add("n", 12).add("d", new BigDecimal("0.1000"))
+      .add("arr", Json.createArrayBuilder().add(true).addNull()).build();
+    JsonParser parser = new GensonJsonParserFactory().createParser(object);
+
+    assertEquals(Event.START_OBJECT, parser.next());
+    assertEquals(Event.KEY_NAME, parser.next());
+    assertEquals("a", parser.getString());
+    assertEquals(Event.VALUE_STRING, parser.next());
+    assertEquals("b", parser.getString());
+    parser.next();
+    assertEquals(Event.VALUE_NUMBER, parser.next());
+    assertTrue(parser.isIntegralNumber());
+    assertEquals(BigDecimal.valueOf(12), parser.getBigDecimal());
+    parser.next();
+    assertEquals(Event.VALUE_NUMBER, parser.next());
+    assertEquals(new BigDecimal("0.1000"), parser.getBigDecimal());
+    parser.next();
+    assertEquals(Event.START_ARRAY, parser.next());
+    assertEquals(Event.VALUE_TRUE, parser.next());
+    assertEquals(Event.VALUE_NULL, parser.next());
+    assertEquals(Event.END_ARRAY, parser.next());
+    assertEquals(Event.END_OBJECT, parser.next());
+    assertFalse(parser.hasNext());
+  }
+
+  @Test
+  public void testParseBytesWithCharset() {
+    JsonParser parser = new GensonJsonParserFactory()
+      .createParser(new ByteArrayInputStream("[\"\u00e9t\u00e9\", 10]".getBytes(Charset.forName("UTF-16LE"))),
+        Charset.forName("UTF-16LE"));
+    assertEquals(Event.START_ARRAY, parser.next());
+    assertEquals(Event.VALUE_STRING, parser.next());
+    assertEquals("\u00e9t\u00e9", parser.getString());
+    assertEquals(Event.VALUE_NUMBER, parser.next());
+    assertEquals(BigDecimal.TEN, parser.getBigDecimal());
+  }
+
   private JsonParser parserFor(String json) {
     Map<String, Boolean> config = new HashMap<String, Boolean>();
     config.put(GensonJsonParser.STRICT_DOUBLE_PARSE, strictDoubleParse);
@@ -5,7 +5,10 @@
 import static org.junit.Assert.*;
 
 import javax.json.JsonArray;
+import javax.json.JsonException;
 import javax.json.JsonObject;
+import javax.json.JsonValue;
+import javax.json.stream.JsonParsingException;
 import java.io.StringReader;
 
 public class JsonReaderTest {
@@ -44,6 +47,59 @@ public void testJsonStructureObject() {
     assertEquals("foo bar", object.getString("k"));
   }
 
+  @Test
+  public void testReadNestedStructuresLargerThanTheStacks() {
+    StringBuilder sb = new StringBuilder("{\"values\": [");
+    for (int i = 0; i < 100; i++) {
+      if (i > 0) sb.append(',');
+      sb.append("{\"i\": ").append(i).append(", \"list\": [").append(i).append(", \"").append(i).append("\"]}");
+    }
+    sb.append("], \"last\": 2000}");
+    JsonObject object = factory.createReader(new StringReader(sb.toString())).readObject();
+
+    assertEquals(2, object.size());
+    assertEquals(2000, object.getInt("last"));
+    JsonArray values = object.getJsonArray("values");
+    assertEquals(100, values.size());
+    for (int i = 0; i < 100; i++) {
+      JsonObject value = values.getJsonObject(i);
+      assertEquals(i, value.getInt("i"));
+      assertEquals(2, value.getJsonArray("list").size());
+      assertEquals(String.valueOf(i), value.getJsonArray("list").getString(1));
+    }
+  }
+
+  @Test
+  public void testSmallIntegersAndEmptyValuesAreShared() {
+    JsonArray array = factory.createReader(new StringReader("[1, 1, 100000, \"\", {}, []]")).readArray();
+
+    assertSame(array.get(0), array.get(1));
+    assertEquals(100000, array.getInt(2));
+    assertSame(JsonTreeReader.EMPTY_STRING, array.get(3));
+    assertSame(JsonTreeReader.EMPTY_OBJECT, array.get(4));
+    assertSame(JsonTreeReader.EMPTY_ARRAY, array.get(5));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testReadArrayIsImmutable() {
+    factory.createReader(new StringReader("[1]")).readArray().set(0, JsonValue.NULL);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testReadObjectIsImmutable() {
+    factory.createReader(new StringReader("{\"k\": 1}")).readObject().put("k", JsonValue.NULL);
+  }
+
+  @Test(expected = JsonParsingException.class)
+  public void testMalformedInputShouldFailWithParsingException() {
+    factory.createReader(new StringReader("{\"k\": [1, }")).readObject();
+  }
+
+  @Test(expected = JsonException.class)
+  public void testReadObjectShouldFailOnArray() {
+    factory.createReader(new StringReader("[]")).readObject();
+  }
+
   private void assertComplexObjectEquals(JsonObject object) {
     assertEquals(6, object.size());
     assertEquals(3, object.getInt("k1"));
@@ -13,11 +13,12 @@
 
 public class JsonValueTest {
   private final Genson genson = new GensonBuilder().withBundle(new JSR353Bundle()).create();
+  private final GensonJsonBuilderFactory factory = new GensonJsonBuilderFactory();
 
   @Test
   public void testSerArrayOfLiterals() {
     String json =
-      genson.serialize(JSR353Bundle.factory.createArrayBuilder().addNull().add(1.22)
+      genson.serialize(factory.createArrayBuilder().addNull().add(1.22)
         .add(false).add("str").build());
     assertEquals("[null,1.22,false,\"str\"]", json);
   }
@@ -25,9 +26,9 @@ public void testSerArrayOfLiterals() {
   @Test
   public void testSerObjectAndArray() {
     String json =
-      genson.serialize(JSR353Bundle.factory.createObjectBuilder().add("int", 98)
+      genson.serialize(factory.createObjectBuilder().add("int", 98)
         .addNull("null")
-        .add("array", JSR353Bundle.factory.createArrayBuilder().build()).build());
+        .add("array", factory.createArrayBuilder().build()).build());
     assertEquals("{\"int\":98,\"null\":null,\"array\":[]}", json);
   }
 
@@ -65,8 +66,8 @@ public void testJsonValueImmutability() {
 
   @Test
   public void testRoundTripMixBeanAndJsonStructures() {
-    JsonArray array = JSR353Bundle.factory.createArrayBuilder().add(1).add(2).build();
-    JsonObject object = JSR353Bundle.factory.createObjectBuilder().add("key", "value").addNull("foo").build();
+    JsonArray array = factory.createArrayBuilder().add(1).add(2).build();
+    JsonObject object = factory.createObjectBuilder().add("key", "value").addNull("foo").build();
     Bean bean = new Bean();
     bean.setArray(array);
     bean.setObj(object);
@@ -87,7 +88,7 @@ public void classMetadataConverterShouldNotKickIn() {
             .withBundle(new JSR353Bundle())
             .create();
 
-    String actual = genson.serialize(JSR353Bundle.factory.createObjectBuilder().build());
+    String actual = genson.serialize(factory.createObjectBuilder().build());
 
     assertEquals("{}", actual);
     // shouldn't fail
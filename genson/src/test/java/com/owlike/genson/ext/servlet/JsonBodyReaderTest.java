@@ -0,0 +1,47 @@
+package com.owlike.genson.ext.servlet;
+
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+
+import org.junit.Test;
+
+import com.owlike.genson.Converter;
+import com.owlike.genson.Factory;
+import com.owlike.genson.GenericType;
+import com.owlike.genson.Genson;
+import com.owlike.genson.GensonBuilder;
+
+import static org.junit.Assert.*;
+
+public class JsonBodyReaderTest {
+  @Test
+  public void testConverterExceptionIsReportedToTheCallback() {
+    // the exceptions thrown while creating a converter are not wrapped in a JsonBindingException
+    Genson genson = new GensonBuilder().withConverterFactory(new Factory<Converter<Failing>>() {
+      @Override
+      public Converter<Failing> create(Type type, Genson genson) {
+        if (Failing.class.equals(type)) throw new IllegalStateException("failing converter");
+        return null;
+      }
+    }).create();
+    final Throwable[] failure = new Throwable[1];
+    JsonBodyReader<Failing> reader = new JsonBodyReader<Failing>(genson, GenericType.of(Failing.class), null,
+      Charset.forName("UTF-8"), -1, -1, 16, new GensonAsyncSupport.Callback<Failing>() {
+      @Override
+      public void completed(Failing value) {
+        fail();
+      }
+
+      @Override
+      public void failed(Throwable t) {
+        failure[0] = t;
+      }
+    });
+
+    reader.onAllDataRead();
+    assertTrue(failure[0] instanceof IllegalStateException);
+  }
+
+  public static class Failing {
+  }
+}
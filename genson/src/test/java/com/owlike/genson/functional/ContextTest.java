@@ -7,6 +7,7 @@
 import static org.junit.Assert.*;
 
 import com.owlike.genson.Context;
+import com.owlike.genson.ContextKey;
 import com.owlike.genson.Genson;
 
 public class ContextTest {
@@ -43,4 +44,31 @@ public void testRemove() {
 
     assertArrayEquals(new String[]{"value"}, ctx.remove("key", String[].class));
   }
+
+  @Test
+  public void testStoreGetAndRemoveWithKeys() {
+    ContextKey<Integer> key = new ContextKey<Integer>("key");
+    ContextKey<String> key2 = new ContextKey<String>("key2");
+
+    assertNull(ctx.get(key));
+    assertNull(ctx.store(key, 1));
+    assertEquals(Integer.valueOf(1), ctx.store(key, 2));
+    assertEquals(Integer.valueOf(2), ctx.get(key));
+    assertNull(ctx.get(key2));
+
+    assertEquals(Integer.valueOf(2), ctx.remove(key));
+    assertNull(ctx.get(key));
+    assertNull(ctx.remove(key2));
+  }
+
+  @Test
+  public void testClear() {
+    ContextKey<Integer> key = new ContextKey<Integer>("key");
+    ctx.store(key, 1);
+    ctx.store("key", 1);
+
+    ctx.clear();
+    assertNull(ctx.get(key));
+    assertNull(ctx.get("key", Integer.class));
+  }
 }
@@ -5,7 +5,11 @@
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 import com.owlike.genson.GensonBuilder;
 import com.owlike.genson.convert.ContextualFactory;
@@ -85,6 +89,52 @@ public String deserialize(ObjectReader reader, Context ctx) throws Exception {
     assertEquals("{\"password\":\"***\"}", genson.serialize(user));
   }
 
+  @Test
+  public void testConcurrentCreationOfContextualConverters() throws InterruptedException {
+    final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+    for (int round = 0; round < 20; round++) {
+      // a new instance each time so the descriptors and contextual converters are created by the concurrent calls
+      final Genson genson = new Genson();
+      final CountDownLatch start = new CountDownLatch(1);
+      final List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+
+      Thread[] threads = new Thread[8];
+      for (int t = 0; t < threads.length; t++) {
+        final long time = t * 86400000L * 40;
+        threads[t] = new Thread(new Runnable() {
+          @Override
+          public void run() {
+            try {
+              start.await();
+              Node node = new Node();
+              node.date = new Date(time);
+              node.next = new Node();
+              node.next.date = new Date(time);
+              String formatted;
+              synchronized (dateFormat) {
+                formatted = dateFormat.format(node.date);
+              }
+
+              String json = genson.serialize(node);
+              assertEquals("{\"date\":\"" + formatted + "\",\"next\":{\"date\":\"" + formatted
+                + "\",\"next\":null}}", json);
+              Node actual = genson.deserialize(json, Node.class);
+              assertEquals(json, genson.serialize(actual));
+              assertEquals("{\"value\":1}", genson.serialize(new BBean()));
+            } catch (Throwable e) {
+              errors.add(e);
+            }
+          }
+        });
+        threads[t].start();
+      }
+      start.countDown();
+      for (Thread thread : threads) thread.join();
+
+      assertTrue(errors.toString(), errors.isEmpty());
+    }
+  }
+
   static class ABean {
     @JsonDateFormat(asTimeInMillis = true)
     public Date milis;
@@ -92,6 +142,12 @@ static class ABean {
     public Date date;
   }
 
+  static class Node {
+    @JsonDateFormat("yyyy-MM-dd")
+    public Date date;
+    public Node next;
+  }
+
   static class ExceptionBean {
     @JsonConverter(DummyConverter.class)
     Object value;
@@ -0,0 +1,141 @@
+package com.owlike.genson.functional;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+
+import com.owlike.genson.GenericType;
+import com.owlike.genson.Genson;
+import com.owlike.genson.GensonBuilder;
+import com.owlike.genson.JsonBindingException;
+import com.owlike.genson.ext.jsr353.JSR353Bundle;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ConvertTest {
+  private final Genson genson = new Genson();
+
+  @Test
+  public void testBeanToMap() {
+    Map<String, Object> map = genson.convert(new Pojo("foo", 2, Color.RED), new GenericType<Map<String, Object>>() {});
+
+    assertEquals("foo", map.get("name"));
+    assertEquals(2L, map.get("count"));
+    assertEquals("RED", map.get("color"));
+    assertNull(map.get("tags"));
+  }
+
+  @Test
+  public void testMapToBean() {
+    Map<String, Object> map = new LinkedHashMap<String, Object>();
+    map.put("name", "foo");
+    map.put("count", 3);
+    map.put("color", "BLUE");
+    map.put("tags", Arrays.asList("a", "b"));
+    map.put("child", new Pojo("bar", 1, null));
+
+    Pojo pojo = genson.convert(map, Pojo.class);
+    assertEquals("foo", pojo.name);
+    assertEquals(3, pojo.count);
+    assertEquals(Color.BLUE, pojo.color);
+    assertEquals(Arrays.asList("a", "b"), pojo.tags);
+    assertEquals("bar", pojo.child.name);
+    assertEquals(1, pojo.child.count);
+  }
+
+  @Test
+  public void testBeanToBean() {
+    Pojo pojo = new Pojo("foo", 2, Color.RED);
+    pojo.tags = Arrays.asList("a");
+    OtherPojo other = genson.convert(pojo, OtherPojo.class);
+    assertEquals("foo", other.name);
+    assertEquals("RED", other.color);
+    assertEquals(Arrays.asList("a"), other.tags);
+  }
+
+  @Test
+  public void testConvertValues() {
+    assertEquals(Integer.valueOf(12), genson.convert("12", Integer.class));
+    assertEquals(Color.BLUE, genson.convert("BLUE", Color.class));
+    assertEquals("RED", genson.convert(Color.RED, String.class));
+    assertNull(genson.convert(null, Pojo.class));
+    assertEquals(Arrays.asList(1, 2), genson.convert(new long[]{1, 2}, new GenericType<List<Integer>>() {}));
+  }
+
+  @Test
+  public void testSkipNull() {
+    Genson skipNull = new GensonBuilder().setSkipNull(true).create();
+    Map<String, Object> map = skipNull.convert(new Pojo(null, 1, null), new GenericType<Map<String, Object>>() {});
+    assertFalse(map.containsKey("name"));
+    assertTrue(map.containsKey("count"));
+  }
+
+  @Test
+  public void testConvertWithClassMetadata() {
+    Genson withMetadata = new GensonBuilder().useClassMetadata(true).addAlias("pojo", Pojo.class).create();
+    Object pojo = withMetadata.convert(new Pojo("foo", 1, null), Object.class);
+    assertTrue(pojo instanceof Pojo);
+    assertEquals("foo", ((Pojo) pojo).name);
+
+    Map<String, Object> map = new LinkedHashMap<String, Object>();
+    map.put("@class", "pojo");
+    map.put("name", "bar");
+    pojo = withMetadata.convert(map, Object.class);
+    assertTrue(pojo instanceof Pojo);
+    assertEquals("bar", ((Pojo) pojo).name);
+  }
+
+  @Test
+  public void testJsonObjectToBean() {
+    Genson jsr353 = new GensonBuilder().withBundle(new JSR353Bundle()).create();
+    JsonObject object = Json.createObjectBuilder().add("name", "foo").add("count", 4).add("color", "RED")
+      .add("tags", Json.createArrayBuilder().add("a")).build();
+
+    Pojo pojo = jsr353.convert(object, Pojo.class);
+    assertEquals("foo", pojo.name);
+    assertEquals(4, pojo.count);
+    assertEquals(Color.RED, pojo.color);
+    assertEquals(Arrays.asList("a"), pojo.tags);
+
+    JsonObject converted = jsr353.convert(pojo, JsonObject.class);
+    assertEquals("foo", converted.getString("name"));
+    assertEquals(4, converted.getInt("count"));
+  }
+
+  @Test(expected = JsonBindingException.class)
+  public void testConvertIncompatibleTypesShouldFail() {
+    genson.convert("foo", Pojo.class);
+  }
+
+  public enum Color {
+    RED, BLUE
+  }
+
+  public static class Pojo {
+    public String name;
+    public int count;
+    public Color color;
+    public List<String> tags;
+    public Pojo child;
+
+    public Pojo() {
+    }
+
+    public Pojo(String name, int count, Color color) {
+      this.name = name;
+      this.count = count;
+      this.color = color;
+    }
+  }
+
+  public static class OtherPojo {
+    public String name;
+    public String color;
+    public List<String> tags;
+  }
+}
@@ -1,5 +1,7 @@
 package com.owlike.genson.functional;
 
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
@@ -8,7 +10,14 @@
 import com.owlike.genson.*;
 
 import com.owlike.genson.JsonBindingException;
+import com.owlike.genson.annotation.JsonDeduplicateStrings;
+import com.owlike.genson.convert.CompactList;
+import com.owlike.genson.convert.CompactMap;
 import com.owlike.genson.convert.DefaultConverters;
+import com.owlike.genson.stream.JsonType;
+import com.owlike.genson.stream.JsonWriter;
+import com.owlike.genson.stream.ObjectReader;
+import com.owlike.genson.stream.ObjectWriter;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -28,6 +37,35 @@ public class DefaultConvertersTest {
     assertEquals(Color.red, actual);
   }
 
+  @Test public void testEnumConverter() {
+    Genson caseInsensitive = new GensonBuilder().withConverterFactory(new DefaultConverters.EnumConverterFactory(false)).create();
+    assertEquals("[\"blue\",\"red\"]", genson.serialize(Arrays.asList(Color.blue, Color.red)));
+    assertEquals(Color.red, caseInsensitive.deserialize("\"RED\"", Color.class));
+    assertEquals(Color.blue, caseInsensitive.deserialize("\"bLuE\"", Color.class));
+
+    assertEquals("\"HIDDEN\"", genson.serialize(PackagePrivateEnum.HIDDEN));
+    assertEquals(PackagePrivateEnum.WITH_BODY, genson.deserialize("\"WITH_BODY\"", PackagePrivateEnum.class));
+    assertEquals("\"WITH_BODY\"", genson.serialize((Object) PackagePrivateEnum.WITH_BODY));
+
+    try {
+      caseInsensitive.deserialize("\"green\"", Color.class);
+      fail();
+    } catch (JsonBindingException e) {
+    }
+  }
+
+  @Test public void testEnumMap() {
+    EnumMap<Color, Integer> expected = new EnumMap<Color, Integer>(Color.class);
+    expected.put(Color.red, 1);
+    expected.put(Color.blue, 2);
+    GenericType<EnumMap<Color, Integer>> type = new GenericType<EnumMap<Color, Integer>>() {};
+
+    String json = genson.serialize(expected, type);
+    assertEquals("[{\"key\":\"blue\",\"value\":2},{\"key\":\"red\",\"value\":1}]", json);
+    EnumMap<Color, Integer> actual = genson.deserialize(json, type);
+    assertEquals(expected, actual);
+  }
+
   @Test
   public void testReadWriteByteAsInt() {
     Genson genson = new GensonBuilder().useConstructorWithArguments(true).useByteAsInt(true).create();
@@ -167,6 +205,92 @@ public void testUUIDConverter() {
     UUID uuid = UUID.randomUUID();
     String json = genson.serialize(uuid);
     assertEquals(uuid, genson.deserialize(json, UUID.class));
+    assertEquals(uuid, genson.deserialize(json.toUpperCase(), UUID.class));
+    // non canonical forms are still accepted
+    assertEquals(UUID.fromString("1-2-3-4-5"), genson.deserialize("\"1-2-3-4-5\"", UUID.class));
+  }
+
+  @Test
+  public void testBigDecimalFromNumberAndString() {
+    assertEquals(new java.math.BigDecimal("12"), genson.deserialize("12", java.math.BigDecimal.class));
+    assertEquals(new java.math.BigDecimal("1.5"), genson.deserialize("1.5", java.math.BigDecimal.class));
+    assertEquals(new java.math.BigDecimal("1.50"), genson.deserialize("\"1.50\"", java.math.BigDecimal.class));
+    assertEquals(new java.math.BigInteger("-3"), genson.deserialize("-3", java.math.BigInteger.class));
+  }
+
+  @Test
+  public void testStringDeduplication() {
+    String json = "[{\"status\":\"active\"},{\"status\":\"active\"}]";
+    List<Map<String, Object>> values = new GensonBuilder().useStringDeduplication(true).create()
+      .deserialize(json, new GenericType<List<Map<String, Object>>>() {});
+
+    assertSame(values.get(0).keySet().iterator().next(), values.get(1).keySet().iterator().next());
+    assertSame(values.get(0).get("status"), values.get(1).get("status"));
+
+    values = genson.deserialize(json, new GenericType<List<Map<String, Object>>>() {});
+    assertNotSame(values.get(0).get("status"), values.get(1).get("status"));
+  }
+
+  @Test
+  public void testStringDeduplicationOnAnnotatedProperty() {
+    String json = "{\"deduplicated\":[\"a\",\"a\"],\"notDeduplicated\":[\"b\",\"b\"]}";
+    PojoWithDeduplicatedStrings pojo = genson.deserialize(json, PojoWithDeduplicatedStrings.class);
+
+    assertEquals(Arrays.asList("a", "a"), pojo.deduplicated);
+    assertSame(pojo.deduplicated.get(0), pojo.deduplicated.get(1));
+    assertEquals(Arrays.asList("b", "b"), pojo.notDeduplicated);
+    assertNotSame(pojo.notDeduplicated.get(0), pojo.notDeduplicated.get(1));
+  }
+
+  @Test
+  public void testCompactUntypedCollections() {
+    Genson genson = new GensonBuilder().useCompactUntypedCollections(true).create();
+    String json = "{\"a\":1,\"b\":2.5,\"c\":\"x\",\"d\":true,\"e\":null,\"f\":[1,{\"g\":\"h\"}],\"a\":3}";
+    Map<String, Object> map = (Map<String, Object>) genson.deserialize(json, Object.class);
+
+    assertTrue(map instanceof CompactMap);
+    assertEquals(6, map.size());
+    assertEquals(Arrays.asList("a", "b", "c", "d", "e", "f"), new ArrayList<String>(map.keySet()));
+    assertEquals(3L, map.get("a"));
+    assertEquals(2.5, map.get("b"));
+    assertEquals("x", map.get("c"));
+    assertEquals(true, map.get("d"));
+    assertTrue(map.containsKey("e"));
+    assertNull(map.get("e"));
+    assertFalse(map.containsKey("z"));
+
+    List<Object> list = (List<Object>) map.get("f");
+    assertTrue(list instanceof CompactList);
+    assertEquals(1L, list.get(0));
+    assertEquals(Collections.singletonMap("g", "h"), list.get(1));
+
+    assertEquals("{\"a\":3,\"b\":2.5,\"c\":\"x\",\"d\":true,\"e\":null,\"f\":[1,{\"g\":\"h\"}]}",
+      genson.serialize(map));
+  }
+
+  @Test
+  public void testCompactUntypedCollectionsCanBeDisabled() {
+    Genson genson = new GensonBuilder().useCompactUntypedCollections(true).useCompactUntypedCollections(false).create();
+    Object map = genson.deserialize("{\"a\":[1]}", Object.class);
+
+    assertFalse(map instanceof CompactMap);
+    assertFalse(((Map<?, ?>) map).get("a") instanceof CompactList);
+  }
+
+  @Test
+  public void testLargeCompactMapShouldBehaveAsHashMap() {
+    Genson genson = new GensonBuilder().useCompactUntypedCollections(true).create();
+    Map<String, Object> expected = new HashMap<String, Object>();
+    for (int i = 0; i < 50; i++) expected.put("key" + i, (long) i);
+    String json = this.genson.serialize(expected);
+
+    Map<String, Object> map = (Map<String, Object>) genson.deserialize(json, Object.class);
+    assertEquals(expected, map);
+    assertEquals(expected.hashCode(), map.hashCode());
+    try {
+      map.put("key", 1L);
+      fail();
+    } catch (UnsupportedOperationException e) {}
   }
 
   @Test
@@ -191,6 +315,38 @@ public void testDateConverter() {
     assertEquals(strDate, df.format(date2));
   }
 
+  @Test public void dateConverterShouldBeUsableConcurrently() throws InterruptedException {
+    final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+    dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+    final Genson genson = new GensonBuilder().useDateAsTimestamp(false).useDateFormat(dateFormat).create();
+    final List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+
+    Thread[] threads = new Thread[8];
+    for (int t = 0; t < threads.length; t++) {
+      final long offset = t * 86400000L;
+      threads[t] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          DateFormat expectedFormat = (DateFormat) dateFormat.clone();
+          try {
+            for (int i = 0; i < 500; i++) {
+              Date date = new Date(offset + i * 1001L);
+              String json = genson.serialize(date);
+              assertEquals("\"" + expectedFormat.format(date) + "\"", json);
+              assertEquals(date, genson.deserialize(json, Date.class));
+            }
+          } catch (Throwable e) {
+            errors.add(e);
+          }
+        }
+      });
+      threads[t].start();
+    }
+    for (Thread thread : threads) thread.join();
+
+    assertTrue(errors.toString(), errors.isEmpty());
+  }
+
   @Test
   public void testCalendarConverter() {
     Genson genson = new GensonBuilder().useDateAsTimestamp(true).create();
@@ -252,10 +408,113 @@ private <T extends Collection> void testCollectionImplementationsRoundTrip(Class
     }
   }
 
+  @Test public void testSerializeIteratorsAndStreams() {
+    assertEquals("[1,2,3]", genson.serialize(Arrays.asList(1, 2, 3).iterator()));
+    assertEquals("[\"blue\",\"red\"]", genson.serialize(Arrays.asList(Color.blue, Color.red).stream()));
+
+    Iterable<Integer> lazy = new Iterable<Integer>() {
+      @Override
+      public Iterator<Integer> iterator() {
+        return Arrays.asList(1, 2).iterator();
+      }
+    };
+    assertEquals("[1,2]", genson.serialize(lazy, new GenericType<Iterable<Integer>>() {}));
+  }
+
+  @Test public void testFlushIntervalForIterators() {
+    final List<String> flushes = new ArrayList<String>();
+    final StringWriter sw = new StringWriter();
+    ObjectWriter writer = new JsonWriter(sw) {
+      @Override
+      public void flush() {
+        super.flush();
+        flushes.add(sw.toString());
+      }
+    };
+    Context ctx = new Context(genson);
+    ctx.store(DefaultConverters.IteratorConverter.FLUSH_INTERVAL, 2);
+    genson.serialize(Arrays.asList(1, 2, 3, 4, 5).iterator(), writer, ctx);
+
+    assertEquals(Arrays.asList("[1,2", "[1,2,3,4", "[1,2,3,4,5]"), flushes);
+  }
+
+  @Test public void testDeserializeRootArrayToLazyStream() throws Exception {
+    ObjectReader reader = genson.createReader(new StringReader("[{\"bean\":null},{},{}]"));
+    Iterator<RootBean> it = genson.deserialize(new GenericType<Iterator<RootBean>>() {}, reader, new Context(genson));
+    assertEquals(JsonType.ARRAY, reader.enclosingType());
+    assertNotNull(it.next());
+    // only the first element has been read
+    assertEquals(JsonType.ARRAY, reader.enclosingType());
+    assertTrue(reader.hasNext());
+    assertNotNull(it.next());
+    assertNotNull(it.next());
+    assertFalse(it.hasNext());
+    assertEquals(JsonType.EMPTY, reader.enclosingType());
+
+    java.util.stream.Stream<Integer> stream = genson.deserialize("[1,2,3]", new GenericType<java.util.stream.Stream<Integer>>() {});
+    assertEquals(Arrays.asList(1, 2, 3), Arrays.asList(stream.toArray()));
+  }
+
+  @Test public void testLazyRootArrayClosesReader() throws Exception {
+    final int[] closed = {0};
+    class ClosingReader extends StringReader {
+      ClosingReader(String s) {
+        super(s);
+      }
+
+      @Override
+      public void close() {
+        closed[0]++;
+        super.close();
+      }
+    }
+
+    Iterator<Integer> it = genson.deserialize(new GenericType<Iterator<Integer>>() {},
+      genson.createReader(new ClosingReader("[1,2]")), new Context(genson));
+    it.next();
+    assertEquals(0, closed[0]);
+    it.next();
+    assertFalse(it.hasNext());
+    assertEquals(1, closed[0]);
+
+    java.util.stream.Stream<Integer> stream = genson.deserialize(new GenericType<java.util.stream.Stream<Integer>>() {},
+      genson.createReader(new ClosingReader("[1,2,3]")), new Context(genson));
+    assertEquals(Integer.valueOf(1), stream.iterator().next());
+    stream.close();
+    assertEquals(2, closed[0]);
+
+    Context eager = new Context(genson);
+    eager.store(DefaultConverters.IteratorConverter.LAZY_ROOT, false);
+    ObjectReader reader = genson.createReader(new ClosingReader("[1,2]"));
+    it = genson.deserialize(new GenericType<Iterator<Integer>>() {}, reader, eager);
+    // everything has been read and the reader is left open
+    assertEquals(JsonType.EMPTY, reader.enclosingType());
+    assertEquals(2, closed[0]);
+    assertEquals(Integer.valueOf(1), it.next());
+  }
+
+  @Test public void testDeserializeNestedIterators() {
+    Map<String, Iterator<Integer>> map = genson.deserialize("{\"a\":[1,2],\"b\":[]}",
+      new GenericType<Map<String, Iterator<Integer>>>() {});
+    assertEquals(Integer.valueOf(1), map.get("a").next());
+    assertEquals(Integer.valueOf(2), map.get("a").next());
+    assertFalse(map.get("b").hasNext());
+  }
+
   public static enum Color {
     blue, red;
   }
 
+  enum PackagePrivateEnum {
+    HIDDEN,
+    WITH_BODY {
+      @Override
+      public String toString() {
+        return "body";
+      }
+    }
+  }
+
   public static class RootBean {
     public RootBean bean;
   }
@@ -263,6 +522,12 @@ public static class RootBean {
   public static class SubBean extends RootBean {
   }
 
+  public static class PojoWithDeduplicatedStrings {
+    @JsonDeduplicateStrings
+    public List<String> deduplicated;
+    public List<String> notDeduplicated;
+  }
+
   public static class PojoWithByteArray {
     int i;
     double f;
@@ -2,12 +2,18 @@
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import com.owlike.genson.Context;
+
 import com.owlike.genson.GensonBuilder;
 import com.owlike.genson.Trilean;
 import com.owlike.genson.annotation.JsonProperty;
 import com.owlike.genson.reflect.BeanMutatorAccessorResolver;
+import com.owlike.genson.reflect.BeanProperty;
+import com.owlike.genson.reflect.CompilableRuntimePropertyFilter;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -43,6 +49,34 @@ public void testSetterWithoutArgs() {
       .provideConverter(BeanWithVoidSetter.class));
   }
 
+  @Test
+  public void testCompilableRuntimeFilterIsCalledOncePerPropertyAndContext() {
+    final List<String> calls = new ArrayList<String>();
+    Genson genson = new GensonBuilder().useRuntimePropertyFilter(new CompilableRuntimePropertyFilter() {
+      @Override
+      public boolean shouldInclude(BeanProperty property, Context ctx) {
+        calls.add(property.getName());
+        return property.getName().equals("b");
+      }
+    }).create();
+
+    ClassWithOneJsonProperty value = new ClassWithOneJsonProperty();
+    value.a = 1;
+    value.b = 2;
+    assertEquals("[{\"b\":2},{\"b\":2},{\"b\":2}]", genson.serialize(Arrays.asList(value, value, value)));
+    // the 3 accessors and the 3 mutators are resolved only once
+    assertEquals(6, calls.size());
+
+    calls.clear();
+    ClassWithOneJsonProperty[] actual = genson.deserialize("[{\"a\":1,\"b\":2},{\"a\":3,\"b\":4}]",
+      ClassWithOneJsonProperty[].class);
+    assertEquals(0, actual[0].a);
+    assertEquals(2, actual[0].b);
+    assertEquals(0, actual[1].a);
+    assertEquals(4, actual[1].b);
+    assertEquals(6, calls.size());
+  }
+
   static class BeanWithVoidSetter {
     public void setXX() {
     }
@@ -3,6 +3,7 @@
 import java.util.Date;
 
 import com.owlike.genson.GensonBuilder;
+import com.owlike.genson.JsonBindingException;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -34,6 +35,24 @@ public void testDeserializeToUnknownType() {
     assertTrue(bean.value instanceof Bean);
   }
 
+  @Test
+  public void testDeserializeSubTypesFromAliases() {
+    Genson genson = new GensonBuilder().useClassMetadata(true)
+      .addAlias("bean", Bean.class).addAlias("sub", SubBean.class).create();
+
+    Bean[] beans = genson.deserialize("[{\"@class\":\"sub\"},{\"@class\":\"bean\"},{\"@class\":\"sub\"},{}]", Bean[].class);
+
+    assertEquals(SubBean.class, beans[0].getClass());
+    assertEquals(Bean.class, beans[1].getClass());
+    assertEquals(SubBean.class, beans[2].getClass());
+    assertEquals(Bean.class, beans[3].getClass());
+  }
+
+  @Test(expected = JsonBindingException.class)
+  public void testDeserializeUnknownAliasShouldFail() {
+    genson.deserialize("{\"@class\":\"unknown\"}", Bean.class);
+  }
+
   @Test public void testClassMetadataShouldNotBeSerializedForStaticTypes() {
     Genson genson = new GensonBuilder().useClassMetadata(true).useClassMetadataWithStaticType(false).create();
 
@@ -51,4 +70,7 @@ public void testDeserializeToUnknownType() {
   static class Bean {
     Object value;
   }
+
+  static class SubBean extends Bean {
+  }
 }
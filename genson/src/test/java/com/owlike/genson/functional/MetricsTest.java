@@ -0,0 +1,90 @@
+package com.owlike.genson.functional;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.owlike.genson.GenericType;
+import com.owlike.genson.Genson;
+import com.owlike.genson.GensonBuilder;
+import com.owlike.genson.GensonMetrics;
+import com.owlike.genson.InMemoryGensonMetrics;
+
+import static org.junit.Assert.*;
+
+public class MetricsTest {
+  @Test
+  public void testReportSerializationAndDeserialization() {
+    InMemoryGensonMetrics metrics = new InMemoryGensonMetrics();
+    Genson genson = new GensonBuilder().useMetrics(metrics).create();
+
+    String json = genson.serialize(new Pojo());
+    genson.serialize(new Pojo());
+    assertEquals(2, metrics.serializations().get(Pojo.class).count());
+    assertEquals(2L * json.length(), metrics.serializations().get(Pojo.class).totalChars());
+
+    Type listType = new GenericType<List<Pojo>>() {}.getType();
+    genson.deserialize("[" + json + "," + json + "]", new GenericType<List<Pojo>>() {});
+    InMemoryGensonMetrics.Stats stats = metrics.deserializations().get(listType);
+    assertEquals(1, stats.count());
+    assertEquals(3 + 2 * json.length(), stats.totalChars());
+    assertTrue(stats.maxNanos() > 0);
+  }
+
+  @Test
+  public void testReportConverterCacheAndDescriptors() {
+    InMemoryGensonMetrics metrics = new InMemoryGensonMetrics();
+    Genson genson = new GensonBuilder().useMetrics(metrics).create();
+
+    genson.serialize(new Pojo());
+    assertEquals(1, metrics.converterBuilds().get(Pojo.class).count());
+    assertEquals(1, metrics.beanDescriptorBuilds().get(Pojo.class).count());
+    long hits = metrics.converterCacheHits();
+
+    genson.serialize(new Pojo());
+    genson.deserialize("{}", Pojo.class);
+    assertEquals(1, metrics.converterBuilds().get(Pojo.class).count());
+    assertEquals(1, metrics.beanDescriptorBuilds().get(Pojo.class).count());
+    assertEquals(hits + 2, metrics.converterCacheHits());
+
+    metrics.reset();
+    assertTrue(metrics.serializations().isEmpty());
+  }
+
+  @Test
+  public void testSampling() {
+    final AtomicInteger sampled = new AtomicInteger();
+    final AtomicInteger serialized = new AtomicInteger();
+    GensonMetrics counting = new GensonMetrics() {
+      @Override
+      public boolean sample() {
+        sampled.incrementAndGet();
+        return true;
+      }
+
+      @Override
+      public void serialized(Type type, long nanos, long chars) {
+        serialized.incrementAndGet();
+      }
+    };
+    Genson genson = new GensonBuilder().useMetrics(counting, 10).create();
+    for (int i = 0; i < 10000; i++) genson.serialize(i);
+
+    // one out of ten serializations and cache hits on average
+    assertTrue(serialized.get() > 500 && serialized.get() < 1500);
+    assertTrue(sampled.get() > 1000 && sampled.get() < 3000);
+    assertSame(counting, GensonMetrics.sampled(counting, 1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSamplingRate() {
+    GensonMetrics.sampled(new InMemoryGensonMetrics(), 0);
+  }
+
+  public static class Pojo {
+    public String name = "a";
+    public int value = 1;
+  }
+}
@@ -1,5 +1,8 @@
 package com.owlike.genson.reflect;
 
+import java.util.Arrays;
+import java.util.List;
+
 import com.owlike.genson.GensonBuilder;
 import com.owlike.genson.annotation.JsonCreator;
 import org.junit.Test;
@@ -32,6 +35,16 @@ public void testSerializeWithInheritedView() {
     assertEquals(json, "{\"value\":3}");
   }
 
+  @Test
+  public void testSerializeListWithView() {
+    MyClass c = new MyClass();
+    List<MyClass> list = Arrays.asList(c, c);
+
+    assertEquals("[{\"value\":2},{\"value\":2}]", genson.serialize(list, ExtendedBeanView2Class.class));
+    assertEquals("[{\"value\":3},{\"value\":3}]", genson.serialize(list, ConcreteView.class));
+    assertEquals("[{\"name\":null},{\"name\":null}]", genson.serialize(list));
+  }
+
   @Test
   public void testDeserializeWithInheritedView() {
     String json = "{\"forName\": \"titi\", \"value\": 123}";
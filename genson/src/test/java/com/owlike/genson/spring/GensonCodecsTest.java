@@ -0,0 +1,175 @@
+package com.owlike.genson.spring;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import com.owlike.genson.BeanView;
+import com.owlike.genson.Genson;
+import com.owlike.genson.GensonBuilder;
+import com.owlike.genson.ext.spring.GensonCodecs;
+import com.owlike.genson.ext.spring.GensonDecoder;
+import com.owlike.genson.ext.spring.GensonEncoder;
+
+import static org.junit.Assert.*;
+
+public class GensonCodecsTest {
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+  private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+  private final Genson genson = new GensonBuilder().useBeanViews(true).create();
+  private final GensonEncoder encoder = new GensonEncoder(genson);
+  private final GensonDecoder decoder = new GensonDecoder(genson);
+
+  @Test
+  public void testEncodeFluxAsJsonArray() {
+    assertEquals("[{\"name\":\"a\",\"value\":1},{\"name\":\"b\",\"value\":2}]",
+      encode(Flux.just(new Pojo("a", 1), new Pojo("b", 2)), MediaType.APPLICATION_JSON, null));
+    assertEquals("[]", encode(Flux.empty(), MediaType.APPLICATION_JSON, null));
+  }
+
+  @Test
+  public void testEncodeFluxAsNdJson() {
+    assertEquals("{\"name\":\"a\",\"value\":1}\n{\"name\":\"b\",\"value\":2}\n",
+      encode(Flux.just(new Pojo("a", 1), new Pojo("b", 2)), GensonCodecs.APPLICATION_NDJSON, null));
+  }
+
+  @Test
+  public void testEncodeMonoWithBeanView() {
+    Map<String, Object> hints = Collections.<String, Object>singletonMap(GensonCodecs.BEAN_VIEWS_HINT,
+      Arrays.asList(PojoView.class));
+    assertEquals("{\"name\":\"a\"}", encode(Mono.just(new Pojo("a", 1)), MediaType.APPLICATION_JSON, hints));
+  }
+
+  @Test
+  public void testDecodeArrayElementsAcrossChunks() {
+    String json = " [ {\"name\":\"a ]\\\"\",\"value\":1}, {\"name\":\"b\",\"value\":2,\"tags\":[1,[2],{}]} ,{\"value\":3}] ";
+    for (int chunkSize = 1; chunkSize < json.length(); chunkSize++) {
+      List<Object> pojos = decoder.decode(chunks(json, chunkSize), ResolvableType.forClass(Pojo.class),
+        MediaType.APPLICATION_JSON, null).collectList().block();
+
+      assertEquals(3, pojos.size());
+      assertEquals("a ]\"", ((Pojo) pojos.get(0)).name);
+      assertEquals(3, ((Pojo) pojos.get(2)).value);
+    }
+  }
+
+  @Test
+  public void testDecodeLiteralsAndNdJson() {
+    assertEquals(Arrays.<Object>asList(1, 22, 333), decoder.decode(chunks("[1, 22,333]", 2),
+      ResolvableType.forClass(Integer.class), MediaType.APPLICATION_JSON, null).collectList().block());
+    assertEquals(Arrays.<Object>asList(1, 22, 333), decoder.decode(chunks("1\n22\n333", 2),
+      ResolvableType.forClass(Integer.class), GensonCodecs.APPLICATION_NDJSON, null).collectList().block());
+    assertEquals(Arrays.<Object>asList("a", "b"), decoder.decode(chunks("\"a\"\n\"b\"\n", 3),
+      ResolvableType.forClass(String.class), GensonCodecs.APPLICATION_NDJSON, null).collectList().block());
+
+    // a root value that is not an array is a single element
+    List<Object> single = decoder.decode(chunks("{\"value\":5}", 4), ResolvableType.forClass(Pojo.class),
+      MediaType.APPLICATION_JSON, null).collectList().block();
+    assertEquals(5, ((Pojo) single.get(0)).value);
+  }
+
+  @Test
+  public void testDecodeToMono() {
+    Pojo pojo = (Pojo) decoder.decodeToMono(chunks("{\"name\":\"a\",\"value\":1}", 5),
+      ResolvableType.forClass(Pojo.class), MediaType.APPLICATION_JSON, null).block();
+    assertEquals("a", pojo.name);
+
+    Object list = decoder.decodeToMono(chunks("[1,2]", 1), ResolvableType.forClassWithGenerics(List.class, Long.class),
+      MediaType.APPLICATION_JSON, null).block();
+    assertEquals(Arrays.asList(1L, 2L), list);
+  }
+
+  @Test(expected = DecodingException.class)
+  public void testDecodeIncompleteInput() {
+    decoder.decode(chunks("[{\"value\":1},{\"val", 4), ResolvableType.forClass(Pojo.class),
+      MediaType.APPLICATION_JSON, null).collectList().block();
+  }
+
+  @Test
+  public void testDecodeRejectsMalformedSeparators() {
+    assertDecodingFails("[1 2]", MediaType.APPLICATION_JSON);
+    assertDecodingFails("[1,,2]", MediaType.APPLICATION_JSON);
+    assertDecodingFails("[1,2,]", MediaType.APPLICATION_JSON);
+    assertDecodingFails("[{} {}]", MediaType.APPLICATION_JSON);
+    assertDecodingFails("{} {}", MediaType.APPLICATION_JSON);
+    assertDecodingFails("[1] 2", MediaType.APPLICATION_JSON);
+    assertDecodingFails("[1", MediaType.APPLICATION_JSON);
+    assertDecodingFails("1,2", GensonCodecs.APPLICATION_NDJSON);
+  }
+
+  @Test(expected = DataBufferLimitException.class)
+  public void testDecodeValueLargerThanLimit() {
+    GensonDecoder limited = new GensonDecoder(genson);
+    limited.setMaxInMemorySize(8);
+    limited.decode(chunks("[\"small\",\"much too large\"]", 4), ResolvableType.forClass(String.class),
+      MediaType.APPLICATION_JSON, null).collectList().block();
+  }
+
+  private void assertDecodingFails(String json, MediaType mediaType) {
+    for (int chunkSize = 1; chunkSize <= json.length(); chunkSize++) {
+      try {
+        decoder.decode(chunks(json, chunkSize), ResolvableType.forClass(Object.class), mediaType, null)
+          .collectList().block();
+        fail("Expected " + json + " to be rejected");
+      } catch (DecodingException e) {
+      }
+    }
+  }
+
+  private String encode(Flux<?> input, MediaType mediaType, Map<String, Object> hints) {
+    return join(encoder.encode(input, bufferFactory, ResolvableType.forClass(Pojo.class), mediaType, hints));
+  }
+
+  private String encode(Mono<?> input, MediaType mediaType, Map<String, Object> hints) {
+    return join(encoder.encode(input, bufferFactory, ResolvableType.forClass(Pojo.class), mediaType, hints));
+  }
+
+  private String join(Flux<DataBuffer> buffers) {
+    StringBuilder sb = new StringBuilder();
+    for (DataBuffer buffer : buffers.toIterable()) {
+      sb.append(buffer.toString(UTF8));
+    }
+    return sb.toString();
+  }
+
+  private Flux<DataBuffer> chunks(String json, int chunkSize) {
+    byte[] bytes = json.getBytes(UTF8);
+    List<DataBuffer> buffers = new ArrayList<DataBuffer>();
+    for (int i = 0; i < bytes.length; i += chunkSize) {
+      buffers.add(bufferFactory.wrap(Arrays.copyOfRange(bytes, i, Math.min(bytes.length, i + chunkSize))));
+    }
+    return Flux.fromIterable(buffers);
+  }
+
+  public static class Pojo {
+    public String name;
+    public int value;
+
+    public Pojo() {
+    }
+
+    public Pojo(String name, int value) {
+      this.name = name;
+      this.value = value;
+    }
+  }
+
+  public static class PojoView implements BeanView<Pojo> {
+    public String getName(Pojo p) {
+      return p.name;
+    }
+  }
+}
@@ -1,7 +1,10 @@
 package com.owlike.genson.spring;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 import com.owlike.genson.GensonBuilder;
 import org.junit.Test;
@@ -44,6 +47,48 @@ public void testFromAndTwoJson() throws Exception {
     assertArrayEquals(new int[]{1, 2, 3}, (int[]) o);
   }
 
+  @Test
+  public void testStreamingIterablesAndStreams() throws Exception {
+    MockHttpServletRequest req = new MockHttpServletRequest();
+    MockHttpServletResponse resp = new MockHttpServletResponse();
+    resp.setContentType("application/json");
+
+    List<HttpMessageConverter<?>> converters = new ArrayList<HttpMessageConverter<?>>();
+    GensonMessageConverter converter = new GensonMessageConverter(new Genson());
+    converter.setFlushInterval(2);
+    converters.add(converter);
+    ExtendedReqRespBodyMethodProcessor handler = new ExtendedReqRespBodyMethodProcessor(converters);
+    handler.handleReturnValue(getLazy(), new MethodParameter(SpringIntegrationTest.class.getMethod("getLazy"), -1),
+      new ModelAndViewContainer(), new ServletWebRequest(req, resp));
+    assertEquals("[1,2,3]", resp.getContentAsString());
+
+    req = new MockHttpServletRequest();
+    req.setContent("[1,2,3]".getBytes());
+    req.setContentType("application/json");
+    Object o = handler.resolveArgument(new MethodParameter(SpringIntegrationTest.class.getMethod("setStream", Stream.class), 0),
+      new ModelAndViewContainer(), new ServletWebRequest(req, resp), new DefaultDataBinderFactory(null));
+    Iterator<?> it = ((Stream<?>) o).iterator();
+    assertEquals(1, it.next());
+    assertEquals(2, it.next());
+    assertEquals(3, it.next());
+    assertFalse(it.hasNext());
+  }
+
+  public void setStream(@RequestBody Stream<Integer> data) {
+
+  }
+
+  public
+  @ResponseBody
+  Iterable<Integer> getLazy() {
+    return new Iterable<Integer>() {
+      @Override
+      public Iterator<Integer> iterator() {
+        return Arrays.asList(1, 2, 3).iterator();
+      }
+    };
+  }
+
   public void set(@RequestBody int[] data) {
 
   }
@@ -623,6 +623,80 @@ public void testSkipValueDeepObject() throws IOException {
     reader.close();
   }
 
+  @Test
+  public void testReadNamesAndValuesAsCharSequence() throws IOException {
+    JsonReader reader = createReader("{\"key\":\"value\",\"esc\\\"aped\":\"a\\nb\",\"num\":12,\"nil\":null}");
+    reader.beginObject();
+
+    reader.next();
+    assertEquals("key", reader.nameAsCharSequence().toString());
+    assertEquals("key".hashCode(), reader.nameHashCode());
+    assertEquals("value", reader.valueAsCharSequence().toString());
+    assertTrue(reader.valueEquals("value"));
+    assertFalse(reader.valueEquals("valuE"));
+    assertFalse(reader.valueEquals(null));
+    assertEquals("value".hashCode(), reader.valueHashCode());
+    assertEquals("key", reader.name());
+    assertEquals("value", reader.valueAsString());
+
+    reader.next();
+    assertEquals("esc\"aped", reader.nameAsCharSequence().toString());
+    assertTrue(reader.valueEquals("a\nb"));
+    assertEquals("a\nb".hashCode(), reader.valueHashCode());
+
+    reader.next();
+    assertEquals("12", reader.valueAsCharSequence().toString());
+    assertTrue(reader.valueEquals("12"));
+
+    reader.next();
+    assertNull(reader.valueAsCharSequence());
+    assertTrue(reader.valueEquals(null));
+    assertEquals(0, reader.valueHashCode());
+
+    reader.endObject();
+    reader.close();
+  }
+
+  @Test
+  public void testLazyStringsSurviveBufferRefill() throws IOException {
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < 1000; i++) {
+      if (i > 0) sb.append(',');
+      sb.append("{\"name").append(i).append("\":\"value").append(i).append("\"}");
+    }
+    sb.append(']');
+
+    JsonReader reader = createReader(sb.toString());
+    reader.beginArray();
+    for (int i = 0; reader.hasNext(); i++) {
+      reader.next();
+      reader.beginObject();
+      reader.next();
+      assertTrue(reader.valueEquals("value" + i));
+      assertFalse(reader.hasNext());
+      // hasNext may have refilled the buffer, name and value must still be available
+      assertEquals("name" + i, reader.name());
+      assertEquals("value" + i, reader.valueAsString());
+      reader.endObject();
+    }
+    reader.endArray();
+    reader.close();
+  }
+
+  @Test
+  public void testReadStringAsBooleanIgnoresCase() throws IOException {
+    JsonReader reader = createReader("[\"TrUe\", \"false\", \"yes\"]");
+    reader.beginArray();
+    reader.next();
+    assertTrue(reader.valueAsBoolean());
+    reader.next();
+    assertFalse(reader.valueAsBoolean());
+    reader.next();
+    assertFalse(reader.valueAsBoolean());
+    reader.endArray();
+    reader.close();
+  }
+
   private JsonReader createReader(String json) {
     return new JsonReader(new StringReader(json), strictDoubleParse, readMetadata);
   }
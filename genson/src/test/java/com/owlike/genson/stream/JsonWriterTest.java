@@ -48,6 +48,13 @@ public void testRootArrayStrings() {
     assertEquals(sw.toString(), s);
   }
 
+  @Test
+  public void testWriteEscapedValue() {
+    w.beginObject().writeName("a").writeEscapedValue(JsonWriter.escapeString("\"x\"")).writeName("b")
+      .writeUnsafeValue("y").endObject().flush();
+    assertEquals("{\"a\":\"\\\"x\\\"\",\"b\":\"y\"}", sw.toString());
+  }
+
   @Test
   public void testRootArrayBooleans() {
     w.beginArray().writeValue(false).writeValue(true).writeValue(false).endArray().flush();
@@ -0,0 +1,136 @@
+package com.owlike.genson.stream;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TreeReaderTest {
+  @Test
+  public void testReadTree() {
+    Map<String, Object> root = new LinkedHashMap<String, Object>();
+    root.put("name", "foo");
+    root.put("values", Arrays.asList(1, 2.5, true, null));
+    root.put("empty", new LinkedHashMap<String, Object>());
+
+    TreeReader reader = new TreeReader(root);
+    assertEquals(ValueType.OBJECT, reader.next());
+    reader.beginObject();
+    assertEquals(JsonType.OBJECT, reader.enclosingType());
+
+    assertEquals(ValueType.STRING, reader.next());
+    assertEquals("name", reader.name());
+    assertEquals("foo", reader.valueAsString());
+    assertTrue(reader.valueEquals("foo"));
+
+    assertEquals(ValueType.ARRAY, reader.next());
+    assertEquals("values", reader.name());
+    reader.beginArray();
+    assertEquals(ValueType.INTEGER, reader.next());
+    assertEquals(1, reader.valueAsInt());
+    assertEquals(ValueType.DOUBLE, reader.next());
+    assertEquals(2.5, reader.valueAsDouble(), 0);
+    assertEquals(ValueType.BOOLEAN, reader.next());
+    assertTrue(reader.valueAsBoolean());
+    assertEquals(ValueType.NULL, reader.next());
+    assertNull(reader.valueAsString());
+    assertFalse(reader.hasNext());
+    reader.endArray();
+
+    assertEquals(ValueType.OBJECT, reader.next());
+    reader.beginObject();
+    assertFalse(reader.hasNext());
+    reader.endObject();
+
+    assertFalse(reader.hasNext());
+    reader.endObject();
+    assertEquals(JsonType.EMPTY, reader.enclosingType());
+    assertFalse(reader.hasNext());
+  }
+
+  @Test
+  public void testReadMetadata() {
+    Map<String, Object> root = new LinkedHashMap<String, Object>();
+    root.put("@class", "java.lang.Object");
+    root.put("a", 1);
+
+    TreeReader reader = new TreeReader(root, true);
+    assertEquals("java.lang.Object", reader.metadata("class"));
+    reader.beginObject();
+    assertEquals(ValueType.INTEGER, reader.next());
+    assertEquals("a", reader.name());
+    assertFalse(reader.hasNext());
+    reader.endObject();
+
+    reader = new TreeReader(root, false);
+    reader.beginObject();
+    assertNull(reader.metadata("class"));
+    reader.next();
+    assertEquals("@class", reader.name());
+  }
+
+  @Test(expected = JsonStreamException.class)
+  public void testNumberOverflow() {
+    new TreeReader(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE)).valueAsLong();
+  }
+
+  @Test(expected = JsonStreamException.class)
+  public void testEndObjectWithRemainingValues() {
+    Map<String, Object> root = new LinkedHashMap<String, Object>();
+    root.put("a", 1);
+    new TreeReader(root).beginObject().endObject();
+  }
+
+  @Test
+  public void testUnknownNodesGoThroughToTreeNode() {
+    TreeReader reader = new TreeReader(Arrays.asList(new StringBuilder("foo"), 'c', new Object())) {
+      @Override
+      protected Object toTreeNode(Object node) {
+        return "converted";
+      }
+    };
+    reader.beginArray();
+    reader.next();
+    assertEquals("foo", reader.valueAsString());
+    reader.next();
+    assertEquals("c", reader.valueAsString());
+    reader.next();
+    assertEquals("converted", reader.valueAsString());
+  }
+
+  @Test
+  public void testWriteTree() {
+    TreeWriter writer = new TreeWriter();
+    writer.beginNextObjectMetadata().writeMetadata("class", "Foo").beginObject()
+      .writeName("name").writeValue("foo")
+      .writeEscapedName(JsonWriter.escapeString("quoted\"\n")).writeEscapedValue(JsonWriter.escapeString("\u0001\t"))
+      .writeName("values").beginArray().writeValue(1).writeNull().writeValue(new byte[]{1, 2}).endArray()
+      .endObject();
+
+    @SuppressWarnings("unchecked")
+    Map<String, Object> root = (Map<String, Object>) writer.root();
+    assertEquals(Arrays.asList("@class", "name", "quoted\"\n", "values"), Arrays.asList(root.keySet().toArray()));
+    assertEquals("\u0001\t", root.get("quoted\"\n"));
+    List<?> values = (List<?>) root.get("values");
+    assertEquals(1, values.get(0));
+    assertNull(values.get(1));
+    assertArrayEquals(new byte[]{1, 2}, new TreeReader(values.get(2)).valueAsByteArray());
+  }
+
+  @Test
+  public void testWriteTreeSkipNull() {
+    TreeWriter writer = new TreeWriter(true);
+    writer.beginObject().writeName("a").writeNull().writeName("b").writeValue(1).endObject();
+    assertEquals("{b=1}", writer.root().toString());
+  }
+
+  @Test(expected = JsonStreamException.class)
+  public void testWriteValueWithoutNameInObject() {
+    new TreeWriter().beginObject().writeValue(1);
+  }
+}